@@ -1,6 +1,7 @@
 package com.demo.example.controller;
 
 import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.security.LogoutService;
 import com.demo.authcenter.security.RefreshService;
 import com.demo.authcenter.store.TokenStore;
 import com.demo.authcenter.security.dto.JwtTokenPair;
@@ -29,15 +30,18 @@ public class AuthController {
     private final AuthUserService authUserService;
     private final RefreshService refreshService;
     private final TokenStore tokenStore;
+    private final LogoutService logoutService;
 
     public AuthController(JwtUtil jwtUtil,
                           AuthUserService authUserService,
                           RefreshService refreshService,
-                          TokenStore tokenStore) {
+                          TokenStore tokenStore,
+                          LogoutService logoutService) {
         this.jwtUtil = jwtUtil;
         this.authUserService = authUserService;
         this.refreshService = refreshService;
         this.tokenStore = tokenStore;
+        this.logoutService = logoutService;
     }
 
     @Operation(
@@ -98,6 +102,31 @@ public class AuthController {
         );
     }
 
+    @Operation(
+            summary = "登出所有设备",
+            description = "使当前用户此前签发的所有 access/refresh token 失效（用户级吊销）。"
+    )
+    @PostMapping("/logout-all")
+    public Map<String, Object> logoutAll(HttpServletRequest request) {
+        String token = jwtUtil.extractBearerToken(request.getHeader("Authorization"));
+        if (token == null) {
+            return Map.of(
+                    "status", "error",
+                    "message", "Missing Authorization Bearer token"
+            );
+        }
+
+        Claims claims = jwtUtil.parseAndValidate(token);
+        jwtUtil.validateAccessType(claims);
+
+        logoutService.revokeAll(jwtUtil.getUserId(claims));
+
+        return Map.of(
+                "status", "ok",
+                "message", "已退出所有设备"
+        );
+    }
+
     @Operation(
             summary = "刷新 TokenPair（轮换）",
             description = "使用 refresh token 换取新的一对 access/refresh token（rotate）。传参：Authorization: Bearer <refreshToken>"
@@ -1,8 +1,11 @@
 package com.demo.authcenter.aop;
 
 import com.demo.authcenter.annotation.RequirePerm;
-import com.demo.authcenter.permission.PermissionAction;
+import com.demo.authcenter.permission.DefaultPermissionChecker;
 import com.demo.authcenter.permission.PermissionChecker;
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.permission.PermissionSet;
+import com.demo.authcenter.security.AuthCenterAuthentication;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -14,23 +17,53 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * 拦截 @RequirePerm，并在调用目标方法前做授权校验。
  * <p>
- * 优先级与兼容：
- * 1) perms() 非空：直接使用 perms
- * 2) 否则使用 perm + actions（兼容旧写法）
- * 3) perms 与 actions 同时配置：抛异常（避免歧义）
+ * 注解解析规则见 {@link RequirePermRuleResolver}。
+ * <p>
+ * 性能：注解解析结果与 Method 一一对应且不会变化，按 Method 缓存（启动期预填充），
+ * 每次调用只做权限判断，不再重复反射/合并/归一化。
+ * <p>
+ * 位图匹配：配置了 {@link PermissionRegistry} 时，规则中的 roles/perms 被编译为 {@link PermissionSet}；
+ * 若当前认证为 {@link AuthCenterAuthentication}，角色判断与（默认 Checker 下的）权限判断均为按位与。
+ * 自定义 PermissionChecker 可能包含通配符/ABAC 等逻辑，此时权限点仍逐个交给 Checker 判断。
+ * 首次调用时才兜底解析的规则不走位图：其中的 authority 可能晚于当前请求的位图才注册，按位与会误判为无权限。
  */
 @Aspect
 public class RequirePermAspect {
 
     private final PermissionChecker checker;
+    /** 可选：为 null 时走字符串匹配 */
+    private final PermissionRegistry registry;
+    /** 仅默认 Checker（语义即“authorities 包含该字符串”）允许以位图替代 */
+    private final boolean bitwisePerms;
+
+    /**
+     * Method -> 解析后的最终要求。
+     * <p>启动期由 {@link RequirePermRuleScanner} 预填充；未预填充的方法（如原型/延迟 Bean）在首次调用时兜底解析，
+     * 解析失败不缓存，异常每次原样抛出。</p>
+     */
+    private final ConcurrentHashMap<Method, CompiledRule> rules = new ConcurrentHashMap<>();
 
     public RequirePermAspect(PermissionChecker checker) {
+        this(checker, null);
+    }
+
+    public RequirePermAspect(PermissionChecker checker, PermissionRegistry registry) {
         this.checker = Objects.requireNonNull(checker, "PermissionChecker must not be null");
+        this.registry = registry;
+        this.bitwisePerms = registry != null && checker.getClass() == DefaultPermissionChecker.class;
+    }
+
+    /**
+     * 注册启动期预解析的规则表（已校验）。
+     */
+    public void registerRules(Map<Method, RequirePermRule> precompiled) {
+        precompiled.forEach((method, rule) -> rules.put(method, compile(rule, true)));
     }
 
     /**
@@ -47,18 +80,18 @@ public class RequirePermAspect {
         // 2) 获取被调用的方法
         Method method = ((MethodSignature) jp.getSignature()).getMethod();
 
-        // 3) 算出“最终需要的权限/角色”
-        Effective eff = resolveEffective(method);
+        // 3) 算出“最终需要的权限/角色”（按 Method 缓存）
+        CompiledRule compiled = rules.computeIfAbsent(method, m -> compile(RequirePermRuleResolver.resolve(m), false));
+        RequirePermRule eff = compiled.rule();
 
-        if (eff.roles.isEmpty() && eff.perms.isEmpty()) {
-            throw new IllegalArgumentException("@RequirePerm must declare at least one of roles() or perms()/actions()");
-        }
-
-        // 4) 校验 角色 + 权限 （调用PermissionChecker ）
-        boolean roleOk = eff.roles.isEmpty() || hasAnyRole(auth, eff.roles);
-        boolean permOk = eff.perms.isEmpty() || hasAnyPerm(auth, eff.perms);
+        // 4) 校验 角色 + 权限 （位图可用时按位与，否则调用PermissionChecker ）
+        PermissionSet held = compiled.bitwise() ? heldPermissions(auth) : null;
+        boolean roleOk = eff.roles().isEmpty()
+                || (held != null ? held.containsAny(compiled.roleBits()) : hasAnyRole(auth, eff.roles()));
+        boolean permOk = eff.perms().isEmpty()
+                || (held != null && bitwisePerms ? held.containsAny(compiled.permBits()) : hasAnyPerm(auth, eff.perms()));
 
-        boolean passed = (eff.mode == RequirePerm.Mode.ALL)
+        boolean passed = (eff.mode() == RequirePerm.Mode.ALL)
                 ? (roleOk && permOk)
                 : (roleOk || permOk);
 
@@ -68,169 +101,48 @@ public class RequirePermAspect {
     }
 
     /**
-     * 类注解 + 方法注解合并（方法优先）：
-     * - roles/perms/actions：类 + 方法合并去重
-     * - perm：方法非 Dummy 则覆盖类
-     * - mode：方法优先
-     */
-    private Effective resolveEffective(Method method) {
-        RequirePerm onMethod = method.getAnnotation(RequirePerm.class);
-        RequirePerm onClass = method.getDeclaringClass().getAnnotation(RequirePerm.class);
-
-        RequirePerm base = (onClass != null) ? onClass : onMethod;
-        RequirePerm override = (onMethod != null) ? onMethod : null;
-
-        if (base == null) {
-            throw new IllegalStateException("No @RequirePerm found");
-        }
-
-        // base
-        RequirePerm.Mode mode = base.mode();
-        String[] roles = base.roles();
-
-        String[] perms = base.perms();
-        Class<? extends Enum<?>> permEnum = base.perm();
-        String[] actions = base.actions();
-
-        // override (method wins)
-        if (override != null) {
-            roles = union(roles, override.roles());
-            perms = union(perms, override.perms());
-            actions = union(actions, override.actions());
-            mode = override.mode();
-
-            if (override.perm() != RequirePerm.Dummy.class) {
-                permEnum = override.perm();
-            }
-        }
-
-        List<String> requiredRoles = normalizeRoles(roles);
-        List<String> requiredPerms = resolveFinalPerms(perms, permEnum, actions);
-
-        return new Effective(mode, requiredRoles, requiredPerms);
-    }
-
-    /**
-     * 最终权限来源规则：
-     * <p>
-     * - perms 非空：用 perms（推荐）
-     * - perms 为空：用 permEnum + actions（兼容）
-     * - perms 与 actions 同时非空：抛异常（避免两套都写造成歧义）
-     */
-    private static List<String> resolveFinalPerms(String[] perms,
-                                                  Class<? extends Enum<?>> permEnum,
-                                                  String[] actions) {
-        boolean hasPerms = perms != null && perms.length > 0;
-        boolean hasActions = actions != null && actions.length > 0;
-
-        if (hasPerms && hasActions) {
-            throw new IllegalArgumentException("@RequirePerm: do not set both perms() and actions()");
-        }
-
-        if (hasPerms) {
-            return normalizePerms(perms);
-        }
-        // 兼容旧写法
-        return resolvePermsByEnum(permEnum, actions);
-    }
-
-    /**
-     * 合并去重 + trim + 过滤空白
-     */
-    private static String[] union(String[] a, String[] b) {
-        LinkedHashSet<String> set = new LinkedHashSet<>();
-        addAll(set, a);
-        addAll(set, b);
-        return set.toArray(new String[0]);
-    }
-
-    private static void addAll(Set<String> set, String[] arr) {
-        if (arr == null) return;
-        for (String s : arr) {
-            if (s == null) continue;
-            String v = s.trim();
-            if (!v.isEmpty()) set.add(v);
-        }
-    }
-
-    /**
-     * "ADMIN" -> "ROLE_ADMIN"，"ROLE_ADMIN" 保持不变
+     * 当前认证携带的权限位图；非 AuthCenterAuthentication 或未启用注册表时返回 null（走字符串匹配）。
      */
-    private static List<String> normalizeRoles(String[] roles) {
-        if (roles == null || roles.length == 0) return List.of();
-        List<String> res = new ArrayList<>(roles.length);
-        for (String r : roles) {
-            if (r == null || r.isBlank()) {
-                throw new IllegalArgumentException("@RequirePerm.roles() contains blank role");
-            }
-            String role = r.trim();
-            res.add(role.startsWith("ROLE_") ? role : "ROLE_" + role);
+    private PermissionSet heldPermissions(Authentication auth) {
+        if (registry != null && auth instanceof AuthCenterAuthentication a
+                && a.isAuthenticated() && a.getPermissions() != null) {
+            return a.getPermissions();
         }
-        return res;
+        return null;
     }
 
     /**
-     * perms 字符串归一化（trim + 过滤空白）
+     * 规则编译：把 roles/perms 驻留到注册表并生成位图。
+     *
+     * @param bitwise 是否允许按位与匹配（仅启动期预编译的规则）
      */
-    private static List<String> normalizePerms(String[] perms) {
-        List<String> res = new ArrayList<>(perms.length);
-        for (String p : perms) {
-            if (p == null || p.isBlank()) {
-                throw new IllegalArgumentException("@RequirePerm.perms() contains blank perm");
-            }
-            res.add(p.trim());
+    private CompiledRule compile(RequirePermRule rule, boolean bitwise) {
+        if (registry == null || !bitwise) {
+            return new CompiledRule(rule, PermissionSet.EMPTY, PermissionSet.EMPTY, false);
         }
-        return res;
+        return new CompiledRule(rule, registry.register(rule.roles()), registry.register(rule.perms()), true);
     }
 
     /**
-     * 兼容旧写法：从 perm enum + actions 推导权限字符串列表。
-     * <p>
-     * - actions 为空：不做枚举权限校验（只校验 roles）
-     * - actions 非空：必须指定 permEnum，且枚举需实现 PermissionAction
+     * AuthCenterAuthentication：直接使用请求级预构建的 Set（O(1)、零分配）；
+     * 其他 Authentication：兜底把 authorities 收集为 Set 再判断。
      */
-    private static List<String> resolvePermsByEnum(Class<? extends Enum<?>> enumClass, String[] actions) {
-        if (actions == null || actions.length == 0) return List.of();
-        if (enumClass == null || enumClass == RequirePerm.Dummy.class) {
-            throw new IllegalArgumentException("@RequirePerm.perm() must be set when actions() is not empty");
-        }
-
-        List<String> perms = new ArrayList<>(actions.length);
-        for (String action : actions) {
-            if (action == null || action.isBlank()) {
-                throw new IllegalArgumentException("@RequirePerm.actions() contains blank action");
+    private static boolean hasAnyRole(Authentication auth, List<String> requiredRoles) {
+        if (auth instanceof AuthCenterAuthentication a) {
+            for (int i = 0, n = requiredRoles.size(); i < n; i++) {
+                if (a.hasAuthority(requiredRoles.get(i))) return true;
             }
-            perms.add(resolveOne(enumClass, action.trim()));
-        }
-        return perms;
-    }
-
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private static String resolveOne(Class<? extends Enum<?>> enumClass, String name) {
-        final Enum e;
-        try {
-            e = Enum.valueOf((Class) enumClass, name);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(
-                    "Unknown action '" + name + "' for enum " + enumClass.getName(), ex
-            );
-        }
-
-        if (!(e instanceof PermissionAction p)) {
-            throw new IllegalArgumentException(
-                    "Enum " + enumClass.getName() + " must implement " + PermissionAction.class.getName()
-            );
+            return false;
         }
-        return p.value();
-    }
-
-    private static boolean hasAnyRole(Authentication auth, List<String> requiredRoles) {
         Set<String> authorities = toAuthoritySet(auth);
         return requiredRoles.stream().anyMatch(authorities::contains);
     }
 
     private boolean hasAnyPerm(Authentication auth, List<String> requiredPerms) {
-        return requiredPerms.stream().anyMatch(p -> checker.hasPerm(auth, p));
+        for (int i = 0, n = requiredPerms.size(); i < n; i++) {
+            if (checker.hasPerm(auth, requiredPerms.get(i))) return true;
+        }
+        return false;
     }
 
     private static Set<String> toAuthoritySet(Authentication auth) {
@@ -242,6 +154,6 @@ public class RequirePermAspect {
                 .collect(Collectors.toSet());
     }
 
-    private record Effective(RequirePerm.Mode mode, List<String> roles, List<String> perms) {
+    private record CompiledRule(RequirePermRule rule, PermissionSet roleBits, PermissionSet permBits, boolean bitwise) {
     }
 }
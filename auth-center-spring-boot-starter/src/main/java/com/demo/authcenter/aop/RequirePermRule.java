@@ -0,0 +1,20 @@
+package com.demo.authcenter.aop;
+
+import com.demo.authcenter.annotation.RequirePerm;
+
+import java.util.List;
+
+/**
+ * 解析后的 @RequirePerm 最终要求（不可变）。
+ *
+ * @param mode  组合策略
+ * @param roles 需要的角色（已归一化为 ROLE_ 前缀）
+ * @param perms 需要的权限点（已 trim）
+ */
+public record RequirePermRule(RequirePerm.Mode mode, List<String> roles, List<String> perms) {
+
+    public RequirePermRule {
+        roles = List.copyOf(roles);
+        perms = List.copyOf(perms);
+    }
+}
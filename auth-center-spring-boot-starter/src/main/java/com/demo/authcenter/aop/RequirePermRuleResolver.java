@@ -0,0 +1,196 @@
+package com.demo.authcenter.aop;
+
+import com.demo.authcenter.annotation.RequirePerm;
+import com.demo.authcenter.permission.PermissionAction;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link RequirePerm} 解析器：把方法/类上的注解合并、归一化并校验为 {@link RequirePermRule}。
+ *
+ * <p>优先级与兼容：
+ * <ol>
+ *   <li>perms() 非空：直接使用 perms</li>
+ *   <li>否则使用 perm + actions（兼容旧写法）</li>
+ *   <li>perms 与 actions 同时配置：抛异常（避免歧义）</li>
+ * </ol>
+ *
+ * <p>配置错误统一抛 {@link IllegalArgumentException}；启动期由 {@link RequirePermRuleScanner} 汇总报告，
+ * 运行期兜底解析时原样抛出。</p>
+ */
+public final class RequirePermRuleResolver {
+
+    private RequirePermRuleResolver() {}
+
+    /**
+     * 方法是否受 @RequirePerm 约束（方法注解或声明类注解）。
+     */
+    public static boolean isAnnotated(Method method) {
+        return method.isAnnotationPresent(RequirePerm.class)
+                || method.getDeclaringClass().isAnnotationPresent(RequirePerm.class);
+    }
+
+    /**
+     * 类注解 + 方法注解合并（方法优先）：
+     * - roles/perms/actions：类 + 方法合并去重
+     * - perm：方法非 Dummy 则覆盖类
+     * - mode：方法优先
+     */
+    public static RequirePermRule resolve(Method method) {
+        RequirePerm onMethod = method.getAnnotation(RequirePerm.class);
+        RequirePerm onClass = method.getDeclaringClass().getAnnotation(RequirePerm.class);
+
+        RequirePerm base = (onClass != null) ? onClass : onMethod;
+        RequirePerm override = (onMethod != null) ? onMethod : null;
+
+        if (base == null) {
+            throw new IllegalStateException("No @RequirePerm found");
+        }
+
+        // base
+        RequirePerm.Mode mode = base.mode();
+        String[] roles = base.roles();
+
+        String[] perms = base.perms();
+        Class<? extends Enum<?>> permEnum = base.perm();
+        String[] actions = base.actions();
+
+        // override (method wins)
+        if (override != null) {
+            roles = union(roles, override.roles());
+            perms = union(perms, override.perms());
+            actions = union(actions, override.actions());
+            mode = override.mode();
+
+            if (override.perm() != RequirePerm.Dummy.class) {
+                permEnum = override.perm();
+            }
+        }
+
+        List<String> requiredRoles = normalizeRoles(roles);
+        List<String> requiredPerms = resolveFinalPerms(perms, permEnum, actions);
+
+        if (requiredRoles.isEmpty() && requiredPerms.isEmpty()) {
+            throw new IllegalArgumentException("@RequirePerm must declare at least one of roles() or perms()/actions()");
+        }
+        return new RequirePermRule(mode, requiredRoles, requiredPerms);
+    }
+
+    /**
+     * 最终权限来源规则：
+     * <p>
+     * - perms 非空：用 perms（推荐）
+     * - perms 为空：用 permEnum + actions（兼容）
+     * - perms 与 actions 同时非空：抛异常（避免两套都写造成歧义）
+     */
+    private static List<String> resolveFinalPerms(String[] perms,
+                                                  Class<? extends Enum<?>> permEnum,
+                                                  String[] actions) {
+        boolean hasPerms = perms != null && perms.length > 0;
+        boolean hasActions = actions != null && actions.length > 0;
+
+        if (hasPerms && hasActions) {
+            throw new IllegalArgumentException("@RequirePerm: do not set both perms() and actions()");
+        }
+
+        if (hasPerms) {
+            return normalizePerms(perms);
+        }
+        // 兼容旧写法
+        return resolvePermsByEnum(permEnum, actions);
+    }
+
+    /**
+     * 合并去重 + trim + 过滤空白
+     */
+    private static String[] union(String[] a, String[] b) {
+        LinkedHashSet<String> set = new LinkedHashSet<>();
+        addAll(set, a);
+        addAll(set, b);
+        return set.toArray(new String[0]);
+    }
+
+    private static void addAll(Set<String> set, String[] arr) {
+        if (arr == null) return;
+        for (String s : arr) {
+            if (s == null) continue;
+            String v = s.trim();
+            if (!v.isEmpty()) set.add(v);
+        }
+    }
+
+    /**
+     * "ADMIN" -> "ROLE_ADMIN"，"ROLE_ADMIN" 保持不变
+     */
+    private static List<String> normalizeRoles(String[] roles) {
+        if (roles == null || roles.length == 0) return List.of();
+        List<String> res = new ArrayList<>(roles.length);
+        for (String r : roles) {
+            if (r == null || r.isBlank()) {
+                throw new IllegalArgumentException("@RequirePerm.roles() contains blank role");
+            }
+            String role = r.trim();
+            res.add(role.startsWith("ROLE_") ? role : "ROLE_" + role);
+        }
+        return res;
+    }
+
+    /**
+     * perms 字符串归一化（trim + 过滤空白）
+     */
+    private static List<String> normalizePerms(String[] perms) {
+        List<String> res = new ArrayList<>(perms.length);
+        for (String p : perms) {
+            if (p == null || p.isBlank()) {
+                throw new IllegalArgumentException("@RequirePerm.perms() contains blank perm");
+            }
+            res.add(p.trim());
+        }
+        return res;
+    }
+
+    /**
+     * 兼容旧写法：从 perm enum + actions 推导权限字符串列表。
+     * <p>
+     * - actions 为空：不做枚举权限校验（只校验 roles）
+     * - actions 非空：必须指定 permEnum，且枚举需实现 PermissionAction
+     */
+    private static List<String> resolvePermsByEnum(Class<? extends Enum<?>> enumClass, String[] actions) {
+        if (actions == null || actions.length == 0) return List.of();
+        if (enumClass == null || enumClass == RequirePerm.Dummy.class) {
+            throw new IllegalArgumentException("@RequirePerm.perm() must be set when actions() is not empty");
+        }
+
+        List<String> perms = new ArrayList<>(actions.length);
+        for (String action : actions) {
+            if (action == null || action.isBlank()) {
+                throw new IllegalArgumentException("@RequirePerm.actions() contains blank action");
+            }
+            perms.add(resolveOne(enumClass, action.trim()));
+        }
+        return perms;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static String resolveOne(Class<? extends Enum<?>> enumClass, String name) {
+        final Enum e;
+        try {
+            e = Enum.valueOf((Class) enumClass, name);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                    "Unknown action '" + name + "' for enum " + enumClass.getName(), ex
+            );
+        }
+
+        if (!(e instanceof PermissionAction p)) {
+            throw new IllegalArgumentException(
+                    "Enum " + enumClass.getName() + " must implement " + PermissionAction.class.getName()
+            );
+        }
+        return p.value();
+    }
+}
@@ -0,0 +1,104 @@
+package com.demo.authcenter.aop;
+
+import com.demo.authcenter.annotation.RequirePerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * 启动期扫描并校验所有 @RequirePerm 声明。
+ *
+ * <p>在所有单例初始化完成后（{@link SmartInitializingSingleton}）执行：</p>
+ * <ol>
+ *   <li>遍历容器内全部 Bean 的目标类（穿透 AOP/CGLIB 代理）</li>
+ *   <li>对每个受 @RequirePerm 约束的方法调用 {@link RequirePermRuleResolver#resolve(Method)}</li>
+ *   <li>存在配置错误：汇总为一份报告并抛出 {@link IllegalStateException}，阻止应用启动</li>
+ *   <li>全部通过：把规则表交给 {@link RequirePermAspect}，请求路径只做查表与权限判断</li>
+ * </ol>
+ */
+public class RequirePermRuleScanner implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RequirePermRuleScanner.class);
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final RequirePermAspect aspect;
+
+    public RequirePermRuleScanner(ConfigurableListableBeanFactory beanFactory, RequirePermAspect aspect) {
+        this.beanFactory = Objects.requireNonNull(beanFactory, "beanFactory must not be null");
+        this.aspect = Objects.requireNonNull(aspect, "aspect must not be null");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, RequirePermRule> rules = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        Set<Class<?>> visited = new HashSet<>();
+
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = resolveTargetClass(name);
+            if (type == null || !visited.add(type)) continue;
+            if (!AnnotationUtils.isCandidateClass(type, RequirePerm.class)) continue;
+            scan(type, rules, errors);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid @RequirePerm declarations (" + errors.size() + "):\n  - "
+                    + String.join("\n  - ", errors));
+        }
+
+        aspect.registerRules(rules);
+        log.debug("@RequirePerm rules precompiled: {} method(s)", rules.size());
+    }
+
+    private void scan(Class<?> type, Map<Method, RequirePermRule> rules, List<String> errors) {
+        ReflectionUtils.doWithMethods(type, method -> {
+            if (rules.containsKey(method)) return;
+            try {
+                rules.put(method, RequirePermRuleResolver.resolve(method));
+            } catch (RuntimeException ex) {
+                errors.add(method.getDeclaringClass().getName() + "#" + method.getName() + ": " + ex.getMessage());
+            }
+        }, RequirePermRuleScanner::isInterceptable);
+    }
+
+    /**
+     * 仅关注可能被代理拦截的方法：非 Object 方法、非 static/private、非桥接/合成方法，且受 @RequirePerm 约束。
+     */
+    private static boolean isInterceptable(Method method) {
+        int mod = method.getModifiers();
+        return method.getDeclaringClass() != Object.class
+                && !Modifier.isStatic(mod)
+                && !Modifier.isPrivate(mod)
+                && !method.isBridge()
+                && !method.isSynthetic()
+                && RequirePermRuleResolver.isAnnotated(method);
+    }
+
+    /**
+     * 已实例化的单例：取真实目标类（穿透代理）；否则按 BeanDefinition 推断类型，不触发实例化。
+     */
+    private Class<?> resolveTargetClass(String beanName) {
+        try {
+            if (beanFactory.containsSingleton(beanName)) {
+                Object bean = beanFactory.getSingleton(beanName);
+                if (bean != null) {
+                    return ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+                }
+            }
+            Class<?> type = beanFactory.getType(beanName, false);
+            return type == null ? null : ClassUtils.getUserClass(type);
+        } catch (RuntimeException ex) {
+            // 无法推断类型的 Bean（如部分 FactoryBean）不影响启动，交给运行期兜底解析
+            return null;
+        }
+    }
+}
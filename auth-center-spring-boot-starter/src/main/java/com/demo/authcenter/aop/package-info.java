@@ -8,6 +8,8 @@
  *   <li>调用 PermissionChecker 执行权限点判定</li>
  * </ul>
  *
+ * <p>注解配置错误在启动期由 RequirePermRuleScanner 统一扫描校验并阻止启动，而不是等到首次调用才暴露。</p>
+ *
  * <p>授权失败通常抛出 AccessDeniedException，并由 AccessDeniedHandler 输出统一 JSON（403）。</p>
  */
 package com.demo.authcenter.aop;
@@ -0,0 +1,87 @@
+package com.demo.authcenter.autoconfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 认证模式定义与条件判断（Starter 内部使用）。
+ *
+ * <h3>配置项</h3>
+ * <pre>
+ * auth-center.authentication-mode = USER_SERVICE | CLAIMS
+ * </pre>
+ *
+ * <h3>语义说明</h3>
+ * <ul>
+ *   <li><b>USER_SERVICE</b>：验签后通过业务 {@code AuthUserService} 加载用户与权限（默认，需要业务提供该 Bean）</li>
+ *   <li><b>CLAIMS</b>：资源服务模式，只信任 token：权限直接取自 access token 的 roles claim，请求路径上不加载用户</li>
+ * </ul>
+ *
+ * <h3>容错策略</h3>
+ * <ul>
+ *   <li>未配置 / 空值：视为 {@code USER_SERVICE}</li>
+ *   <li>非法值：降级为 {@code USER_SERVICE}（不炸启动），并输出 warn 日志</li>
+ * </ul>
+ */
+public final class AuthCenterAuthenticationMode {
+
+    /** 配置键 */
+    public static final String KEY = "auth-center.authentication-mode";
+
+    private static final Logger log =
+            LoggerFactory.getLogger(AuthCenterAuthenticationMode.class);
+
+    private AuthCenterAuthenticationMode() {}
+
+    /**
+     * 认证模式枚举。
+     */
+    public enum Mode {
+        USER_SERVICE,
+        CLAIMS;
+
+        /**
+         * 从 {@link Environment} 解析认证模式。
+         */
+        public static Mode from(Environment env) {
+            String v = env.getProperty(KEY);
+            if (v == null || v.isBlank()) {
+                return USER_SERVICE;
+            }
+
+            String normalized = v.trim()
+                    .toUpperCase()
+                    .replace('-', '_');
+
+            try {
+                return Mode.valueOf(normalized);
+            } catch (IllegalArgumentException ex) {
+                log.warn(
+                        "Invalid config: {}='{}'. Fallback to USER_SERVICE. Allowed: USER_SERVICE, CLAIMS",
+                        KEY, v
+                );
+                return USER_SERVICE;
+            }
+        }
+    }
+
+    /** auth-center.authentication-mode == USER_SERVICE */
+    public static final class UserServiceCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Mode.from(context.getEnvironment()) == Mode.USER_SERVICE;
+        }
+    }
+
+    /** auth-center.authentication-mode == CLAIMS */
+    public static final class ClaimsCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Mode.from(context.getEnvironment()) == Mode.CLAIMS;
+        }
+    }
+}
@@ -1,24 +1,62 @@
 package com.demo.authcenter.autoconfig;
 
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.properties.ExecutionProps;
 import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.properties.RevocationProps;
+import com.demo.authcenter.properties.TokenStoreProps;
+import com.demo.authcenter.properties.UserCacheProps;
 import com.demo.authcenter.filter.JwtAuthFilter;
+import com.demo.authcenter.filter.VirtualThreadLookupExecutor;
 import com.demo.authcenter.security.JwtUtil;
 import com.demo.authcenter.security.LogoutService;
 import com.demo.authcenter.security.RefreshService;
+import com.demo.authcenter.security.RejectedTokenCache;
+import com.demo.authcenter.security.VerifiedTokenCache;
 import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.spi.CachingAuthUserService;
+import com.demo.authcenter.store.BloomFilterTokenStore;
+import com.demo.authcenter.store.CompactInMemoryTokenStore;
+import com.demo.authcenter.store.InMemoryRefreshTokenFamilyStore;
 import com.demo.authcenter.store.InMemoryTokenStore;
+import com.demo.authcenter.store.InMemoryUserRevocationStore;
+import com.demo.authcenter.store.JdbcRefreshTokenFamilyStore;
+import com.demo.authcenter.store.JdbcSchema;
+import com.demo.authcenter.store.JdbcTokenStore;
+import com.demo.authcenter.store.JdbcUserRevocationStore;
+import com.demo.authcenter.store.MappedFileTokenStore;
+import com.demo.authcenter.store.RedisRefreshTokenFamilyStore;
+import com.demo.authcenter.store.RedisTokenStore;
+import com.demo.authcenter.store.RedisUserRevocationStore;
+import com.demo.authcenter.store.RefreshTokenFamilyStore;
+import com.demo.authcenter.store.ShardedInMemoryTokenStore;
 import com.demo.authcenter.store.TokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
 import com.demo.authcenter.web.handler.RestAccessDeniedHandler;
+import com.demo.authcenter.web.jwks.JwksController;
 import com.demo.authcenter.web.handler.RestAuthenticationHandler;
 import com.demo.authcenter.web.response.JsonResponseWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.*;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * AuthCenter Starter 主自动装配入口（Web 层）。
  * <p>
@@ -32,19 +70,28 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
  * <ol>
  *   <li>读取配置：{@link JwtProps}</li>
  *   <li>JWT 工具：{@link JwtUtil}</li>
- *   <li>Token 状态存储：{@link TokenStore}（默认 {@link InMemoryTokenStore}）</li>
- *   <li>JWT 请求过滤器：{@link JwtAuthFilter}（仅当业务提供 {@link AuthUserService} 时装配）</li>
+ *   <li>Token 状态存储：{@link TokenStore}（存在 RedisConnectionFactory 时为 {@link RedisTokenStore}，否则 {@link InMemoryTokenStore}）</li>
+ *   <li>JWT 请求过滤器：{@link JwtAuthFilter}（仅当业务提供 {@link AuthUserService} 时装配；
+ *       资源服务模式 {@link AuthCenterAuthenticationMode} CLAIMS 下无需该 Bean）</li>
+ *   <li>用户缓存（可选）：将业务 {@link AuthUserService} 包裹为 {@link CachingAuthUserService}</li>
  *   <li>统一 401/403 JSON 输出：{@link JsonResponseWriter}/{@link RestAuthenticationHandler}/{@link RestAccessDeniedHandler}
  *       （依赖 Jackson，可选）</li>
  *   <li>HttpSecurity 增强器：{@link AuthCenterHttpSecurityCustomizer}</li>
  * </ol>
+ * 以上 Filter / 401/403 / 增强器仅在 SERVLET 应用中装配；WebFlux 应用见 {@link AuthCenterReactiveAutoConfiguration}。
  */
-@AutoConfiguration
-@EnableConfigurationProperties({JwtProps.class})
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration"
+})
+@EnableConfigurationProperties({JwtProps.class, UserCacheProps.class, TokenStoreProps.class, RevocationProps.class,
+        ExecutionProps.class})
 @ConditionalOnProperty(prefix = "auth-center", name = "enabled", havingValue = "true", matchIfMissing = true)
 @ConditionalOnClass(HttpSecurity.class)
 public class AuthCenterAutoConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthCenterAutoConfiguration.class);
+
     // ==================== JWT 基础能力 ====================
 
     /**
@@ -57,20 +104,291 @@ public class AuthCenterAutoConfiguration {
         return new JwtUtil(jwtProps);
     }
 
+    /**
+     * 已验证 access token 缓存（可选）：
+     * - 开关：auth-center.jwt.verified-cache-enabled=true
+     * - 命中时 Filter 跳过验签；黑名单仍每次检查
+     * - 密钥环重建时清空（被移除/作废的密钥签发的 token 不能再凭缓存通过）
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.jwt", name = "verified-cache-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(VerifiedTokenCache.class)
+    public VerifiedTokenCache verifiedTokenCache(JwtProps jwtProps, JwtUtil jwtUtil) {
+        VerifiedTokenCache cache =
+                new VerifiedTokenCache(jwtProps.getVerifiedCacheMaxSize(), jwtProps.getVerifiedCacheTtlSeconds());
+        jwtUtil.addKeyReloadListener(cache::clear);
+        return cache;
+    }
+
+    /**
+     * 已拒绝 token 缓存（可选）：
+     * - 开关：auth-center.jwt.rejected-cache-enabled=true
+     * - 命中时 Filter 按缓存的错误码直接拒绝，重放的垃圾/伪造/过期 token 不再解码验签
+     * - 密钥环重建时清空（新增的密钥可能让之前验签失败的 token 变为有效）
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.jwt", name = "rejected-cache-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(RejectedTokenCache.class)
+    public RejectedTokenCache rejectedTokenCache(JwtProps jwtProps, JwtUtil jwtUtil) {
+        RejectedTokenCache cache =
+                new RejectedTokenCache(jwtProps.getRejectedCacheMaxSize(), jwtProps.getRejectedCacheTtlSeconds());
+        jwtUtil.addKeyReloadListener(cache::clear);
+        return cache;
+    }
+
+    /**
+     * JWKS 端点（可选）：发布非对称密钥的公钥，下游服务离线验签。
+     * <p>开关：auth-center.jwt.jwks-enabled=true；路径 auth-center.jwt.jwks-path 需在业务 Security 配置中放行。</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.jwt", name = "jwks-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(JwksController.class)
+    public JwksController jwksController(JwtUtil jwtUtil, JwtProps jwtProps) {
+        return new JwksController(jwtUtil, jwtProps.getJwksMaxAgeSeconds());
+    }
+
     // ==================== Token 状态存储（Filter 依赖） ====================
 
+    /**
+     * Redis TokenStore：业务方引入 spring-data-redis 且存在 RedisConnectionFactory 时自动启用
+     * （auth-center.token-store.type=AUTO/REDIS）。
+     * <p>嵌套配置先于外层 @Bean 方法注册，保证优先于下方内存实现。</p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnBean(RedisConnectionFactory.class)
+    @Conditional(AuthCenterTokenStoreConditions.RedisCandidateCondition.class)
+    static class RedisTokenStoreConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(TokenStore.class)
+        public TokenStore tokenStore(RedisConnectionFactory connectionFactory, TokenStoreProps props) {
+            return new RedisTokenStore(new StringRedisTemplate(connectionFactory), props.getRedisKeyPrefix());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "auth-center.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+        @ConditionalOnMissingBean(UserRevocationStore.class)
+        public UserRevocationStore userRevocationStore(RedisConnectionFactory connectionFactory,
+                                                       RevocationProps revocationProps,
+                                                       JwtProps jwtProps) {
+            return new RedisUserRevocationStore(new StringRedisTemplate(connectionFactory),
+                    revocationProps.getRedisKeyPrefix(),
+                    revocationRetention(jwtProps),
+                    Duration.ofMillis(revocationProps.getCacheTtlMillis()));
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "auth-center.jwt", name = "refresh-family-enabled", havingValue = "true", matchIfMissing = true)
+        @ConditionalOnMissingBean(RefreshTokenFamilyStore.class)
+        public RefreshTokenFamilyStore refreshTokenFamilyStore(RedisConnectionFactory connectionFactory,
+                                                               JwtProps jwtProps) {
+            return new RedisRefreshTokenFamilyStore(new StringRedisTemplate(connectionFactory),
+                    jwtProps.getRefreshFamilyRedisKeyPrefix());
+        }
+    }
+
+    /**
+     * JDBC TokenStore：auth-center.token-store.type=JDBC 且存在 DataSource 时启用；
+     * 用户级吊销与 refresh 家族同样使用该数据源，各节点共享。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnBean(DataSource.class)
+    @Conditional(AuthCenterTokenStoreConditions.JdbcCandidateCondition.class)
+    static class JdbcTokenStoreConfiguration {
+
+        /** 建表脚本每个上下文只执行一次（任一 JDBC 存储 Bean 先创建即执行） */
+        private final AtomicBoolean schemaInitialized = new AtomicBoolean();
+
+        @Bean
+        @ConditionalOnMissingBean(TokenStore.class)
+        public TokenStore tokenStore(DataSource dataSource, TokenStoreProps props) {
+            initializeSchema(dataSource, props);
+            return new JdbcTokenStore(new JdbcTemplate(dataSource), props.getJdbcBatchSize(),
+                    props.getJdbcPurgeIntervalSeconds(), props.getJdbcPurgeChunkSize());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "auth-center.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+        @ConditionalOnMissingBean(UserRevocationStore.class)
+        public UserRevocationStore userRevocationStore(DataSource dataSource,
+                                                       TokenStoreProps props,
+                                                       RevocationProps revocationProps,
+                                                       JwtProps jwtProps) {
+            initializeSchema(dataSource, props);
+            return new JdbcUserRevocationStore(new JdbcTemplate(dataSource),
+                    revocationRetention(jwtProps),
+                    Duration.ofMillis(revocationProps.getCacheTtlMillis()),
+                    props.getJdbcPurgeIntervalSeconds());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "auth-center.jwt", name = "refresh-family-enabled", havingValue = "true", matchIfMissing = true)
+        @ConditionalOnMissingBean(RefreshTokenFamilyStore.class)
+        public RefreshTokenFamilyStore refreshTokenFamilyStore(DataSource dataSource, TokenStoreProps props) {
+            initializeSchema(dataSource, props);
+            return new JdbcRefreshTokenFamilyStore(new JdbcTemplate(dataSource),
+                    props.getJdbcPurgeIntervalSeconds(), props.getJdbcPurgeChunkSize());
+        }
+
+        private void initializeSchema(DataSource dataSource, TokenStoreProps props) {
+            if (props.isJdbcInitializeSchema() && schemaInitialized.compareAndSet(false, true)) {
+                JdbcSchema.initialize(dataSource);
+            }
+        }
+    }
+
     /**
      * Token 状态存储：用于管理 token 生命周期（登出失效、踢下线、refresh 轮换等）。
-     * <p>默认内存实现适用于单机/示例；生产通常替换为 Redis 等集中式存储。</p>
+     * <p>默认内存实现适用于单机/示例；生产通常替换为 Redis 等集中式存储。
+     * 内存实现由后台时间轮按 expiresAt 清理，容量上限见 auth-center.token-store.memory-max-entries。</p>
      */
     @Bean
     @ConditionalOnMissingBean(TokenStore.class)
-    public TokenStore tokenStore() {
-        return new InMemoryTokenStore();
+    public TokenStore tokenStore(Environment environment, TokenStoreProps props) {
+        TokenStoreProps.Type type = AuthCenterTokenStoreConditions.typeOf(environment);
+        if (type == TokenStoreProps.Type.REDIS) {
+            throw new IllegalStateException(AuthCenterTokenStoreConditions.KEY
+                    + "=REDIS requires spring-data-redis and a RedisConnectionFactory bean");
+        }
+        if (type == TokenStoreProps.Type.JDBC) {
+            throw new IllegalStateException(AuthCenterTokenStoreConditions.KEY
+                    + "=JDBC requires spring-jdbc and a DataSource bean");
+        }
+        if (type == TokenStoreProps.Type.COMPACT) {
+            return new CompactInMemoryTokenStore(props.getMemoryMaxEntries());
+        }
+        if (type == TokenStoreProps.Type.SHARDED) {
+            return new ShardedInMemoryTokenStore(props.getShards(), props.getMemoryMaxEntries());
+        }
+        if (type == TokenStoreProps.Type.FILE) {
+            return new MappedFileTokenStore(Path.of(props.getFilePath()),
+                    props.getMemoryMaxEntries(), props.isFileSyncOnWrite());
+        }
+        return new InMemoryTokenStore(props.getMemoryMaxEntries());
+    }
+
+    /**
+     * 用户级吊销（userId -> notBefore）：Redis / JDBC TokenStore 使用同一后端的共享实现，否则内存实现。
+     * <p>开关：auth-center.revocation.enabled（默认 true）。</p>
+     * <p>内存实现仅适用于单节点且重启即丢失：TokenStore 为远端（自定义）或持久化（FILE）实现时启动告警，
+     * 此时应提供共享的 {@link UserRevocationStore} Bean。</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean(UserRevocationStore.class)
+    public UserRevocationStore userRevocationStore(ObjectProvider<TokenStore> tokenStoreProvider) {
+        TokenStore tokenStore = tokenStoreProvider.getIfAvailable();
+        if (tokenStore instanceof MappedFileTokenStore) {
+            log.warn("[AuthCenter] UserRevocationStore is in-memory while TokenStore is persistent ({}): "
+                    + "user revocations are lost on restart", tokenStore.getClass().getSimpleName());
+        } else if (tokenStore != null && !isNodeLocal(tokenStore)) {
+            log.warn("[AuthCenter] UserRevocationStore is in-memory while TokenStore is shared ({}): "
+                    + "revokeAll only takes effect on this node; provide a shared UserRevocationStore bean",
+                    tokenStore.getClass().getSimpleName());
+        }
+        return new InMemoryUserRevocationStore();
+    }
+
+    /**
+     * Refresh token 家族存储（fid -> 当前 head jti）：Redis / JDBC TokenStore 使用同一后端的共享实现，否则内存实现。
+     * <p>开关：auth-center.jwt.refresh-family-enabled。未配置时内存实现只在内置单机 TokenStore 下启用
+     * （见 {@link AuthCenterTokenStoreConditions.InMemoryRefreshFamilyCondition}）。</p>
+     * <p>内存实现仅适用于单节点：多节点各自记录 head，在另一节点刷新会被误判为重放并吊销家族。
+     * 显式开启而 TokenStore 为自定义（可能多节点共享）实现时启动失败，此时应提供共享的 {@link RefreshTokenFamilyStore} Bean
+     * 或关闭 refresh-family-enabled。</p>
+     */
+    @Bean
+    @Conditional(AuthCenterTokenStoreConditions.InMemoryRefreshFamilyCondition.class)
+    @ConditionalOnMissingBean(RefreshTokenFamilyStore.class)
+    public RefreshTokenFamilyStore refreshTokenFamilyStore(ObjectProvider<TokenStore> tokenStoreProvider) {
+        TokenStore tokenStore = tokenStoreProvider.getIfAvailable();
+        if (tokenStore != null && !isNodeLocal(tokenStore)) {
+            throw new IllegalStateException("RefreshTokenFamilyStore would be in-memory while TokenStore is shared ("
+                    + tokenStore.getClass().getSimpleName() + "): a refresh rotated on another node is seen as reuse "
+                    + "and revokes the family; provide a shared RefreshTokenFamilyStore bean or set "
+                    + AuthCenterTokenStoreConditions.REFRESH_FAMILY_KEY + "=false");
+        }
+        return new InMemoryRefreshTokenFamilyStore();
+    }
+
+    /**
+     * 用户级吊销记录保留时长：吊销前签发的 access/refresh 全部自然过期后即可删除。
+     */
+    static Duration revocationRetention(JwtProps jwtProps) {
+        return Duration.ofSeconds(Math.max(jwtProps.getAccessTtlSeconds(), jwtProps.getRefreshTtlSeconds())
+                + jwtProps.getClockSkewSeconds());
+    }
+
+    /**
+     * 内置单机实现（状态只在本进程内）；其余（Redis / JDBC / 近端缓存包装 / 自定义）视为多节点共享。
+     */
+    static boolean isNodeLocal(TokenStore tokenStore) {
+        return isNodeLocal(tokenStore.getClass());
+    }
+
+    static boolean isNodeLocal(Class<?> type) {
+        return InMemoryTokenStore.class.isAssignableFrom(type)
+                || CompactInMemoryTokenStore.class.isAssignableFrom(type)
+                || ShardedInMemoryTokenStore.class.isAssignableFrom(type)
+                || MappedFileTokenStore.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 近端 Bloom Filter：将可枚举的远端 TokenStore（如 Redis）包裹为 {@link BloomFilterTokenStore}，
+     * 未被拉黑的 jti 无需访问远端。
+     * <p>开关：auth-center.token-store.near-cache-enabled=true；BeanPostProcessor 需声明为 static。</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.token-store", name = "near-cache-enabled", havingValue = "true")
+    public static TokenStoreNearCachePostProcessor tokenStoreNearCachePostProcessor(
+            ObjectProvider<TokenStoreProps> tokenStoreProps) {
+        return new TokenStoreNearCachePostProcessor(tokenStoreProps);
+    }
+
+    /**
+     * 权限注册表：authority 字符串 -> 稠密 int id。
+     * <p>Filter 据此为认证对象生成权限位图，@RequirePerm 以按位与完成匹配。</p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(PermissionRegistry.class)
+    public PermissionRegistry permissionRegistry() {
+        return new PermissionRegistry();
+    }
+
+    // ==================== 用户缓存（可选） ====================
+
+    /**
+     * 用户缓存：将业务方 {@link AuthUserService} 包裹为 {@link CachingAuthUserService}。
+     * <p>开关：auth-center.user-cache.enabled=true；BeanPostProcessor 需声明为 static，避免提前初始化本配置类。</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.user-cache", name = "enabled", havingValue = "true")
+    public static AuthUserServiceCachingPostProcessor authUserServiceCachingPostProcessor(
+            ObjectProvider<UserCacheProps> userCacheProps) {
+        return new AuthUserServiceCachingPostProcessor(userCacheProps);
     }
 
     // ==================== 请求入口：JWT Filter ====================
 
+    /**
+     * 虚拟线程执行器（可选，JDK 21+）：
+     * - 开关：auth-center.execution.virtual-threads-enabled=true
+     * - Filter 在虚拟线程上加载用户，与黑名单/吊销检查并发
+     * - 运行时 JDK 不支持虚拟线程时启动失败（显式开启的配置不静默降级）
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-center.execution", name = "virtual-threads-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(VirtualThreadLookupExecutor.class)
+    public VirtualThreadLookupExecutor virtualThreadLookupExecutor() {
+        if (!VirtualThreadLookupExecutor.isSupported()) {
+            throw new IllegalStateException("auth-center.execution.virtual-threads-enabled=true requires Java 21+, running on "
+                    + Runtime.version());
+        }
+        return VirtualThreadLookupExecutor.create();
+    }
+
     /**
      * JWT 鉴权过滤器（仅当业务系统提供 {@link AuthUserService} 时才装配）：
      * - 提取 Bearer Token
@@ -80,11 +398,48 @@ public class AuthCenterAutoConfiguration {
     @Bean
     @ConditionalOnBean(AuthUserService.class)
     @ConditionalOnMissingBean(JwtAuthFilter.class)
+    @Conditional(AuthCenterAuthenticationMode.UserServiceCondition.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil,
                                        TokenStore tokenStore,
-                                       AuthUserService authUserService)
+                                       AuthUserService authUserService,
+                                       ObjectProvider<VerifiedTokenCache> verifiedTokenCacheProvider,
+                                       ObjectProvider<PermissionRegistry> permissionRegistryProvider,
+                                       ObjectProvider<UserRevocationStore> revocationStoreProvider,
+                                       ObjectProvider<VirtualThreadLookupExecutor> lookupExecutorProvider,
+                                       ObjectProvider<RejectedTokenCache> rejectedTokenCacheProvider)
     throws Exception {
-        return new JwtAuthFilter(jwtUtil, tokenStore, authUserService);
+        return new JwtAuthFilter(jwtUtil, tokenStore, authUserService, new JwtAuthFilter.Options()
+                .verifiedTokenCache(verifiedTokenCacheProvider.getIfAvailable())
+                .permissionRegistry(permissionRegistryProvider.getIfAvailable())
+                .revocationStore(revocationStoreProvider.getIfAvailable())
+                .lookupExecutor(lookupExecutorProvider.getIfAvailable())
+                .rejectedTokenCache(rejectedTokenCacheProvider.getIfAvailable()));
+    }
+
+    /**
+     * 资源服务模式的 JWT 过滤器（auth-center.authentication-mode=CLAIMS，无需 {@link AuthUserService}）：
+     * - 验签 + aud + typ=access
+     * - 权限直接取自 roles claim，不加载用户
+     * - auth-center.jwt.claims-check-revocation=false 时跳过黑名单与用户级吊销，请求路径上无 I/O
+     */
+    @Bean
+    @ConditionalOnMissingBean(JwtAuthFilter.class)
+    @Conditional(AuthCenterAuthenticationMode.ClaimsCondition.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public JwtAuthFilter claimsJwtAuthFilter(JwtUtil jwtUtil,
+                                             JwtProps jwtProps,
+                                             TokenStore tokenStore,
+                                             ObjectProvider<VerifiedTokenCache> verifiedTokenCacheProvider,
+                                             ObjectProvider<PermissionRegistry> permissionRegistryProvider,
+                                             ObjectProvider<UserRevocationStore> revocationStoreProvider,
+                                             ObjectProvider<RejectedTokenCache> rejectedTokenCacheProvider) {
+        boolean checkRevocation = jwtProps.isClaimsCheckRevocation();
+        return new JwtAuthFilter(jwtUtil, checkRevocation ? tokenStore : null, null, new JwtAuthFilter.Options()
+                .verifiedTokenCache(verifiedTokenCacheProvider.getIfAvailable())
+                .permissionRegistry(permissionRegistryProvider.getIfAvailable())
+                .revocationStore(checkRevocation ? revocationStoreProvider.getIfAvailable() : null)
+                .rejectedTokenCache(rejectedTokenCacheProvider.getIfAvailable()));
     }
 
     // ==================== 统一 JSON 输出（401 / 403，可选）====================
@@ -96,6 +451,7 @@ public class AuthCenterAutoConfiguration {
     @Bean
     @ConditionalOnClass(ObjectMapper.class)
     @ConditionalOnMissingBean(JsonResponseWriter.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public JsonResponseWriter jsonResponseWriter(ObjectMapper objectMapper) {
         return new JsonResponseWriter(objectMapper);
     }
@@ -104,6 +460,7 @@ public class AuthCenterAutoConfiguration {
     @Bean
     @ConditionalOnBean(JsonResponseWriter.class)
     @ConditionalOnMissingBean(RestAuthenticationHandler.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public RestAuthenticationHandler restAuthenticationEntryPoint(JsonResponseWriter writer) {
         return new RestAuthenticationHandler(writer);
     }
@@ -112,6 +469,7 @@ public class AuthCenterAutoConfiguration {
     @Bean
     @ConditionalOnBean(JsonResponseWriter.class)
     @ConditionalOnMissingBean(RestAccessDeniedHandler.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public RestAccessDeniedHandler restAccessDeniedHandler(JsonResponseWriter writer) {
         return new RestAccessDeniedHandler(writer);
     }
@@ -126,6 +484,7 @@ public class AuthCenterAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean(AuthCenterHttpSecurityCustomizer.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public AuthCenterHttpSecurityCustomizer authCenterHttpSecurityCustomizer(
             ObjectProvider<JwtAuthFilter> jwtAuthFilterProvider,
             ObjectProvider<RestAuthenticationHandler> entryPointProvider,
@@ -140,11 +499,20 @@ public class AuthCenterAutoConfiguration {
 
     // ==================== 业务可调用服务 ====================
 
-    /** 登出服务：通常将当前 token 标记为失效（写入 TokenStore）。 */
+    /**
+     * 登出服务：通常将当前 token 标记为失效（写入 TokenStore）。
+     * <p>access + refresh 批量写入，家族吊销与之并发执行；启用虚拟线程执行器时在虚拟线程上执行，
+     * 否则使用 {@link com.demo.authcenter.store.AsyncTokenStore#defaultExecutor()}。</p>
+     */
     @Bean
     @ConditionalOnMissingBean(LogoutService.class)
-    public LogoutService logoutService(JwtUtil jwtUtil, TokenStore tokenStore) {
-        return new LogoutService(jwtUtil, tokenStore);
+    public LogoutService logoutService(JwtUtil jwtUtil,
+                                       TokenStore tokenStore,
+                                       ObjectProvider<UserRevocationStore> revocationStoreProvider,
+                                       ObjectProvider<RefreshTokenFamilyStore> familyStoreProvider,
+                                       ObjectProvider<VirtualThreadLookupExecutor> executorProvider) {
+        return new LogoutService(jwtUtil, tokenStore, revocationStoreProvider.getIfAvailable(),
+                familyStoreProvider.getIfAvailable(), executorProvider.getIfAvailable());
     }
 
     /**
@@ -159,8 +527,16 @@ public class AuthCenterAutoConfiguration {
     public RefreshService refreshService(JwtUtil jwtUtil,
                                          JwtProps jwtProps,
                                          TokenStore tokenStore,
-                                         AuthUserService authUserService) {
-        return new RefreshService(jwtUtil, jwtProps, tokenStore, authUserService);
+                                         AuthUserService authUserService,
+                                         ObjectProvider<UserRevocationStore> revocationStoreProvider,
+                                         ObjectProvider<RefreshTokenFamilyStore> familyStoreProvider) {
+        RefreshTokenFamilyStore familyStore = familyStoreProvider.getIfAvailable();
+        if (familyStore == null && jwtProps.getRefreshFamilyEnabled() == null) {
+            log.info("[AuthCenter] Refresh token family tracking is off: TokenStore {} is shared and no shared "
+                    + "RefreshTokenFamilyStore bean is present", tokenStore.getClass().getSimpleName());
+        }
+        return new RefreshService(jwtUtil, jwtProps, tokenStore, authUserService,
+                revocationStoreProvider.getIfAvailable(), familyStore);
     }
 
     static {
@@ -1,8 +1,12 @@
 package com.demo.authcenter.autoconfig;
 
 import com.demo.authcenter.aop.RequirePermAspect;
+import com.demo.authcenter.aop.RequirePermRuleScanner;
 import com.demo.authcenter.permission.DefaultPermissionChecker;
 import com.demo.authcenter.permission.PermissionChecker;
+import com.demo.authcenter.permission.PermissionRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -51,8 +55,19 @@ public class AuthCenterMethodSecurityAutoConfiguration {
          */
         @Bean
         @ConditionalOnMissingBean
-        public RequirePermAspect requirePermAspect(PermissionChecker permissionChecker) {
-            return new RequirePermAspect(permissionChecker);
+        public RequirePermAspect requirePermAspect(PermissionChecker permissionChecker,
+                                                   ObjectProvider<PermissionRegistry> permissionRegistry) {
+            return new RequirePermAspect(permissionChecker, permissionRegistry.getIfAvailable());
+        }
+
+        /**
+         * 启动期扫描全部 @RequirePerm：配置错误直接阻止启动，校验通过的规则表预填充给 Aspect
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RequirePermRuleScanner requirePermRuleScanner(ConfigurableListableBeanFactory beanFactory,
+                                                             RequirePermAspect requirePermAspect) {
+            return new RequirePermRuleScanner(beanFactory, requirePermAspect);
         }
     }
 }
@@ -0,0 +1,219 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.filter.ReactiveJwtAuthFilter;
+import com.demo.authcenter.filter.ReactiveJwtAuthenticationManager;
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.properties.TokenStoreProps;
+import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.security.RejectedTokenCache;
+import com.demo.authcenter.security.VerifiedTokenCache;
+import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.spi.ReactiveAuthUserService;
+import com.demo.authcenter.store.InMemoryUserRevocationStore;
+import com.demo.authcenter.store.ReactiveRedisTokenStore;
+import com.demo.authcenter.store.ReactiveTokenStore;
+import com.demo.authcenter.store.RedisTokenStore;
+import com.demo.authcenter.store.TokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
+import com.demo.authcenter.web.handler.ReactiveRestAccessDeniedHandler;
+import com.demo.authcenter.web.handler.ReactiveRestAuthenticationHandler;
+import com.demo.authcenter.web.response.ReactiveJsonResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * AuthCenter Starter 响应式（WebFlux）自动装配入口。
+ * <p>
+ * 仅在 REACTIVE Web 应用中生效；JwtUtil / TokenStore / LogoutService 等与 Web 栈无关的组件仍由
+ * {@link AuthCenterAutoConfiguration} 提供，本类只负责请求链路：
+ * <ol>
+ *   <li>响应式存储：{@link ReactiveTokenStore}（Redis TokenStore 时为 {@link ReactiveRedisTokenStore}，
+ *       其余实现经适配器桥接：内存实现内联执行，远端实现切换到 boundedElastic）</li>
+ *   <li>响应式用户加载：{@link ReactiveAuthUserService}（业务未提供时桥接 {@link AuthUserService}）</li>
+ *   <li>认证：{@link ReactiveJwtAuthenticationManager} + {@link ReactiveJwtAuthFilter}</li>
+ *   <li>统一 401/403 JSON 输出（依赖 Jackson，可选）</li>
+ *   <li>ServerHttpSecurity 增强器：{@link AuthCenterServerHttpSecurityCustomizer}</li>
+ * </ol>
+ * 注意：@RequirePerm 基于 SecurityContextHolder（线程绑定），WebFlux 下不生效；授权请使用 authorizeExchange 规则。
+ */
+@AutoConfiguration(after = AuthCenterAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "auth-center", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({ServerHttpSecurity.class, WebFilter.class, Mono.class})
+public class AuthCenterReactiveAutoConfiguration {
+
+    // ==================== 响应式存储 ====================
+
+    /**
+     * Redis TokenStore 的响应式版本：同一 key 格式，经 Lettuce 非阻塞访问。
+     * <p>仅当实际生效的 TokenStore 就是 {@link RedisTokenStore} 时使用（开启近端 Bloom Filter 或业务自定义实现时走适配器）。</p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ReactiveStringRedisTemplate.class)
+    @ConditionalOnBean(ReactiveRedisConnectionFactory.class)
+    @Conditional(AuthCenterTokenStoreConditions.RedisCandidateCondition.class)
+    static class ReactiveRedisTokenStoreConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(ReactiveTokenStore.class)
+        public ReactiveTokenStore reactiveTokenStore(TokenStore tokenStore,
+                                                     ReactiveRedisConnectionFactory connectionFactory,
+                                                     TokenStoreProps props) {
+            if (tokenStore instanceof RedisTokenStore) {
+                return new ReactiveRedisTokenStore(new ReactiveStringRedisTemplate(connectionFactory),
+                        props.getRedisKeyPrefix());
+            }
+            return adapt(tokenStore);
+        }
+    }
+
+    /**
+     * 默认：桥接阻塞 TokenStore。
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReactiveTokenStore.class)
+    public ReactiveTokenStore reactiveTokenStore(TokenStore tokenStore) {
+        return adapt(tokenStore);
+    }
+
+    /**
+     * 业务未提供 {@link ReactiveAuthUserService} 时，将 {@link AuthUserService} 桥接到 boundedElastic 执行。
+     */
+    @Bean
+    @ConditionalOnBean(AuthUserService.class)
+    @ConditionalOnMissingBean(ReactiveAuthUserService.class)
+    public ReactiveAuthUserService reactiveAuthUserService(AuthUserService authUserService) {
+        return ReactiveAuthUserService.adapt(authUserService, Schedulers.boundedElastic());
+    }
+
+    // ==================== 认证 ====================
+
+    /**
+     * JWT 响应式认证管理器（需要 {@link ReactiveAuthUserService}）：验签 → 黑名单/吊销 → 加载用户。
+     */
+    @Bean
+    @ConditionalOnBean(ReactiveAuthUserService.class)
+    @ConditionalOnMissingBean(ReactiveJwtAuthenticationManager.class)
+    @Conditional(AuthCenterAuthenticationMode.UserServiceCondition.class)
+    public ReactiveJwtAuthenticationManager reactiveJwtAuthenticationManager(
+            JwtUtil jwtUtil,
+            ReactiveTokenStore tokenStore,
+            ReactiveAuthUserService authUserService,
+            ObjectProvider<VerifiedTokenCache> verifiedTokenCacheProvider,
+            ObjectProvider<PermissionRegistry> permissionRegistryProvider,
+            ObjectProvider<UserRevocationStore> revocationStoreProvider,
+            ObjectProvider<RejectedTokenCache> rejectedTokenCacheProvider) {
+        UserRevocationStore revocationStore = revocationStoreProvider.getIfAvailable();
+        return new ReactiveJwtAuthenticationManager(jwtUtil, tokenStore, authUserService,
+                new ReactiveJwtAuthenticationManager.Options()
+                        .verifiedTokenCache(verifiedTokenCacheProvider.getIfAvailable())
+                        .permissionRegistry(permissionRegistryProvider.getIfAvailable())
+                        .revocationStore(revocationStore, revocationScheduler(revocationStore))
+                        .rejectedTokenCache(rejectedTokenCacheProvider.getIfAvailable()));
+    }
+
+    /**
+     * 资源服务模式（auth-center.authentication-mode=CLAIMS）：权限取自 roles claim，不加载用户；
+     * auth-center.jwt.claims-check-revocation=false 时跳过黑名单与用户级吊销。
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReactiveJwtAuthenticationManager.class)
+    @Conditional(AuthCenterAuthenticationMode.ClaimsCondition.class)
+    public ReactiveJwtAuthenticationManager claimsReactiveJwtAuthenticationManager(
+            JwtUtil jwtUtil,
+            JwtProps jwtProps,
+            ReactiveTokenStore tokenStore,
+            ObjectProvider<VerifiedTokenCache> verifiedTokenCacheProvider,
+            ObjectProvider<PermissionRegistry> permissionRegistryProvider,
+            ObjectProvider<UserRevocationStore> revocationStoreProvider,
+            ObjectProvider<RejectedTokenCache> rejectedTokenCacheProvider) {
+        boolean checkRevocation = jwtProps.isClaimsCheckRevocation();
+        UserRevocationStore revocationStore = checkRevocation ? revocationStoreProvider.getIfAvailable() : null;
+        return new ReactiveJwtAuthenticationManager(jwtUtil, checkRevocation ? tokenStore : null, null,
+                new ReactiveJwtAuthenticationManager.Options()
+                        .verifiedTokenCache(verifiedTokenCacheProvider.getIfAvailable())
+                        .permissionRegistry(permissionRegistryProvider.getIfAvailable())
+                        .revocationStore(revocationStore, revocationScheduler(revocationStore))
+                        .rejectedTokenCache(rejectedTokenCacheProvider.getIfAvailable()));
+    }
+
+    /**
+     * JWT WebFilter：提取 Bearer Token 并委托认证管理器，结果写入 Reactor Context。
+     */
+    @Bean
+    @ConditionalOnBean(ReactiveJwtAuthenticationManager.class)
+    @ConditionalOnMissingBean(ReactiveJwtAuthFilter.class)
+    public ReactiveJwtAuthFilter reactiveJwtAuthFilter(JwtUtil jwtUtil,
+                                                       ReactiveJwtAuthenticationManager authenticationManager) {
+        return new ReactiveJwtAuthFilter(jwtUtil, authenticationManager);
+    }
+
+    // ==================== 统一 JSON 输出（401 / 403，可选）====================
+
+    @Bean
+    @ConditionalOnClass(ObjectMapper.class)
+    @ConditionalOnMissingBean(ReactiveJsonResponseWriter.class)
+    public ReactiveJsonResponseWriter reactiveJsonResponseWriter(ObjectMapper objectMapper) {
+        return new ReactiveJsonResponseWriter(objectMapper);
+    }
+
+    /** 401：未认证（缺 token / token 无效 / token 过期 / 被踢下线等）。 */
+    @Bean
+    @ConditionalOnBean(ReactiveJsonResponseWriter.class)
+    @ConditionalOnMissingBean(ReactiveRestAuthenticationHandler.class)
+    public ReactiveRestAuthenticationHandler reactiveRestAuthenticationEntryPoint(ReactiveJsonResponseWriter writer) {
+        return new ReactiveRestAuthenticationHandler(writer);
+    }
+
+    /** 403：已认证但无权限。 */
+    @Bean
+    @ConditionalOnBean(ReactiveJsonResponseWriter.class)
+    @ConditionalOnMissingBean(ReactiveRestAccessDeniedHandler.class)
+    public ReactiveRestAccessDeniedHandler reactiveRestAccessDeniedHandler(ReactiveJsonResponseWriter writer) {
+        return new ReactiveRestAccessDeniedHandler(writer);
+    }
+
+    // ==================== ServerHttpSecurity 增强器 ====================
+
+    @Bean
+    @ConditionalOnMissingBean(AuthCenterServerHttpSecurityCustomizer.class)
+    public AuthCenterServerHttpSecurityCustomizer authCenterServerHttpSecurityCustomizer(
+            ObjectProvider<ReactiveJwtAuthFilter> jwtAuthFilterProvider,
+            ObjectProvider<ReactiveRestAuthenticationHandler> entryPointProvider,
+            ObjectProvider<ReactiveRestAccessDeniedHandler> deniedHandlerProvider) {
+        return new AuthCenterServerHttpSecurityCustomizer(jwtAuthFilterProvider, entryPointProvider,
+                deniedHandlerProvider);
+    }
+
+    /**
+     * 内存实现无 I/O，内联执行避免线程切换；其余（Redis/JDBC/Bloom 包装等）切换到 boundedElastic。
+     */
+    private static ReactiveTokenStore adapt(TokenStore tokenStore) {
+        boolean local = AuthCenterAutoConfiguration.isNodeLocal(tokenStore);
+        return ReactiveTokenStore.adapt(tokenStore, local ? null : Schedulers.boundedElastic());
+    }
+
+    private static Scheduler revocationScheduler(UserRevocationStore revocationStore) {
+        if (revocationStore == null || revocationStore instanceof InMemoryUserRevocationStore) {
+            return null;
+        }
+        return Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.filter.ReactiveJwtAuthFilter;
+import com.demo.authcenter.web.handler.ReactiveRestAccessDeniedHandler;
+import com.demo.authcenter.web.handler.ReactiveRestAuthenticationHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+
+/**
+ * AuthCenter 对 {@link ServerHttpSecurity} 的“增量增强器”（WebFlux 版本的 {@link AuthCenterHttpSecurityCustomizer}）。
+ *
+ * <h3>设计定位</h3>
+ * 只补齐 JWT WebFilter + 401/403 统一输出；授权规则 / CSRF / permitAll 仍由业务侧 SecurityWebFilterChain 决定。
+ *
+ * <h3>关于 401/403 输出</h3>
+ * 依赖 Jackson；未装配 handler 时自动降级为 Spring Security 默认输出。
+ */
+public final class AuthCenterServerHttpSecurityCustomizer {
+
+    private final ObjectProvider<ReactiveJwtAuthFilter> jwtAuthFilterProvider;
+    private final ObjectProvider<ReactiveRestAuthenticationHandler> entryPointProvider;
+    private final ObjectProvider<ReactiveRestAccessDeniedHandler> deniedHandlerProvider;
+
+    public AuthCenterServerHttpSecurityCustomizer(ObjectProvider<ReactiveJwtAuthFilter> jwtAuthFilterProvider,
+                                                  ObjectProvider<ReactiveRestAuthenticationHandler> entryPointProvider,
+                                                  ObjectProvider<ReactiveRestAccessDeniedHandler> deniedHandlerProvider) {
+        this.jwtAuthFilterProvider = jwtAuthFilterProvider;
+        this.entryPointProvider = entryPointProvider;
+        this.deniedHandlerProvider = deniedHandlerProvider;
+    }
+
+    public void customize(ServerHttpSecurity http) {
+
+        // 1) 在认证位置插入 JWT WebFilter
+        ReactiveJwtAuthFilter jwtAuthFilter = jwtAuthFilterProvider.getIfAvailable();
+        if (jwtAuthFilter != null) {
+            http.addFilterAt(jwtAuthFilter, SecurityWebFiltersOrder.AUTHENTICATION);
+        }
+
+        // 2) 配置 401/403 统一输出
+        ReactiveRestAuthenticationHandler entryPoint = entryPointProvider.getIfAvailable(); // 401
+        ReactiveRestAccessDeniedHandler deniedHandler = deniedHandlerProvider.getIfAvailable(); // 403
+
+        if (entryPoint == null && deniedHandler == null) {
+            return;
+        }
+
+        http.exceptionHandling(eh -> {
+            if (entryPoint != null) {
+                eh.authenticationEntryPoint(entryPoint);
+            }
+            if (deniedHandler != null) {
+                eh.accessDeniedHandler(deniedHandler);
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.properties.TokenStoreProps;
+import com.demo.authcenter.store.TokenStore;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * TokenStore 类型解析与条件判断（Starter 内部使用）。
+ *
+ * <h3>配置项</h3>
+ * <pre>
+ * auth-center.token-store.type = AUTO | MEMORY | REDIS | COMPACT | FILE | SHARDED | JDBC
+ * </pre>
+ *
+ * <p>解析方式与 {@link TokenStoreProps} 的属性绑定一致（大小写、{@code -}/{@code _} 宽松匹配；
+ * 未配置视为 AUTO；非法值直接启动失败，避免多节点部署误用内存实现）。</p>
+ */
+public final class AuthCenterTokenStoreConditions {
+
+    /** 配置键 */
+    public static final String KEY = "auth-center.token-store.type";
+
+    /** refresh 家族追踪开关 */
+    public static final String REFRESH_FAMILY_KEY = "auth-center.jwt.refresh-family-enabled";
+
+    private AuthCenterTokenStoreConditions() {}
+
+    /**
+     * 从 {@link Environment} 解析 TokenStore 类型。
+     */
+    public static TokenStoreProps.Type typeOf(Environment env) {
+        return Binder.get(env).bind(KEY, TokenStoreProps.Type.class).orElse(TokenStoreProps.Type.AUTO);
+    }
+
+    /** type == AUTO || REDIS */
+    public static final class RedisCandidateCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            TokenStoreProps.Type type = typeOf(context.getEnvironment());
+            return type == TokenStoreProps.Type.AUTO || type == TokenStoreProps.Type.REDIS;
+        }
+    }
+
+    /** type == JDBC（JDBC 不参与 AUTO 选择，必须显式指定） */
+    public static final class JdbcCandidateCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return typeOf(context.getEnvironment()) == TokenStoreProps.Type.JDBC;
+        }
+    }
+
+    /**
+     * 内存 refresh 家族存储（兜底实现）：开关显式配置时按配置；未配置时仅当已注册的 TokenStore
+     * 均为内置单机实现（含 Starter 自身的兜底 Bean）时匹配，自定义 / 共享 TokenStore 下不启用。
+     */
+    public static final class InMemoryRefreshFamilyCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            Boolean enabled = Binder.get(context.getEnvironment()).bind(REFRESH_FAMILY_KEY, Boolean.class).orElse(null);
+            if (enabled != null) {
+                return enabled;
+            }
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            if (beanFactory == null) {
+                return true;
+            }
+            for (String name : beanFactory.getBeanNamesForType(TokenStore.class, true, false)) {
+                if (!isNodeLocal(beanFactory, name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isNodeLocal(ConfigurableListableBeanFactory beanFactory, String name) {
+            try {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition instanceof AnnotatedBeanDefinition annotated) {
+                    MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+                    // Starter 自身的兜底 TokenStore 只产出内置单机实现
+                    if (factoryMethod != null
+                            && AuthCenterAutoConfiguration.class.getName().equals(factoryMethod.getDeclaringClassName())) {
+                        return true;
+                    }
+                }
+            } catch (NoSuchBeanDefinitionException e) {
+                // 手工注册的单例：按实际类型判断
+            }
+            Class<?> type = beanFactory.getType(name, false);
+            return type != null && AuthCenterAutoConfiguration.isNodeLocal(type);
+        }
+    }
+}
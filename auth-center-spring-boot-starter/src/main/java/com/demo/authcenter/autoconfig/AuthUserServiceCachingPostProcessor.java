@@ -0,0 +1,37 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.properties.UserCacheProps;
+import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.spi.CachingAuthUserService;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 将业务方的 {@link AuthUserService} Bean 原地替换为 {@link CachingAuthUserService}（Starter 内部使用）。
+ *
+ * <h3>为什么用 BeanPostProcessor</h3>
+ * <ul>
+ *   <li>容器内仍只有一个 AuthUserService Bean，业务按接口注入不受影响，不会出现多候选冲突</li>
+ *   <li>业务方可直接注入 {@link CachingAuthUserService} 调用 evict</li>
+ * </ul>
+ *
+ * <p>注意：替换后按具体实现类注入（如 DemoAuthUserService）将无法匹配，应按接口注入。</p>
+ */
+public class AuthUserServiceCachingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<UserCacheProps> propsProvider;
+
+    public AuthUserServiceCachingPostProcessor(ObjectProvider<UserCacheProps> propsProvider) {
+        this.propsProvider = propsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof AuthUserService service) || bean instanceof CachingAuthUserService) {
+            return bean;
+        }
+        UserCacheProps props = propsProvider.getIfAvailable(UserCacheProps::new);
+        return new CachingAuthUserService(service, props.getTtlSeconds(), props.getMaxSize());
+    }
+}
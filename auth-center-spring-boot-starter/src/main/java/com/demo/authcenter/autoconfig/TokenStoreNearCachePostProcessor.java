@@ -0,0 +1,48 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.properties.TokenStoreProps;
+import com.demo.authcenter.store.BloomFilterTokenStore;
+import com.demo.authcenter.store.EnumerableTokenStore;
+import com.demo.authcenter.store.TokenStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.time.Duration;
+
+/**
+ * 将可枚举的 {@link TokenStore} Bean 原地包裹为 {@link BloomFilterTokenStore}（Starter 内部使用）。
+ *
+ * <p>不可枚举的实现（无法全量同步）保持原样并打印告警。
+ * 包裹后 Bean 实现 AutoCloseable，容器关闭时自动停止同步线程。</p>
+ */
+public class TokenStoreNearCachePostProcessor implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenStoreNearCachePostProcessor.class);
+
+    private final ObjectProvider<TokenStoreProps> propsProvider;
+
+    public TokenStoreNearCachePostProcessor(ObjectProvider<TokenStoreProps> propsProvider) {
+        this.propsProvider = propsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof TokenStore) || bean instanceof BloomFilterTokenStore) {
+            return bean;
+        }
+        if (!(bean instanceof EnumerableTokenStore store)) {
+            log.warn("[AuthCenter] auth-center.token-store.near-cache-enabled=true ignored: "
+                    + "TokenStore bean '{}' ({}) does not implement EnumerableTokenStore",
+                    beanName, bean.getClass().getName());
+            return bean;
+        }
+        TokenStoreProps props = propsProvider.getIfAvailable(TokenStoreProps::new);
+        return new BloomFilterTokenStore(store,
+                props.getNearCacheExpectedInsertions(),
+                props.getNearCacheFpp(),
+                Duration.ofSeconds(props.getNearCacheSyncIntervalSeconds()));
+    }
+}
@@ -24,4 +24,18 @@ public final class AuthErrorCodes {
 
     // ===== 403xx：授权失败 =====
     public static final int CODE_FORBIDDEN = 40301;
+
+    /**
+     * 错误码对应的默认提示语（servlet / reactive 两套 401/403 输出共用）。
+     */
+    public static String defaultMessage(int code) {
+        return switch (code) {
+            case CODE_TOKEN_EXPIRED -> "Token已过期";
+            case CODE_TOKEN_INVALID -> "Token非法或签名错误";
+            case CODE_TOKEN_BLACKLISTED -> "Token已失效（已登出或被踢下线）";
+            case CODE_TOKEN_MISSING -> "未认证或Token缺失";
+            case CODE_FORBIDDEN -> "权限不足";
+            default -> "未认证";
+        };
+    }
 }
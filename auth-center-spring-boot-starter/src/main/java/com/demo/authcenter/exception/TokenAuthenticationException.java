@@ -0,0 +1,35 @@
+package com.demo.authcenter.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * 响应式鉴权链路中的认证失败：携带业务错误码（{@link AuthErrorCodes} 401xx）。
+ *
+ * <p>由 ReactiveJwtAuthenticationManager 以 {@code Mono.error} 发出，WebFilter 将错误码写入 exchange attribute 后按匿名放行，
+ * 最终由 401 处理器输出（与 servlet 链路的 request attribute 约定一致）。</p>
+ *
+ * <p>只在链路内部传递、从不对外抛出，因此不填充堆栈。</p>
+ */
+public class TokenAuthenticationException extends AuthenticationException {
+
+    private final int code;
+
+    public TokenAuthenticationException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public TokenAuthenticationException(int code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,33 @@
+package com.demo.authcenter.exception;
+
+/**
+ * Token 校验失败（验签/过期/iss/aud/typ/必需 claim 缺失），携带业务错误码（{@link AuthErrorCodes} 401xx）。
+ *
+ * <p>继承 {@link IllegalArgumentException}，已有的 {@code catch (IllegalArgumentException)} 调用方行为不变。</p>
+ *
+ * <p>不填充堆栈：失败原因由错误码与 message 完整表达，垃圾 token 洪泛时不为每次拒绝遍历调用栈；
+ * 底层 JJWT 异常仍作为 cause 保留。</p>
+ */
+public class TokenValidationException extends IllegalArgumentException {
+
+    private final int code;
+
+    public TokenValidationException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public TokenValidationException(int code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
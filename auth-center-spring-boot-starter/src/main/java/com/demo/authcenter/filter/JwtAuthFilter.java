@@ -1,9 +1,17 @@
 package com.demo.authcenter.filter;
 
 import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.exception.TokenValidationException;
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.security.AuthCenterAuthentication;
 import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.security.RejectedTokenCache;
+import com.demo.authcenter.security.TokenDigest;
+import com.demo.authcenter.security.VerifiedTokenCache;
+import com.demo.authcenter.spi.AuthUser;
 import com.demo.authcenter.spi.AuthUserService;
 import com.demo.authcenter.store.TokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -11,14 +19,16 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JWT 鉴权过滤器
@@ -28,19 +38,97 @@ import java.util.Objects;
  * 约定：Authorization: Bearer token ，sub=userId，authorities 为角色/权限字符串。
  * <p>
  * 策略：若未携带 token，则不做任何标记，按匿名请求放行，由业务侧授权规则决定是否需要认证。
+ * <p>
+ * 缓存：若配置了 {@link VerifiedTokenCache}，已验证的 access token 命中缓存时跳过验签；
+ * 黑名单检查不受缓存影响，每次请求都会执行。
+ * <p>
+ * 拒绝缓存：若配置了 {@link RejectedTokenCache}，近期校验失败的 token 被重放时按缓存的错误码直接拒绝，不再解码/验签。
+ * <p>
+ * 用户级吊销：若配置了 {@link UserRevocationStore}，签发时间早于该用户 notBefore 的 token 按已失效处理（40104）。
+ * <p>
+ * 资源服务模式：未传入 {@link AuthUserService} 时不加载用户，权限直接取自 access token 的 roles claim；
+ * 同时未传入 TokenStore 时跳过黑名单检查，请求路径上没有任何 I/O。
+ * <p>
+ * 虚拟线程：若配置了 {@link VirtualThreadLookupExecutor}，黑名单检查通过后用户加载在虚拟线程上与吊销检查并发执行
+ * （已拉黑 token 的重放不会触发用户加载）；加载时可见 MDC 与请求属性，请求线程上的事务等其他 ThreadLocal 不可见。
+ * 本类不持有任何 monitor，运行在虚拟线程上时阻塞调用不会钉住载体线程。
  */
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    /** 资源服务模式下可为 null：不做黑名单检查 */
     private final TokenStore tokenStore;
+    /** 资源服务模式下为 null：权限取自 roles claim */
     private final AuthUserService authUserService;
+    /** 可选：为 null 时每次请求都完整验签 */
+    private final VerifiedTokenCache verifiedTokenCache;
+    /** 可选：为 null 时认证对象不携带权限位图 */
+    private final PermissionRegistry permissionRegistry;
+    /** 可选：为 null 时不做用户级吊销检查 */
+    private final UserRevocationStore revocationStore;
+    /** 可选：为 null 时用户加载在请求线程内顺序执行 */
+    private final VirtualThreadLookupExecutor lookupExecutor;
+    /** 可选：为 null 时重放的无效 token 每次都完整解析 */
+    private final RejectedTokenCache rejectedTokenCache;
 
+    /**
+     * @param tokenStore      黑名单；资源服务模式下可为 null：不检查黑名单（纯无状态，已登出的 access token 在过期前仍可用）
+     * @param authUserService 为 null 时为资源服务模式：不加载用户，权限取自 roles claim
+     * @param options         可选组件，可为 null（全部关闭）
+     */
     public JwtAuthFilter(JwtUtil jwtUtil,
                          TokenStore tokenStore,
-                         AuthUserService authUserService) {
+                         AuthUserService authUserService,
+                         Options options) {
+        Options o = options == null ? new Options() : options;
         this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
-        this.tokenStore = Objects.requireNonNull(tokenStore, "tokenStore must not be null");
-        this.authUserService = Objects.requireNonNull(authUserService, "authUserService must not be null");
+        this.authUserService = authUserService;
+        this.tokenStore = authUserService != null
+                ? Objects.requireNonNull(tokenStore, "tokenStore must not be null")
+                : tokenStore;
+        this.verifiedTokenCache = o.verifiedTokenCache;
+        this.permissionRegistry = o.permissionRegistry;
+        this.revocationStore = o.revocationStore;
+        this.lookupExecutor = authUserService != null ? o.lookupExecutor : null;
+        this.rejectedTokenCache = o.rejectedTokenCache;
+    }
+
+    /**
+     * 过滤器的可选组件，未设置的为 null（对应功能关闭）；构造时取值，之后修改不影响已创建的过滤器。
+     */
+    public static class Options {
+
+        private VerifiedTokenCache verifiedTokenCache;
+        private PermissionRegistry permissionRegistry;
+        private UserRevocationStore revocationStore;
+        private VirtualThreadLookupExecutor lookupExecutor;
+        private RejectedTokenCache rejectedTokenCache;
+
+        public Options verifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+            this.verifiedTokenCache = verifiedTokenCache;
+            return this;
+        }
+
+        public Options permissionRegistry(PermissionRegistry permissionRegistry) {
+            this.permissionRegistry = permissionRegistry;
+            return this;
+        }
+
+        public Options revocationStore(UserRevocationStore revocationStore) {
+            this.revocationStore = revocationStore;
+            return this;
+        }
+
+        /** 资源服务模式下忽略（不加载用户） */
+        public Options lookupExecutor(VirtualThreadLookupExecutor lookupExecutor) {
+            this.lookupExecutor = lookupExecutor;
+            return this;
+        }
+
+        public Options rejectedTokenCache(RejectedTokenCache rejectedTokenCache) {
+            this.rejectedTokenCache = rejectedTokenCache;
+            return this;
+        }
     }
 
     @Override
@@ -62,45 +150,62 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         try {
-            // 2️⃣ 检验
-            Claims claims = jwtUtil.parseAndValidate(token);
-            jwtUtil.validateAudience(claims);
-            jwtUtil.validateAccessType(claims);
-
+            // 2️⃣ 检验（jti / sub 已在其中校验存在）
+            Claims claims = verifyAccessToken(token);
             String jti = jwtUtil.getJti(claims);
-            if (jti == null || jti.isBlank()) {
-                throw new IllegalArgumentException("Missing jti");
-            }
-            if (tokenStore.isBlacklisted(jti)) {
+            Long userId = jwtUtil.getUserId(claims);
+
+            if (tokenStore != null && tokenStore.isBlacklisted(jti)) {
                 SecurityContextHolder.clearContext();
                 mark(req, AuthErrorCodes.CODE_TOKEN_BLACKLISTED);
                 chain.doFilter(req, res);
                 return;
             }
 
-            Long userId = jwtUtil.getUserId(claims);
-            if (userId == null) {
-                throw new IllegalArgumentException("Missing or invalid sub(userId)");
-            }
+            // 可选：黑名单通过后在虚拟线程上发起用户加载，与下面的吊销检查重叠（被吊销时结果直接丢弃）。
+            // 放在黑名单之后：已登出 token 的重放洪泛不会为每个请求付出一次用户查询
+            CompletableFuture<AuthUser> pendingUser = lookupExecutor != null
+                    ? lookupExecutor.submit(() -> authUserService.loadByUserId(userId))
+                    : null;
 
-            // 3️⃣ 获取用户信息 & 权限
-            var user = authUserService.loadByUserId(userId);
-            if (user == null) {
-                throw new IllegalArgumentException("User not found: " + userId);
+            if (revocationStore != null && revocationStore.isRevoked(userId, claims.getIssuedAt())) {
+                SecurityContextHolder.clearContext();
+                mark(req, AuthErrorCodes.CODE_TOKEN_BLACKLISTED);
+                chain.doFilter(req, res);
+                return;
             }
 
-            var auths = user.authorities() == null ? Collections.<String>emptyList() : user.authorities();
-            var authorities = auths.stream()
+            // 3️⃣ 获取用户信息 & 权限（资源服务模式直接取 roles claim）
+            Collection<String> auths;
+            if (authUserService != null) {
+                var user = pendingUser != null
+                        ? VirtualThreadLookupExecutor.join(pendingUser)
+                        : authUserService.loadByUserId(userId);
+                if (user == null) {
+                    throw new IllegalArgumentException("User not found: " + userId);
+                }
+                auths = user.authorities() == null ? Collections.<String>emptyList() : user.authorities();
+            } else {
+                auths = jwtUtil.getRoles(claims);
+            }
+            var names = auths.stream()
                     .filter(Objects::nonNull)
                     .map(String::trim)
                     .filter(s -> !s.isEmpty())
+                    .toList();
+            var authorities = names.stream()
                     .map(SimpleGrantedAuthority::new)
                     .toList();
 
-            // 4️⃣ 放入SecurityContext
-            var authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+            // 4️⃣ 放入SecurityContext（每个请求只构建一次 authority 查找结构，后续授权判断直接复用）
+            var permissions = permissionRegistry != null ? permissionRegistry.toSet(names) : null;
+            var authentication = new AuthCenterAuthentication(userId, authorities, Set.copyOf(names), permissions);
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
+        } catch (TokenValidationException e) {
+            SecurityContextHolder.clearContext();
+            mark(req, e.getCode());
+
         } catch (ExpiredJwtException e) {
             SecurityContextHolder.clearContext();
             mark(req, AuthErrorCodes.CODE_TOKEN_EXPIRED);
@@ -113,6 +218,52 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
+    /**
+     * 验签 + aud + typ=access + jti/sub 存在；命中已验证缓存时直接返回缓存的 Claims，
+     * 命中已拒绝缓存时按缓存的错误码拒绝，校验失败时记录错误码（尚未生效的 token 除外）。
+     */
+    private Claims verifyAccessToken(String token) {
+        // 两个缓存共用同一次摘要
+        String digest = verifiedTokenCache != null || rejectedTokenCache != null ? TokenDigest.of(token) : null;
+        if (verifiedTokenCache != null) {
+            Claims cached = verifiedTokenCache.getByDigest(digest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (rejectedTokenCache != null) {
+            int code = rejectedTokenCache.getByDigest(digest);
+            if (code != 0) {
+                throw new TokenValidationException(code, "Token rejected recently");
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseAndValidate(token);
+            jwtUtil.validateAudience(claims);
+            jwtUtil.validateAccessType(claims);
+            String jti = jwtUtil.getJti(claims);
+            if (jti == null || jti.isBlank()) {
+                throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Missing jti");
+            }
+            if (jwtUtil.getUserId(claims) == null) {
+                throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Missing or invalid sub(userId)");
+            }
+        } catch (TokenValidationException e) {
+            // nbf 尚未生效（时钟偏移）的 token 稍后即有效，不缓存
+            if (rejectedTokenCache != null && RejectedTokenCache.isCacheable(e)) {
+                rejectedTokenCache.putByDigest(digest, e.getCode());
+            }
+            throw e;
+        }
+
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.putByDigest(digest, claims);
+        }
+        return claims;
+    }
+
     private static void mark(HttpServletRequest req, int code) {
         req.setAttribute(AuthErrorCodes.REQ_ATTR_AUTH_ERROR_CODE, code);
     }
@@ -0,0 +1,59 @@
+package com.demo.authcenter.filter;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.exception.TokenAuthenticationException;
+import com.demo.authcenter.security.JwtUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Objects;
+
+/**
+ * JWT 鉴权 WebFilter：{@link JwtAuthFilter} 的 WebFlux 版本。
+ * <p>
+ * 策略与 servlet 链路一致：
+ * <ul>
+ *   <li>未携带 token：不做任何标记，按匿名请求放行</li>
+ *   <li>认证成功：认证对象写入 Reactor Context（{@link ReactiveSecurityContextHolder}）</li>
+ *   <li>认证失败：错误码写入 exchange attribute（{@link AuthErrorCodes#REQ_ATTR_AUTH_ERROR_CODE}），按匿名放行，
+ *       由 401 处理器统一输出</li>
+ * </ul>
+ * 认证本身委托给 {@link ReactiveAuthenticationManager}（默认 {@link ReactiveJwtAuthenticationManager}）。
+ */
+public class ReactiveJwtAuthFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveAuthenticationManager authenticationManager;
+
+    public ReactiveJwtAuthFilter(JwtUtil jwtUtil, ReactiveAuthenticationManager authenticationManager) {
+        this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
+        this.authenticationManager =
+                Objects.requireNonNull(authenticationManager, "authenticationManager must not be null");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = jwtUtil.extractBearerToken(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        // 无 token：不标记错误码，直接放行（交给业务授权规则决定）
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        // 只有认证阶段的错误被转换为错误码；下游链路的异常原样传播
+        return authenticationManager.authenticate(new PreAuthenticatedAuthenticationToken(null, token))
+                .onErrorResume(TokenAuthenticationException.class, e -> {
+                    exchange.getAttributes().put(AuthErrorCodes.REQ_ATTR_AUTH_ERROR_CODE, e.getCode());
+                    return Mono.empty();
+                })
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+}
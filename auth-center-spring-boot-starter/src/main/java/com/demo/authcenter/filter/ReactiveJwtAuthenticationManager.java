@@ -0,0 +1,232 @@
+package com.demo.authcenter.filter;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.exception.TokenAuthenticationException;
+import com.demo.authcenter.exception.TokenValidationException;
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.security.AuthCenterAuthentication;
+import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.security.RejectedTokenCache;
+import com.demo.authcenter.security.TokenDigest;
+import com.demo.authcenter.security.VerifiedTokenCache;
+import com.demo.authcenter.spi.AuthUser;
+import com.demo.authcenter.spi.ReactiveAuthUserService;
+import com.demo.authcenter.store.ReactiveTokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * JWT 响应式认证管理器：{@link JwtAuthFilter} 的 WebFlux 版本，校验规则与 servlet 链路完全一致。
+ * <p>
+ * 输入：credentials 为 Bearer token 字符串的 Authentication（通常由 {@link ReactiveJwtAuthFilter} 构造）。
+ * <p>
+ * 流程：验签 + aud + typ=access（CPU 计算，在当前线程完成，可命中 {@link VerifiedTokenCache} / {@link RejectedTokenCache}）→
+ * 黑名单与用户级吊销（并发发起）→ 加载用户或直接取 roles claim → {@link AuthCenterAuthentication}。
+ * <p>
+ * 失败：以 {@link TokenAuthenticationException} 结束，错误码与 servlet 链路相同（40102/40103/40104）。
+ */
+public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtUtil jwtUtil;
+    /** 资源服务模式下可为 null：不做黑名单检查 */
+    private final ReactiveTokenStore tokenStore;
+    /** 资源服务模式下为 null：权限取自 roles claim */
+    private final ReactiveAuthUserService authUserService;
+    /** 可选：为 null 时每次请求都完整验签 */
+    private final VerifiedTokenCache verifiedTokenCache;
+    /** 可选：为 null 时认证对象不携带权限位图 */
+    private final PermissionRegistry permissionRegistry;
+    /** 可选：为 null 时不做用户级吊销检查 */
+    private final UserRevocationStore revocationStore;
+    /** 执行阻塞吊销查询的线程池；为 null 时内联执行（仅适用于内存实现） */
+    private final Scheduler revocationScheduler;
+    /** 可选：为 null 时重放的无效 token 每次都完整解析 */
+    private final RejectedTokenCache rejectedTokenCache;
+
+    /**
+     * @param tokenStore      黑名单；资源服务模式下可为 null：不检查黑名单
+     * @param authUserService 为 null 时为资源服务模式：不加载用户，权限取自 roles claim
+     * @param options         可选组件，可为 null（全部关闭）
+     */
+    public ReactiveJwtAuthenticationManager(JwtUtil jwtUtil,
+                                            ReactiveTokenStore tokenStore,
+                                            ReactiveAuthUserService authUserService,
+                                            Options options) {
+        Options o = options == null ? new Options() : options;
+        this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
+        this.authUserService = authUserService;
+        this.tokenStore = authUserService != null
+                ? Objects.requireNonNull(tokenStore, "tokenStore must not be null")
+                : tokenStore;
+        this.verifiedTokenCache = o.verifiedTokenCache;
+        this.permissionRegistry = o.permissionRegistry;
+        this.revocationStore = o.revocationStore;
+        this.revocationScheduler = o.revocationScheduler;
+        this.rejectedTokenCache = o.rejectedTokenCache;
+    }
+
+    /**
+     * 认证管理器的可选组件，未设置的为 null（对应功能关闭）；构造时取值，之后修改不影响已创建的实例。
+     */
+    public static class Options {
+
+        private VerifiedTokenCache verifiedTokenCache;
+        private PermissionRegistry permissionRegistry;
+        private UserRevocationStore revocationStore;
+        private Scheduler revocationScheduler;
+        private RejectedTokenCache rejectedTokenCache;
+
+        public Options verifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+            this.verifiedTokenCache = verifiedTokenCache;
+            return this;
+        }
+
+        public Options permissionRegistry(PermissionRegistry permissionRegistry) {
+            this.permissionRegistry = permissionRegistry;
+            return this;
+        }
+
+        /**
+         * @param scheduler 执行阻塞吊销查询的线程池；为 null 时内联执行（仅适用于内存实现）
+         */
+        public Options revocationStore(UserRevocationStore revocationStore, Scheduler scheduler) {
+            this.revocationStore = revocationStore;
+            this.revocationScheduler = scheduler;
+            return this;
+        }
+
+        public Options rejectedTokenCache(RejectedTokenCache rejectedTokenCache) {
+            this.rejectedTokenCache = rejectedTokenCache;
+            return this;
+        }
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication.getCredentials() instanceof String token)) {
+            return Mono.empty();
+        }
+
+        // 1️⃣ 检验（同步；jti / sub 已在其中校验存在）
+        Claims claims;
+        try {
+            claims = verifyAccessToken(token);
+        } catch (TokenValidationException e) {
+            return Mono.error(new TokenAuthenticationException(e.getCode(), e.getMessage(), e));
+        } catch (ExpiredJwtException e) {
+            return Mono.error(new TokenAuthenticationException(AuthErrorCodes.CODE_TOKEN_EXPIRED, e.getMessage(), e));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.error(new TokenAuthenticationException(AuthErrorCodes.CODE_TOKEN_INVALID, e.getMessage(), e));
+        }
+
+        String jti = jwtUtil.getJti(claims);
+        Long userId = jwtUtil.getUserId(claims);
+
+        // 2️⃣ 黑名单 + 用户级吊销：互不依赖，同时发起
+        Mono<Boolean> blacklisted = tokenStore != null ? tokenStore.isBlacklisted(jti) : Mono.just(Boolean.FALSE);
+        Mono<Boolean> revoked = revoked(userId, claims);
+
+        return Mono.zip(blacklisted, revoked, (b, r) -> b || r)
+                .flatMap(rejected -> rejected
+                        ? Mono.<Collection<String>>error(new TokenAuthenticationException(
+                                AuthErrorCodes.CODE_TOKEN_BLACKLISTED, "Token revoked"))
+                        : loadAuthorities(userId, claims))
+                .map(auths -> toAuthentication(userId, auths));
+    }
+
+    /**
+     * 验签 + aud + typ=access + jti/sub 存在；命中已验证缓存时直接返回缓存的 Claims，
+     * 命中已拒绝缓存时按缓存的错误码拒绝，校验失败时记录错误码（尚未生效的 token 除外）。
+     */
+    private Claims verifyAccessToken(String token) {
+        // 两个缓存共用同一次摘要
+        String digest = verifiedTokenCache != null || rejectedTokenCache != null ? TokenDigest.of(token) : null;
+        if (verifiedTokenCache != null) {
+            Claims cached = verifiedTokenCache.getByDigest(digest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (rejectedTokenCache != null) {
+            int code = rejectedTokenCache.getByDigest(digest);
+            if (code != 0) {
+                throw new TokenValidationException(code, "Token rejected recently");
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseAndValidate(token);
+            jwtUtil.validateAudience(claims);
+            jwtUtil.validateAccessType(claims);
+            String jti = jwtUtil.getJti(claims);
+            if (jti == null || jti.isBlank()) {
+                throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Missing jti");
+            }
+            if (jwtUtil.getUserId(claims) == null) {
+                throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Missing or invalid sub(userId)");
+            }
+        } catch (TokenValidationException e) {
+            // nbf 尚未生效（时钟偏移）的 token 稍后即有效，不缓存
+            if (rejectedTokenCache != null && RejectedTokenCache.isCacheable(e)) {
+                rejectedTokenCache.putByDigest(digest, e.getCode());
+            }
+            throw e;
+        }
+
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.putByDigest(digest, claims);
+        }
+        return claims;
+    }
+
+    private Mono<Boolean> revoked(Long userId, Claims claims) {
+        if (revocationStore == null) {
+            return Mono.just(Boolean.FALSE);
+        }
+        Mono<Boolean> check = Mono.fromCallable(() -> revocationStore.isRevoked(userId, claims.getIssuedAt()));
+        return revocationScheduler == null ? check : check.subscribeOn(revocationScheduler);
+    }
+
+    /**
+     * 获取用户权限（资源服务模式直接取 roles claim）。
+     */
+    private Mono<Collection<String>> loadAuthorities(Long userId, Claims claims) {
+        if (authUserService == null) {
+            return Mono.just(jwtUtil.getRoles(claims));
+        }
+        return authUserService.loadByUserId(userId)
+                .switchIfEmpty(Mono.error(() -> new TokenAuthenticationException(AuthErrorCodes.CODE_TOKEN_INVALID,
+                        "User not found: " + userId)))
+                .map(ReactiveJwtAuthenticationManager::authoritiesOf);
+    }
+
+    private static Collection<String> authoritiesOf(AuthUser user) {
+        return user.authorities() == null ? Collections.emptyList() : user.authorities();
+    }
+
+    private Authentication toAuthentication(Long userId, Collection<String> auths) {
+        var names = auths.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        var authorities = names.stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        var permissions = permissionRegistry != null ? permissionRegistry.toSet(names) : null;
+        return new AuthCenterAuthentication(userId, authorities, Set.copyOf(names), permissions);
+    }
+}
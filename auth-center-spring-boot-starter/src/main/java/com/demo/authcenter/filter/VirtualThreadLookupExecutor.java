@@ -0,0 +1,148 @@
+package com.demo.authcenter.filter;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 鉴权查询执行器：每个任务一个虚拟线程（JDK 21+）。
+ *
+ * <p>用于 JwtAuthFilter 的用户预取，以及 LogoutService 中 access/refresh 吊销的并发执行。</p>
+ *
+ * <p>Starter 编译目标低于 21，通过反射调用 {@code Executors.newVirtualThreadPerTaskExecutor()}；
+ * 运行时 JDK 不支持时 {@link #isSupported()} 返回 false，由装配方决定是否启用。</p>
+ *
+ * <p>虚拟线程在阻塞时让出载体线程，前提是阻塞发生在 j.u.c 锁 / park 上而不是 monitor 内：
+ * Starter 自带的 Filter、装饰器与 TokenStore 均不使用 {@code synchronized}，
+ * ConcurrentHashMap.compute 等内部持有 monitor 的调用中也不做任何 I/O。</p>
+ *
+ * <p>上下文：提交时复制调用线程的 {@link MDC} 与 {@link RequestContextHolder}（请求属性），任务结束后清除。
+ * 其余 ThreadLocal 不会传递——请求线程上的 Spring 事务 / Hibernate Session、租户上下文等在任务中不可见，
+ * 依赖它们的 {@code AuthUserService} 不应开启虚拟线程预取。</p>
+ */
+public final class VirtualThreadLookupExecutor implements Executor, AutoCloseable {
+
+    private static final Method FACTORY = resolveFactory();
+
+    private final ExecutorService executor;
+
+    VirtualThreadLookupExecutor(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+    }
+
+    /**
+     * 当前 JDK 是否支持虚拟线程（非预览）。
+     */
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程
+     */
+    public static VirtualThreadLookupExecutor create() {
+        if (FACTORY == null) {
+            throw new IllegalStateException("Virtual threads require Java 21+, running on " + Runtime.version());
+        }
+        try {
+            return new VirtualThreadLookupExecutor((ExecutorService) FACTORY.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * 在新的虚拟线程上执行 task。
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Objects.requireNonNull(task, "task must not be null");
+        Context context = Context.capture();
+        return CompletableFuture.supplyAsync(() -> {
+            context.apply();
+            try {
+                return task.get();
+            } finally {
+                Context.reset();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command, "command must not be null");
+        Context context = Context.capture();
+        executor.execute(() -> {
+            context.apply();
+            try {
+                command.run();
+            } finally {
+                Context.reset();
+            }
+        });
+    }
+
+    /**
+     * 等待结果；task 抛出的 RuntimeException 原样抛出。
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * 调用线程的 MDC 与请求属性快照。
+     */
+    private record Context(Map<String, String> mdc, RequestAttributes requestAttributes) {
+
+        static Context capture() {
+            return new Context(MDC.getCopyOfContextMap(), RequestContextHolder.getRequestAttributes());
+        }
+
+        void apply() {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            if (requestAttributes != null) {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+            }
+        }
+
+        static void reset() {
+            MDC.clear();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static Method resolveFactory() {
+        if (Runtime.version().feature() < 21) {
+            // 19/20 为预览 API，未开启 --enable-preview 时调用即失败
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
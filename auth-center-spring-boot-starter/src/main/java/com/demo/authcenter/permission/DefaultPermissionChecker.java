@@ -1,5 +1,6 @@
 package com.demo.authcenter.permission;
 
+import com.demo.authcenter.security.AuthCenterAuthentication;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 
@@ -12,6 +13,9 @@ import java.util.Objects;
  * 约定：权限以字符串表示（如 "order:read"），通常由 JwtAuthFilter 写入 Authentication。
  * <p>
  * 业务可替换 PermissionChecker 以支持角色映射、通配符、ABAC 等策略。
+ * <p>
+ * 若认证对象为 {@link AuthCenterAuthentication}，使用其请求级预构建的 authority Set（O(1)）；
+ * 否则线性扫描 authorities。
  */
 public class DefaultPermissionChecker implements PermissionChecker {
 
@@ -27,6 +31,9 @@ public class DefaultPermissionChecker implements PermissionChecker {
         // 空权限处理
         if (authentication == null || !authentication.isAuthenticated()) return false;
         if (perm == null || perm.isBlank()) return false;
+        if (authentication instanceof AuthCenterAuthentication a) {
+            return a.hasAuthority(perm);
+        }
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         if (authorities == null || authorities.isEmpty()) return false;
 
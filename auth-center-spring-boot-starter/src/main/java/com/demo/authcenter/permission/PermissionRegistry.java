@@ -0,0 +1,72 @@
+package com.demo.authcenter.permission;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限字符串注册表：把 authority（角色/权限点）驻留为稠密 int id，供 {@link PermissionSet} 位图匹配。
+ *
+ * <p>注册只发生在启动期：@RequirePerm 声明的 roles/perms 由 RequirePermAspect 编译规则时经 {@link #register} 驻留。
+ * 请求期（JwtAuthFilter 构建 Authentication）经 {@link #toSet} 只查询不注册：用户持有但没有任何规则引用的
+ * authority 与授权判断无关，直接忽略。因此注册表大小等于规则中出现的不同 authority 数量，
+ * 不随用户数或按用户动态生成的 authority 增长，位图长度同样有界。</p>
+ *
+ * <p>id 只增不减、一经分配不再变化，因此已编译的位图始终有效。</p>
+ */
+public class PermissionRegistry {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * 注册并返回 id（已存在则直接返回）。
+     */
+    public int intern(String authority) {
+        Integer id = ids.get(authority);
+        if (id != null) return id;
+        return ids.computeIfAbsent(authority, k -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 查询 id；未注册返回 -1。
+     */
+    public int idOf(String authority) {
+        if (authority == null) return -1;
+        Integer id = ids.get(authority);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 注册一组 authority 并转为位图（null/空白忽略）。仅用于启动期编译 @RequirePerm 规则。
+     */
+    public PermissionSet register(Collection<String> authorities) {
+        return build(authorities, true);
+    }
+
+    /**
+     * 将一组 authority 转为位图（null/空白忽略，未注册的忽略、不会被注册）。用于请求期。
+     */
+    public PermissionSet toSet(Collection<String> authorities) {
+        return build(authorities, false);
+    }
+
+    private PermissionSet build(Collection<String> authorities, boolean register) {
+        if (authorities == null || authorities.isEmpty()) return PermissionSet.EMPTY;
+        int[] arr = new int[authorities.size()];
+        int n = 0;
+        for (String a : authorities) {
+            if (a == null || a.isBlank()) continue;
+            int id = register ? intern(a.trim()) : idOf(a.trim());
+            if (id >= 0) arr[n++] = id;
+        }
+        if (n == 0) return PermissionSet.EMPTY;
+        return PermissionSet.of(n == arr.length ? arr : Arrays.copyOf(arr, n));
+    }
+
+    /** 已注册的 authority 数量 */
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.authcenter.permission;
+
+import java.io.Serializable;
+
+/**
+ * 不可变权限位图：第 i 位表示 {@link PermissionRegistry} 中 id=i 的权限字符串。
+ *
+ * <p>匹配以 64 位字为单位按位与完成，与持有的权限数量无关，不产生任何分配。</p>
+ */
+public final class PermissionSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+
+    private final long[] words;
+
+    private PermissionSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 由 id 构建位图（负数 id 忽略）。
+     */
+    public static PermissionSet of(int... ids) {
+        int max = -1;
+        for (int id : ids) {
+            if (id > max) max = id;
+        }
+        if (max < 0) return EMPTY;
+
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : ids) {
+            if (id >= 0) {
+                words[id >>> 6] |= 1L << id;
+            }
+        }
+        return new PermissionSet(words);
+    }
+
+    public boolean contains(int id) {
+        int w = id >>> 6;
+        return id >= 0 && w < words.length && (words[w] & (1L << id)) != 0;
+    }
+
+    /**
+     * 是否与 other 至少有一个公共权限（ANY）。
+     */
+    public boolean containsAny(PermissionSet other) {
+        long[] a = words;
+        long[] b = other.words;
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.demo.authcenter.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 请求路径执行方式配置（虚拟线程等）。
+ */
+@ConfigurationProperties(prefix = "auth-center.execution")
+public class ExecutionProps {
+
+    /**
+     * 是否在虚拟线程上执行阻塞的用户加载（需要 JDK 21+）：
+     * Filter 校验 token 后立即在虚拟线程上发起 AuthUserService 调用，同时在请求线程检查黑名单与用户级吊销，
+     * 两者的 I/O 延迟重叠。默认 false（请求线程内顺序执行）。
+     */
+    private boolean virtualThreadsEnabled = false;
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+}
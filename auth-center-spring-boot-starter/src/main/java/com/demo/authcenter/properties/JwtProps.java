@@ -2,6 +2,8 @@ package com.demo.authcenter.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -10,6 +12,9 @@ import java.util.List;
 @ConfigurationProperties(prefix = "auth-center.jwt")
 public class JwtProps {
 
+    /** 启用家族追踪且未配置 refresh-grace-seconds 时的宽限窗口（秒） */
+    public static final long DEFAULT_REFRESH_GRACE_SECONDS = 5;
+
     /**
      * JWT 签名密钥（HS256）。
      *
@@ -18,6 +23,36 @@ public class JwtProps {
      */
     private String secret;
 
+    /**
+     * 密钥环（可选）：配置后按 {@link #activeKeyId} 签发并在 header 写入 kid，验签按 kid 选择密钥。
+     * <p>轮换步骤：新增密钥并切换 active-key-id；旧密钥保留在列表中即为只验签。
+     * 运行期刷新配置时，从列表移除的密钥仍会在内存中保留到其签发的 token 全部过期（max(access, refresh) TTL + 时钟偏移），
+     * 但进程重启后不再保留：需要跨重启验签的旧密钥必须留在列表中（可配合 verify-until 到期自动拒绝）。
+     * 需要立即作废某个密钥时，为其设置已过去的 verify-until。</p>
+     * <p>{@link #secret} 仍可同时配置，用于校验未携带 kid 的旧 token。</p>
+     */
+    private List<SigningKey> keys = new ArrayList<>();
+
+    /**
+     * 当前签发密钥的 id（配置了 keys 时必填）。
+     */
+    private String activeKeyId;
+
+    /**
+     * 是否发布 JWKS（仅包含非对称密钥的公钥，下游服务可据此离线验签）。
+     */
+    private boolean jwksEnabled = false;
+
+    /**
+     * JWKS 路径（需在业务 Security 配置中放行）。
+     */
+    private String jwksPath = "/.well-known/jwks.json";
+
+    /**
+     * JWKS 响应的 Cache-Control max-age（秒）。
+     */
+    private long jwksMaxAgeSeconds = 300;
+
     /**
      * 签发者
      */
@@ -48,6 +83,65 @@ public class JwtProps {
      */
     private long clockSkewSeconds = 30;
 
+    /**
+     * 是否启用已验证 access token 缓存（命中时跳过验签与 claims 解析；黑名单仍每次检查）。
+     */
+    private boolean verifiedCacheEnabled = false;
+
+    /**
+     * 已验证 token 缓存最大条目数。
+     */
+    private int verifiedCacheMaxSize = 10000;
+
+    /**
+     * 已验证 token 缓存单条最长驻留时间（秒），实际取 min(token exp, 本值)。
+     */
+    private long verifiedCacheTtlSeconds = 300;
+
+    /**
+     * 是否启用已拒绝 token 缓存（格式错误/签名错误/过期的 token 被重放时按上次的错误码直接拒绝，不再解码验签）。
+     */
+    private boolean rejectedCacheEnabled = false;
+
+    /**
+     * 已拒绝 token 缓存最大条目数（与已验证缓存分开计算）。
+     */
+    private int rejectedCacheMaxSize = 10000;
+
+    /**
+     * 已拒绝 token 缓存单条驻留时间（秒）：aud 等配置变更后最多延迟该时长生效。
+     */
+    private long rejectedCacheTtlSeconds = 60;
+
+    /**
+     * 资源服务模式（auth-center.authentication-mode=CLAIMS）下是否仍检查黑名单与用户级吊销。
+     * <p>true：登出/踢下线即时生效，每个请求访问一次 TokenStore（Redis 时为一次网络往返）；
+     * false：纯无状态，请求路径上无 I/O，已登出的 access token 在过期前仍可用。</p>
+     */
+    private boolean claimsCheckRevocation = true;
+
+    /**
+     * 是否启用 refresh token 家族追踪：检测到已轮换的 refresh 被重放时，吊销整个家族（含攻击者已轮换出的分支）。
+     * <p>未配置时按部署形态决定：Redis / JDBC TokenStore（家族记录共享）、内置单机 TokenStore 或业务提供了
+     * {@code RefreshTokenFamilyStore} Bean 时启用；自定义共享 TokenStore 且无共享家族存储时不启用
+     * （内存家族记录会把在另一节点的正常刷新误判为重放）。显式配置 true 而无共享家族存储时启动失败。</p>
+     */
+    private Boolean refreshFamilyEnabled;
+
+    /**
+     * Redis 家族存储的 key 前缀（仅 Redis TokenStore 生效）。
+     */
+    private String refreshFamilyRedisKeyPrefix = "auth-center:rf:";
+
+    /**
+     * Refresh rotation 宽限窗口（秒）：窗口内用同一 refresh 重复刷新返回同一对新 token。0 表示关闭。
+     * <p>未配置时：启用家族追踪则为 {@link #DEFAULT_REFRESH_GRACE_SECONDS} 秒（否则并发的重复刷新会被判为重放、
+     * 吊销整个家族），未启用则为 0。</p>
+     * <p>结果缓存在本节点内存中，落到其他节点的重复刷新仍按重放处理，多节点部署需配合会话粘滞；
+     * 窗口应尽量短（通常数秒）。</p>
+     */
+    private Long refreshGraceSeconds;
+
     public String getSecret() {
         return secret;
     }
@@ -103,4 +197,208 @@ public class JwtProps {
     public void setClockSkewSeconds(long clockSkewSeconds) {
         this.clockSkewSeconds = clockSkewSeconds;
     }
+
+    public boolean isVerifiedCacheEnabled() {
+        return verifiedCacheEnabled;
+    }
+
+    public void setVerifiedCacheEnabled(boolean verifiedCacheEnabled) {
+        this.verifiedCacheEnabled = verifiedCacheEnabled;
+    }
+
+    public int getVerifiedCacheMaxSize() {
+        return verifiedCacheMaxSize;
+    }
+
+    public void setVerifiedCacheMaxSize(int verifiedCacheMaxSize) {
+        this.verifiedCacheMaxSize = verifiedCacheMaxSize;
+    }
+
+    public long getVerifiedCacheTtlSeconds() {
+        return verifiedCacheTtlSeconds;
+    }
+
+    public void setVerifiedCacheTtlSeconds(long verifiedCacheTtlSeconds) {
+        this.verifiedCacheTtlSeconds = verifiedCacheTtlSeconds;
+    }
+
+    public boolean isRejectedCacheEnabled() {
+        return rejectedCacheEnabled;
+    }
+
+    public void setRejectedCacheEnabled(boolean rejectedCacheEnabled) {
+        this.rejectedCacheEnabled = rejectedCacheEnabled;
+    }
+
+    public int getRejectedCacheMaxSize() {
+        return rejectedCacheMaxSize;
+    }
+
+    public void setRejectedCacheMaxSize(int rejectedCacheMaxSize) {
+        this.rejectedCacheMaxSize = rejectedCacheMaxSize;
+    }
+
+    public long getRejectedCacheTtlSeconds() {
+        return rejectedCacheTtlSeconds;
+    }
+
+    public void setRejectedCacheTtlSeconds(long rejectedCacheTtlSeconds) {
+        this.rejectedCacheTtlSeconds = rejectedCacheTtlSeconds;
+    }
+
+    public Boolean getRefreshFamilyEnabled() {
+        return refreshFamilyEnabled;
+    }
+
+    public void setRefreshFamilyEnabled(Boolean refreshFamilyEnabled) {
+        this.refreshFamilyEnabled = refreshFamilyEnabled;
+    }
+
+    public String getRefreshFamilyRedisKeyPrefix() {
+        return refreshFamilyRedisKeyPrefix;
+    }
+
+    public void setRefreshFamilyRedisKeyPrefix(String refreshFamilyRedisKeyPrefix) {
+        this.refreshFamilyRedisKeyPrefix = refreshFamilyRedisKeyPrefix;
+    }
+
+    public Long getRefreshGraceSeconds() {
+        return refreshGraceSeconds;
+    }
+
+    public void setRefreshGraceSeconds(Long refreshGraceSeconds) {
+        this.refreshGraceSeconds = refreshGraceSeconds;
+    }
+
+    public List<SigningKey> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<SigningKey> keys) {
+        this.keys = keys;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public void setActiveKeyId(String activeKeyId) {
+        this.activeKeyId = activeKeyId;
+    }
+
+    public boolean isJwksEnabled() {
+        return jwksEnabled;
+    }
+
+    public void setJwksEnabled(boolean jwksEnabled) {
+        this.jwksEnabled = jwksEnabled;
+    }
+
+    public String getJwksPath() {
+        return jwksPath;
+    }
+
+    public void setJwksPath(String jwksPath) {
+        this.jwksPath = jwksPath;
+    }
+
+    public long getJwksMaxAgeSeconds() {
+        return jwksMaxAgeSeconds;
+    }
+
+    public void setJwksMaxAgeSeconds(long jwksMaxAgeSeconds) {
+        this.jwksMaxAgeSeconds = jwksMaxAgeSeconds;
+    }
+
+    public boolean isClaimsCheckRevocation() {
+        return claimsCheckRevocation;
+    }
+
+    public void setClaimsCheckRevocation(boolean claimsCheckRevocation) {
+        this.claimsCheckRevocation = claimsCheckRevocation;
+    }
+
+    /**
+     * 密钥环中的单个密钥。
+     */
+    public static class SigningKey {
+
+        /**
+         * 密钥 id（写入 JWT header 的 kid）。
+         */
+        private String id;
+
+        /**
+         * 签名算法：HS256（默认）| RS256 | ES256 | EdDSA。
+         */
+        private String algorithm = "HS256";
+
+        /**
+         * HS256 密钥，UTF-8 编码后长度 ≥ 32 bytes。
+         */
+        private String secret;
+
+        /**
+         * 非对称算法私钥（PKCS#8 PEM）；只验签的旧密钥可不配置。
+         */
+        private String privateKey;
+
+        /**
+         * 非对称算法公钥（X.509 PEM），用于验签并发布到 JWKS。
+         */
+        private String publicKey;
+
+        /**
+         * 验签截止时间（可选，ISO-8601）：之后该密钥签发的 token 一律拒绝。
+         */
+        private Instant verifyUntil;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public Instant getVerifyUntil() {
+            return verifyUntil;
+        }
+
+        public void setVerifyUntil(Instant verifyUntil) {
+            this.verifyUntil = verifyUntil;
+        }
+    }
 }
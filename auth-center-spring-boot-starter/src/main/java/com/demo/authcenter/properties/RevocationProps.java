@@ -0,0 +1,49 @@
+package com.demo.authcenter.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用户级吊销配置（userId -> notBefore，用于"踢下线/改密码后使旧 token 全部失效"）。
+ */
+@ConfigurationProperties(prefix = "auth-center.revocation")
+public class RevocationProps {
+
+    /**
+     * 是否启用用户级吊销检查（Filter 与 Refresh 均校验 iat >= notBefore）。
+     */
+    private boolean enabled = true;
+
+    /**
+     * Redis 实现的本地缓存有效期（毫秒）：其他节点的吊销最多延迟该时长生效；0 表示不缓存。
+     */
+    private long cacheTtlMillis = 1000;
+
+    /**
+     * Redis 吊销记录 key 前缀（完整 key = 前缀 + userId）。
+     */
+    private String redisKeyPrefix = "auth-center:rv:";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public void setCacheTtlMillis(long cacheTtlMillis) {
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+}
@@ -0,0 +1,218 @@
+package com.demo.authcenter.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * TokenStore 配置属性。
+ */
+@ConfigurationProperties(prefix = "auth-center.token-store")
+public class TokenStoreProps {
+
+    /**
+     * TokenStore 实现类型。
+     *
+     * <ul>
+     *   <li>AUTO（默认）：容器中存在 RedisConnectionFactory 时使用 Redis，否则使用内存实现</li>
+     *   <li>MEMORY：强制使用内存实现（仅单机）</li>
+     *   <li>REDIS：强制使用 Redis；缺少 RedisConnectionFactory 时启动失败</li>
+     *   <li>COMPACT：紧凑内存实现（原始类型表，每条约 32~48 字节，仅单机）</li>
+     *   <li>FILE：内存映射文件持久化（重启不丢失登出状态，仅单机）</li>
+     *   <li>SHARDED：分段加锁的内存实现（高并发 refresh rotation，仅单机）</li>
+     *   <li>JDBC：关系型数据库（需 spring-jdbc 与 DataSource；缺少时启动失败）</li>
+     * </ul>
+     *
+     * <p>业务方自定义 TokenStore Bean 时本配置不生效。</p>
+     */
+    private Type type = Type.AUTO;
+
+    /**
+     * Redis 黑名单 key 前缀（完整 key = 前缀 + jti）。
+     */
+    private String redisKeyPrefix = "auth-center:bl:";
+
+    /**
+     * 本地实现（MEMORY / COMPACT / FILE / SHARDED）的容量上限（条目数），达到上限后新的拉黑请求被拒绝（抛出 IllegalStateException）。
+     */
+    private int memoryMaxEntries = 1_000_000;
+
+    /**
+     * SHARDED 类型的段数（向上取整为 2 的幂），建议不小于 CPU 核数的 4 倍。
+     */
+    private int shards = 64;
+
+    /**
+     * FILE 类型的日志文件路径（相对路径基于工作目录）。
+     */
+    private String filePath = "auth-center-blacklist.dat";
+
+    /**
+     * FILE 类型：每次写入后立即 force 到磁盘（掉电安全，吞吐显著下降）；默认由后台每秒 force 一次。
+     */
+    private boolean fileSyncOnWrite = false;
+
+    /**
+     * JDBC 类型：登出写入组提交的单批最大条数。
+     */
+    private int jdbcBatchSize = 256;
+
+    /**
+     * JDBC 类型：过期行清理间隔（秒）。
+     */
+    private long jdbcPurgeIntervalSeconds = 60;
+
+    /**
+     * JDBC 类型：每块清理的最大行数（每块单独提交）。
+     */
+    private int jdbcPurgeChunkSize = 1000;
+
+    /**
+     * JDBC 类型：启动时执行内置建表脚本（可重复执行：建表 IF NOT EXISTS，缺失的索引按需补建，任一语句失败即启动失败）；
+     * 生产建议自行管理表结构。
+     */
+    private boolean jdbcInitializeSchema = false;
+
+    /**
+     * 近端 Bloom Filter 缓存开关（仅对可枚举的远端实现生效，如 Redis）。
+     *
+     * <p>开启后"未被拉黑"的 jti 在本地即可判定，省去远端查询；
+     * 其他节点的登出最多延迟 nearCacheSyncIntervalSeconds 后在本节点生效。</p>
+     */
+    private boolean nearCacheEnabled = false;
+
+    /**
+     * Bloom Filter 预期条目数（约等于黑名单峰值规模）。
+     */
+    private long nearCacheExpectedInsertions = 100_000;
+
+    /**
+     * Bloom Filter 目标误判率（0~1）。
+     */
+    private double nearCacheFpp = 0.01;
+
+    /**
+     * 从远端全量重建 Bloom Filter 的间隔（秒）。
+     */
+    private long nearCacheSyncIntervalSeconds = 30;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public int getMemoryMaxEntries() {
+        return memoryMaxEntries;
+    }
+
+    public void setMemoryMaxEntries(int memoryMaxEntries) {
+        this.memoryMaxEntries = memoryMaxEntries;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public boolean isFileSyncOnWrite() {
+        return fileSyncOnWrite;
+    }
+
+    public void setFileSyncOnWrite(boolean fileSyncOnWrite) {
+        this.fileSyncOnWrite = fileSyncOnWrite;
+    }
+
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    public long getJdbcPurgeIntervalSeconds() {
+        return jdbcPurgeIntervalSeconds;
+    }
+
+    public void setJdbcPurgeIntervalSeconds(long jdbcPurgeIntervalSeconds) {
+        this.jdbcPurgeIntervalSeconds = jdbcPurgeIntervalSeconds;
+    }
+
+    public int getJdbcPurgeChunkSize() {
+        return jdbcPurgeChunkSize;
+    }
+
+    public void setJdbcPurgeChunkSize(int jdbcPurgeChunkSize) {
+        this.jdbcPurgeChunkSize = jdbcPurgeChunkSize;
+    }
+
+    public boolean isJdbcInitializeSchema() {
+        return jdbcInitializeSchema;
+    }
+
+    public void setJdbcInitializeSchema(boolean jdbcInitializeSchema) {
+        this.jdbcInitializeSchema = jdbcInitializeSchema;
+    }
+
+    public boolean isNearCacheEnabled() {
+        return nearCacheEnabled;
+    }
+
+    public void setNearCacheEnabled(boolean nearCacheEnabled) {
+        this.nearCacheEnabled = nearCacheEnabled;
+    }
+
+    public long getNearCacheExpectedInsertions() {
+        return nearCacheExpectedInsertions;
+    }
+
+    public void setNearCacheExpectedInsertions(long nearCacheExpectedInsertions) {
+        this.nearCacheExpectedInsertions = nearCacheExpectedInsertions;
+    }
+
+    public double getNearCacheFpp() {
+        return nearCacheFpp;
+    }
+
+    public void setNearCacheFpp(double nearCacheFpp) {
+        this.nearCacheFpp = nearCacheFpp;
+    }
+
+    public long getNearCacheSyncIntervalSeconds() {
+        return nearCacheSyncIntervalSeconds;
+    }
+
+    public void setNearCacheSyncIntervalSeconds(long nearCacheSyncIntervalSeconds) {
+        this.nearCacheSyncIntervalSeconds = nearCacheSyncIntervalSeconds;
+    }
+
+    public enum Type {
+        AUTO,
+        MEMORY,
+        REDIS,
+        COMPACT,
+        FILE,
+        SHARDED,
+        JDBC
+    }
+}
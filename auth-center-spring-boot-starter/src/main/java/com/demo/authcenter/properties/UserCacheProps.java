@@ -0,0 +1,52 @@
+package com.demo.authcenter.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用户信息缓存配置（包裹业务方 AuthUserService.loadByUserId）。
+ */
+@ConfigurationProperties(prefix = "auth-center.user-cache")
+public class UserCacheProps {
+
+    /**
+     * 是否启用用户缓存。
+     *
+     * <p>启用后 Starter 会用 CachingAuthUserService 包裹业务方的 AuthUserService Bean；
+     * 角色/权限变更时业务方需注入 CachingAuthUserService 并调用 evict(userId)。</p>
+     */
+    private boolean enabled = false;
+
+    /**
+     * 缓存有效期（秒）：角色变更未主动 evict 时，最长在该时间后生效。
+     */
+    private long ttlSeconds = 60;
+
+    /**
+     * 最大缓存用户数。
+     */
+    private int maxSize = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.permission.PermissionSet;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * JwtAuthFilter 写入 SecurityContext 的认证对象。
+ *
+ * <p>在标准 {@link UsernamePasswordAuthenticationToken}（principal=userId）基础上，额外携带每个请求只构建一次的查找结构：
+ * <ul>
+ *   <li>authority 字符串的不可变 Set：{@link #hasAuthority(String)} 为 O(1) 且不产生分配</li>
+ *   <li>按 PermissionRegistry 编码的权限位图（可选）：供 @RequirePerm 以按位与完成 ANY/ALL 判断</li>
+ * </ul>
+ *
+ * <p>对 Spring Security 其余部分（@PreAuthorize、hasAuthority 等）完全透明。</p>
+ */
+public class AuthCenterAuthentication extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> authorityNames;
+    private final PermissionSet permissions;
+
+    /**
+     * @param authorityNames 与 authorities 对应的 authority 字符串（不可变 Set）
+     * @param permissions    权限位图；未启用 PermissionRegistry 时为 null
+     */
+    public AuthCenterAuthentication(Object principal,
+                                    Collection<? extends GrantedAuthority> authorities,
+                                    Set<String> authorityNames,
+                                    PermissionSet permissions) {
+        super(principal, null, authorities);
+        this.authorityNames = Set.copyOf(Objects.requireNonNull(authorityNames, "authorityNames must not be null"));
+        this.permissions = permissions;
+    }
+
+    /**
+     * 是否持有指定 authority（角色或权限点），O(1)。
+     */
+    public boolean hasAuthority(String authority) {
+        return authority != null && authorityNames.contains(authority);
+    }
+
+    /** 当前用户持有的权限位图；未启用 PermissionRegistry 时为 null */
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+}
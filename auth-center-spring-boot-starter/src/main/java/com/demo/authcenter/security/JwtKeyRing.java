@@ -0,0 +1,95 @@
+package com.demo.authcenter.security;
+
+import io.jsonwebtoken.security.InvalidKeyException;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JWT 密钥环：kid -> 密钥，不可变快照。
+ *
+ * <p>签发：始终使用 active 密钥，并在 header 写入其 kid。<br>
+ * 验签：按 header 中的 kid 直接查表（O(1)），不逐个尝试；没有 kid 的旧 token 使用默认密钥。<br>
+ * 退役密钥：仍在环内但只用于验签，到 verifyUntil 后拒绝（其签发的 token 届时均已过期）。</p>
+ *
+ * <p>算法：HS256（共享密钥）、RS256 / ES256 / EdDSA（私钥签发、公钥验签，公钥可经 JWKS 发布给下游离线验签）。</p>
+ *
+ * <p>由 {@link JwtUtil} 在配置变化或 {@link JwtUtil#reloadKeys()} 时整体重建并原子替换。</p>
+ */
+public final class JwtKeyRing {
+
+    public static final String ALG_HS256 = "HS256";
+    public static final String ALG_RS256 = "RS256";
+    public static final String ALG_ES256 = "ES256";
+    public static final String ALG_EDDSA = "EdDSA";
+
+    /** verifyUntil 未设置（长期有效） */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final Map<String, Entry> entries;
+    private final Entry active;
+    /** 无 kid 的旧 token 使用的密钥，可为 null */
+    private final Entry legacy;
+
+    JwtKeyRing(Map<String, Entry> entries, String activeKid, String legacyKid) {
+        this.entries = Collections.unmodifiableMap(new HashMap<>(entries));
+        this.active = Objects.requireNonNull(this.entries.get(activeKid), "active key must be in the ring");
+        this.legacy = legacyKid == null ? null : this.entries.get(legacyKid);
+    }
+
+    /**
+     * 当前签发密钥。
+     */
+    public Entry active() {
+        return active;
+    }
+
+    /**
+     * 无 kid 的旧 token 使用的密钥（未配置时为 null）。
+     */
+    public Entry legacy() {
+        return legacy;
+    }
+
+    /**
+     * 环内全部密钥（含退役、尚未到期的）。
+     */
+    public Map<String, Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * 按 kid 查找验签密钥；kid 为空时回退到旧 token 默认密钥。
+     *
+     * @throws InvalidKeyException kid 未知或对应密钥已过验签期限
+     */
+    Key verificationKey(String kid, long nowMillis) {
+        Entry e = kid == null ? legacy : entries.get(kid);
+        if (e == null) {
+            throw new InvalidKeyException(kid == null ? "Token has no kid and no legacy key is configured"
+                    : "Unknown kid: " + kid);
+        }
+        if (e.verifyUntilMillis() <= nowMillis) {
+            throw new InvalidKeyException("Key retired: " + e.kid());
+        }
+        return e.verifyKey();
+    }
+
+    /**
+     * 单个密钥。
+     *
+     * @param algorithm         JWA 算法名（{@link #ALG_HS256} 等）
+     * @param signingKey        签名密钥（对称算法与 verifyKey 相同；只验签的非对称密钥为 null）
+     * @param verifyKey         验签密钥
+     * @param verifyUntilMillis 验签截止时间（epoch millis），{@link #NO_EXPIRY} 表示不限
+     */
+    public record Entry(String kid, String algorithm, Key signingKey, Key verifyKey, long verifyUntilMillis) {
+
+        Entry withVerifyUntil(long millis) {
+            return new Entry(kid, algorithm, signingKey, verifyKey, millis);
+        }
+    }
+}
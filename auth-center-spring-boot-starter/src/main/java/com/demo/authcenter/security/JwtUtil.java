@@ -1,17 +1,31 @@
 package com.demo.authcenter.security;
 
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.exception.TokenValidationException;
 import com.demo.authcenter.properties.JwtProps;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * JWT 工具
@@ -32,9 +46,20 @@ import java.util.*;
  * - sub = userId
  * - jti = token 唯一标识（用于登出/黑名单）
  * - typ = "access" | "refresh"
+ * - fid = refresh token 家族 id（同一次登录经多次 rotation 产生的 refresh 共享同一 fid，用于重放检测）
  * - aud 写入 claim "aud"（List<String>），并兼容不同 JWT 版本的 audience 返回类型
  * <p>
  * 说明：黑名单、登出、刷新轮换不在此类处理，由 TokenStore/Service 负责。
+ * <p>
+ * 性能：签名密钥与 {@link JwtParser} 在构造时一次性构建并复用（JwtParser 不可变、线程安全）；
+ * 仅当 secret / keys / active-key-id / issuer / clockSkewSeconds 配置发生变化时才重建，避免每个请求重复走 builder。
+ * <p>
+ * 密钥轮换：签发时 header 写入 active 密钥的 kid，验签按 kid 从 {@link JwtKeyRing} 直接取密钥；
+ * 仅配置 secret 时 kid 由密钥指纹派生。
+ * 运行期重建（配置刷新 / {@link #reloadKeys()}）时，从配置中消失的密钥在内存中保留为只验签，直到其签发的 token 全部过期；
+ * 该保留不持久化，进程重启后只认配置中的密钥：重新部署时旧密钥须仍在配置中（keys 中保持原 id；
+ * 仅用 secret 时保留旧 secret，新密钥加入 keys 并设为 active），否则已签发的 token 全部失效。
+ * 配置中心刷新会被自动感知；运行期以其他方式修改密钥后调用 {@link #reloadKeys()}。
  */
 public class JwtUtil {
 
@@ -44,14 +69,51 @@ public class JwtUtil {
     public static final String CLAIM_USERNAME = "username";
     public static final String CLAIM_ROLES = "roles";
     public static final String CLAIM_AUD = "aud";
+    public static final String CLAIM_FID = "fid";
 
     private final JwtProps jwtProps;
-    private final SecretKey key;
+
+    /** 当前生效的密钥 + 解析器快照（配置变化时整体替换） */
+    private volatile ParserState state;
+    /** 串行化重建：退役密钥的保留期基于上一份快照计算 */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** 密钥环重建后的回调（如清空已验证 token 缓存） */
+    private final List<Runnable> keyReloadListeners = new CopyOnWriteArrayList<>();
 
     public JwtUtil(JwtProps jwtProps) {
         this.jwtProps = Objects.requireNonNull(jwtProps, "jwtProps must not be null");
-        validateProps(jwtProps);
-        this.key = initKey(jwtProps.getSecret());
+        this.state = buildState(jwtProps, null);
+    }
+
+    // =========================
+    // 密钥环
+    // =========================
+
+    /**
+     * 当前密钥环快照。
+     */
+    public JwtKeyRing keyRing() {
+        return currentState().ring();
+    }
+
+    /**
+     * 按当前配置强制重建密钥环（用于就地修改了 keys 元素、或从外部密钥源更新配置后）。
+     */
+    public void reloadKeys() {
+        rebuildLock.lock();
+        try {
+            state = buildState(jwtProps, state);
+        } finally {
+            rebuildLock.unlock();
+        }
+        fireKeyReload();
+    }
+
+    /**
+     * 注册密钥环重建回调：依赖旧密钥验签结果的缓存应在此时失效。
+     */
+    public void addKeyReloadListener(Runnable listener) {
+        keyReloadListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
     }
 
 
@@ -63,17 +125,31 @@ public class JwtUtil {
      * 生成 Access Token（iss/aud/jti/typ=access，sub=userId）
      */
     public String generateAccessToken(Long userId, String username, Collection<String> roles) {
-        return buildToken(userId, username, roles, TYP_ACCESS, jwtProps.getAccessTtlSeconds());
+        return buildToken(userId, username, roles, TYP_ACCESS, jwtProps.getAccessTtlSeconds(), newJti(), null);
     }
 
     /**
-     * 生成 Refresh Token（iss/aud/jti/typ=refresh，sub=userId）
+     * 生成 Refresh Token（iss/aud/jti/typ=refresh，sub=userId），开启一个新的 token 家族。
      */
     public String generateRefreshToken(Long userId) {
+        return generateRefreshToken(userId, newJti(), newJti());
+    }
+
+    /**
+     * 生成 Refresh Token：rotation 时沿用旧 token 的家族 id，jti 由调用方预先生成（用于推进家族 head）。
+     */
+    public String generateRefreshToken(Long userId, String familyId, String jti) {
         if (!jwtProps.isRefreshEnabled()) {
             throw new IllegalStateException("refresh is disabled by auth.jwt.refresh-enabled=false");
         }
-        return buildToken(userId, null, null, TYP_REFRESH, jwtProps.getRefreshTtlSeconds());
+        return buildToken(userId, null, null, TYP_REFRESH, jwtProps.getRefreshTtlSeconds(), jti, familyId);
+    }
+
+    /**
+     * 生成新的 jti（同时用作家族 id）。
+     */
+    public static String newJti() {
+        return UUID.randomUUID().toString();
     }
 
     /**
@@ -83,26 +159,33 @@ public class JwtUtil {
                               String username,
                               Collection<String> roles,
                               String typ,
-                              long ttlSeconds) {
+                              long ttlSeconds,
+                              String jti,
+                              String familyId) {
         if (userId == null) throw new IllegalArgumentException("userId must not be null");
         if (ttlSeconds <= 0) throw new IllegalArgumentException("ttlSeconds must be > 0");
+        if (!StringUtils.hasText(jti)) throw new IllegalArgumentException("jti must not be blank");
 
         Instant now = Instant.now();
-        String jti = UUID.randomUUID().toString();
+        JwtKeyRing.Entry signer = currentState().ring().active();
 
         // aud 直接写入 payload claim，避免不同 JJWT 版本 audience builder 行为差异
         List<String> audList = new ArrayList<>(jwtProps.getAudience());
 
         var builder = Jwts.builder()
+                .header().keyId(signer.kid()).and()                     // kid
                 .id(jti)                                                // jti
                 .issuer(jwtProps.getIssuer())                           // iss
                 .subject(String.valueOf(userId))                        // sub=userId
                 .claim(CLAIM_AUD, audList)                              // aud (list)
                 .claim(CLAIM_TYP, typ)                                  // typ
                 .issuedAt(Date.from(now))                               // iat
-                .expiration(Date.from(now.plusSeconds(ttlSeconds)))     // exp
-                .signWith(key);
+                .expiration(Date.from(now.plusSeconds(ttlSeconds)));    // exp
+        signWith(builder, signer);
 
+        if (StringUtils.hasText(familyId)) {
+            builder.claim(CLAIM_FID, familyId);
+        }
         // access 才放业务信息；refresh 尽量“瘦”
         if (StringUtils.hasText(username)) {
             builder.claim(CLAIM_USERNAME, username);
@@ -120,21 +203,20 @@ public class JwtUtil {
 
     /**
      * 解析并校验签名、exp、iss（aud/typ 由调用方按需校验）
+     *
+     * @throws TokenValidationException 校验失败；过期为 40102，其余为 40103（不填充堆栈，JJWT 异常作为 cause）
      */
     public Claims parseAndValidate(String token) {
         if (!StringUtils.hasText(token)) {
-            throw new IllegalArgumentException("Token is blank");
+            throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Token is blank");
         }
         try {
-            Jws<Claims> jws = Jwts.parser()
-                    .verifyWith(key)
-                    .requireIssuer(jwtProps.getIssuer())
-                    .clockSkewSeconds(jwtProps.getClockSkewSeconds())
-                    .build()
-                    .parseSignedClaims(token);
+            Jws<Claims> jws = currentState().parser().parseSignedClaims(token);
             return jws.getPayload();
+        } catch (ExpiredJwtException e) {
+            throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_EXPIRED, "Invalid JWT", e);
         } catch (JwtException e) {
-            throw new IllegalArgumentException("Invalid JWT", e);
+            throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Invalid JWT", e);
         }
     }
 
@@ -151,7 +233,7 @@ public class JwtUtil {
         List<String> tokenAud = extractAudience(claims);
         boolean ok = tokenAud.stream().anyMatch(allowed::contains);
         if (!ok) {
-            throw new IllegalArgumentException("Invalid audience");
+            throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Invalid audience");
         }
     }
 
@@ -172,7 +254,7 @@ public class JwtUtil {
     private void validateType(Claims claims, String expected) {
         String typ = claims.get(CLAIM_TYP, String.class);
         if (!expected.equals(typ)) {
-            throw new IllegalArgumentException("Token type is not " + expected);
+            throw new TokenValidationException(AuthErrorCodes.CODE_TOKEN_INVALID, "Token type is not " + expected);
         }
     }
 
@@ -196,6 +278,27 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * 取 roles claim（access token 签发时写入的角色/权限字符串；缺失时返回空列表）
+     */
+    public List<String> getRoles(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(roles instanceof Collection<?> c) || c.isEmpty()) return List.of();
+        List<String> list = new ArrayList<>(c.size());
+        for (Object x : c) {
+            if (x != null) list.add(String.valueOf(x));
+        }
+        return list;
+    }
+
+    /**
+     * 获取 refresh 家族 id（旧版本签发的 token 没有 fid，返回 null）
+     */
+    public String getFamilyId(Claims claims) {
+        Object fid = claims.get(CLAIM_FID);
+        return fid instanceof String f && StringUtils.hasText(f) ? f : null;
+    }
+
     /**
      * 从 Header 提取 token。
      * - 兼容大小写：bearer/Bearer
@@ -220,6 +323,119 @@ public class JwtUtil {
     // =========================
     // 内部辅助方法
     // =========================
+
+    /**
+     * 取当前快照；若 secret/keys/issuer/clockSkew 已被修改则重建。
+     * <p>热路径上仅做引用比较（String.equals 先比较引用，keys 只比较列表引用，配置刷新会整体替换列表），
+     * 不产生额外分配。</p>
+     */
+    private ParserState currentState() {
+        ParserState s = state;
+        if (s.matches(jwtProps)) {
+            return s;
+        }
+        rebuildLock.lock();
+        try {
+            s = state;
+            if (s.matches(jwtProps)) {
+                return s;
+            }
+            s = buildState(jwtProps, s);
+            state = s;
+        } finally {
+            rebuildLock.unlock();
+        }
+        fireKeyReload();
+        return s;
+    }
+
+    private void fireKeyReload() {
+        for (Runnable listener : keyReloadListeners) {
+            listener.run();
+        }
+    }
+
+    private ParserState buildState(JwtProps props, ParserState previous) {
+        validateProps(props);
+        JwtKeyRing ring = buildKeyRing(props, previous == null ? null : previous.ring());
+        JwtParser parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return ring.verificationKey(header.getKeyId(), System.currentTimeMillis());
+                    }
+                })
+                .requireIssuer(props.getIssuer())
+                .clockSkewSeconds(props.getClockSkewSeconds())
+                .build();
+        List<JwtProps.SigningKey> keys = props.getKeys();
+        return new ParserState(props.getSecret(), keys, props.getActiveKeyId(),
+                props.getIssuer(), props.getClockSkewSeconds(), ring, parser);
+    }
+
+    /**
+     * 构建密钥环：secret（kid 由指纹派生，兼作无 kid 旧 token 的密钥）+ keys；
+     * 上一份密钥环中已从配置移除的密钥保留为只验签，最长到 now + token 最长有效期 + 时钟偏移
+     * （仅存在于内存中的上一份密钥环，重启后丢失）。
+     */
+    private JwtKeyRing buildKeyRing(JwtProps props, JwtKeyRing previous) {
+        long now = System.currentTimeMillis();
+        Map<String, JwtKeyRing.Entry> entries = new HashMap<>();
+
+        String legacyKid = null;
+        if (StringUtils.hasText(props.getSecret())) {
+            SecretKey key = initKey(props.getSecret(), "auth.jwt.secret");
+            legacyKid = fingerprint(key);
+            entries.put(legacyKid,
+                    new JwtKeyRing.Entry(legacyKid, JwtKeyRing.ALG_HS256, key, key, JwtKeyRing.NO_EXPIRY));
+        }
+
+        List<JwtProps.SigningKey> keys = props.getKeys() == null ? List.of() : props.getKeys();
+        for (JwtProps.SigningKey k : keys) {
+            if (k == null) continue;
+            if (!StringUtils.hasText(k.getId())) {
+                throw new IllegalArgumentException("auth.jwt.keys[].id must not be blank");
+            }
+            long until = k.getVerifyUntil() == null ? JwtKeyRing.NO_EXPIRY : k.getVerifyUntil().toEpochMilli();
+            if (entries.putIfAbsent(k.getId(), initEntry(k, until)) != null) {
+                throw new IllegalArgumentException("auth.jwt.keys contains duplicate id: " + k.getId());
+            }
+        }
+
+        String activeKid = legacyKid;
+        if (!keys.isEmpty()) {
+            activeKid = props.getActiveKeyId();
+            JwtKeyRing.Entry active = activeKid == null ? null : entries.get(activeKid);
+            if (active == null) {
+                throw new IllegalArgumentException("auth.jwt.active-key-id must reference one of auth.jwt.keys");
+            }
+            if (active.verifyUntilMillis() <= now) {
+                throw new IllegalArgumentException("auth.jwt.active-key-id references a retired key: " + activeKid);
+            }
+            if (active.signingKey() == null) {
+                throw new IllegalArgumentException("auth.jwt.keys[" + activeKid + "].private-key is required for the active key");
+            }
+        }
+
+        if (previous != null) {
+            long retainUntil = now + retentionMillis(props);
+            for (JwtKeyRing.Entry old : previous.entries().values()) {
+                if (entries.containsKey(old.kid()) || old.verifyUntilMillis() <= now) continue;
+                entries.put(old.kid(), old.withVerifyUntil(Math.min(old.verifyUntilMillis(), retainUntil)));
+            }
+            if (legacyKid == null && previous.legacy() != null && entries.containsKey(previous.legacy().kid())) {
+                legacyKid = previous.legacy().kid();
+            }
+        }
+        return new JwtKeyRing(entries, activeKid, legacyKid);
+    }
+
+    /** 已签发 token 的最长剩余有效期 */
+    private static long retentionMillis(JwtProps props) {
+        long ttl = Math.max(props.getAccessTtlSeconds(), props.isRefreshEnabled() ? props.getRefreshTtlSeconds() : 0);
+        return (ttl + props.getClockSkewSeconds()) * 1000;
+    }
+
     private void validateProps(JwtProps props) {
         if (!StringUtils.hasText(props.getIssuer())) {
             throw new IllegalArgumentException("auth.jwt.issuer must not be blank");
@@ -236,20 +452,72 @@ public class JwtUtil {
         if (props.getClockSkewSeconds() < 0) {
             throw new IllegalArgumentException("auth.jwt.clock-skew-seconds must be >= 0");
         }
-        if (!StringUtils.hasText(props.getSecret())) {
+        if (!StringUtils.hasText(props.getSecret()) && (props.getKeys() == null || props.getKeys().isEmpty())) {
             throw new IllegalArgumentException("auth.jwt.secret must not be blank");
         }
     }
 
-    private SecretKey initKey(String secret) {
+    private SecretKey initKey(String secret, String property) {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalArgumentException(property + " must not be blank");
+        }
         byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
         // HS256 推荐至少 32 bytes；不足会导致运行期异常或安全性差
         if (bytes.length < 32) {
-            throw new IllegalArgumentException("auth.jwt.secret length must be at least 32 bytes for HS256");
+            throw new IllegalArgumentException(property + " length must be at least 32 bytes for HS256");
         }
         return Keys.hmacShaKeyFor(bytes);
     }
 
+    /**
+     * 按算法构建密钥环条目：HS256 使用 secret；非对称算法使用 PEM 公钥（必填）与私钥（只验签时可省略）。
+     */
+    private JwtKeyRing.Entry initEntry(JwtProps.SigningKey k, long verifyUntilMillis) {
+        String prefix = "auth.jwt.keys[" + k.getId() + "]";
+        String alg = StringUtils.hasText(k.getAlgorithm()) ? k.getAlgorithm().trim() : JwtKeyRing.ALG_HS256;
+        switch (alg) {
+            case JwtKeyRing.ALG_HS256 -> {
+                SecretKey key = initKey(k.getSecret(), prefix + ".secret");
+                return new JwtKeyRing.Entry(k.getId(), alg, key, key, verifyUntilMillis);
+            }
+            case JwtKeyRing.ALG_RS256, JwtKeyRing.ALG_ES256, JwtKeyRing.ALG_EDDSA -> {
+                if (!StringUtils.hasText(k.getPublicKey())) {
+                    throw new IllegalArgumentException(prefix + ".public-key must not be blank for " + alg);
+                }
+                PublicKey publicKey = PemKeys.publicKey(k.getPublicKey(), alg, prefix + ".public-key");
+                PrivateKey privateKey = StringUtils.hasText(k.getPrivateKey())
+                        ? PemKeys.privateKey(k.getPrivateKey(), alg, prefix + ".private-key")
+                        : null;
+                return new JwtKeyRing.Entry(k.getId(), alg, privateKey, publicKey, verifyUntilMillis);
+            }
+            default -> throw new IllegalArgumentException(prefix + ".algorithm must be one of HS256/RS256/ES256/EdDSA");
+        }
+    }
+
+    /**
+     * 按条目算法签名；HS256 沿用按密钥长度自动选择（与历史行为一致）。
+     */
+    private static void signWith(JwtBuilder builder, JwtKeyRing.Entry signer) {
+        switch (signer.algorithm()) {
+            case JwtKeyRing.ALG_RS256 -> builder.signWith((PrivateKey) signer.signingKey(), Jwts.SIG.RS256);
+            case JwtKeyRing.ALG_ES256 -> builder.signWith((PrivateKey) signer.signingKey(), Jwts.SIG.ES256);
+            case JwtKeyRing.ALG_EDDSA -> builder.signWith((PrivateKey) signer.signingKey(), Jwts.SIG.EdDSA);
+            default -> builder.signWith(signer.signingKey());
+        }
+    }
+
+    /**
+     * 由密钥派生 kid：SHA-256 前 9 字节的 base64url（12 字符），不可逆推密钥。
+     */
+    private static String fingerprint(Key key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 9));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * 提取接收方
      *
@@ -295,5 +563,23 @@ public class JwtUtil {
         return StringUtils.hasText(v) ? List.of(v) : List.of();
     }
 
-
+    /**
+     * 密钥与解析器快照：构建参数 + 构建结果，不可变。
+     */
+    private record ParserState(String secret,
+                               List<JwtProps.SigningKey> keys,
+                               String activeKeyId,
+                               String issuer,
+                               long clockSkewSeconds,
+                               JwtKeyRing ring,
+                               JwtParser parser) {
+
+        boolean matches(JwtProps props) {
+            return clockSkewSeconds == props.getClockSkewSeconds()
+                    && Objects.equals(secret, props.getSecret())
+                    && Objects.equals(activeKeyId, props.getActiveKeyId())
+                    && Objects.equals(issuer, props.getIssuer())
+                    && keys == props.getKeys();
+        }
+    }
 }
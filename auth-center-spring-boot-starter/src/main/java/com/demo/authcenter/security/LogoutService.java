@@ -1,31 +1,70 @@
 package com.demo.authcenter.security;
 
+import com.demo.authcenter.store.AsyncTokenStore;
+import com.demo.authcenter.store.RefreshTokenFamilyStore;
 import com.demo.authcenter.store.TokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
 import io.jsonwebtoken.Claims;
 
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * 登出服务：将 token 的 jti 加入黑名单，使其在到期前不可用。
  *
  * <p>说明：JWT 无状态，登出/踢下线需配合 TokenStore 记录失效状态。</p>
+ *
+ * <p>踢下线：{@link #revokeAll(Long)} 通过 {@link UserRevocationStore} 一次写入使该用户此前签发的所有 token 失效，
+ * 无需知道具体 jti。</p>
+ *
+ * <p>登出时传入的 refresh 若携带 fid，同时吊销其所在家族（该登录会话后续 rotation 出的 refresh 一并失效）。</p>
+ *
+ * <p>access + refresh 经 {@link AsyncTokenStore#blacklistAll} 一次提交（Redis 一次 pipeline 往返、JDBC 同批提交），
+ * 未实现批量接口的 TokenStore 两条并发写入；refresh 家族吊销与之并发执行。
+ * 未指定 executor 时使用 {@link AsyncTokenStore#defaultExecutor()}。</p>
  */
 public class LogoutService {
 
     private final JwtUtil jwtUtil;
-    private final TokenStore tokenStore;
+    private final AsyncTokenStore tokenStore;
+    /** 可选：为 null 时不支持 revokeAll */
+    private final UserRevocationStore revocationStore;
+    /** 可选：为 null 时登出只作废出示的 refresh 本身 */
+    private final RefreshTokenFamilyStore familyStore;
+    /** 执行并发吊销的线程池 */
+    private final Executor executor;
 
-    public LogoutService(JwtUtil jwtUtil, TokenStore tokenStore) {
+    /**
+     * @param revocationStore 可为 null：不支持 revokeAll
+     * @param familyStore     可为 null：登出只作废出示的 refresh 本身
+     * @param executor        可为 null：使用 {@link AsyncTokenStore#defaultExecutor()}
+     */
+    public LogoutService(JwtUtil jwtUtil,
+                         TokenStore tokenStore,
+                         UserRevocationStore revocationStore,
+                         RefreshTokenFamilyStore familyStore,
+                         Executor executor) {
         this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
-        this.tokenStore = Objects.requireNonNull(tokenStore, "tokenStore must not be null");
+        this.executor = executor == null ? AsyncTokenStore.defaultExecutor() : executor;
+        this.tokenStore = AsyncTokenStore.adapt(Objects.requireNonNull(tokenStore, "tokenStore must not be null"),
+                this.executor);
+        this.revocationStore = revocationStore;
+        this.familyStore = familyStore;
     }
 
     /**
      * 仅作废 access token（兼容旧用法）。
      */
     public void logout(String accessToken) {
-        blacklistToken(accessToken, JwtUtil.TYP_ACCESS);
+        Revocation access = resolve(accessToken, JwtUtil.TYP_ACCESS);
+        if (access != null) {
+            tokenStore.blacklist(access.jti(), access.exp());
+        }
     }
 
     /**
@@ -35,24 +74,68 @@ public class LogoutService {
      * @param refreshToken refresh token（Bearer 已剥离，可为空；refresh 未启用时会被忽略）
      */
     public void logout(String accessToken, String refreshToken) {
-        blacklistToken(accessToken, JwtUtil.TYP_ACCESS);
+        Revocation access = resolve(accessToken, JwtUtil.TYP_ACCESS);
 
         // refresh 可能未开启：此时忽略 refreshToken
+        Revocation refresh = null;
+        RuntimeException refreshError = null;
         try {
             // 这里不直接依赖 JwtProps，避免 LogoutService 引入更多配置对象；
             // refresh 是否启用由 jwtUtil.generateRefreshToken 的配置决定，但登出时只要传了就尝试作废。
             if (refreshToken != null && !refreshToken.isBlank()) {
-                blacklistToken(refreshToken, JwtUtil.TYP_REFRESH);
+                refresh = resolve(refreshToken, JwtUtil.TYP_REFRESH);
             }
         } catch (IllegalStateException e) {
             // refresh 体系关闭时，业务可能仍传了 refreshToken；选择忽略更“宽容”
+        } catch (RuntimeException e) {
+            // refresh 非法：access 仍照常作废，之后再抛出
+            refreshError = e;
+        }
+
+        // 家族吊销与黑名单写入互不依赖：并发执行
+        CompletableFuture<Void> family = null;
+        if (familyStore != null && refresh != null) {
+            Revocation r = refresh;
+            family = CompletableFuture.runAsync(() -> familyStore.revoke(jwtUtil.getFamilyId(r.claims()), r.exp()),
+                    executor);
+        }
+
+        Map<String, Instant> entries = new HashMap<>(4);
+        if (access != null) {
+            entries.put(access.jti(), access.exp());
+        }
+        if (refresh != null) {
+            entries.put(refresh.jti(), refresh.exp());
+        }
+        if (!entries.isEmpty()) {
+            tokenStore.blacklistAll(entries);
+        }
+
+        if (family != null) {
+            join(family);
         }
+        if (refreshError != null) {
+            throw refreshError;
+        }
+    }
+
+    /**
+     * 作废该用户在此刻之前签发的所有 access/refresh token（改密码、改角色、强制下线）。
+     */
+    public void revokeAll(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is null");
+        }
+        if (revocationStore == null) {
+            throw new IllegalStateException("User revocation is disabled (auth-center.revocation.enabled=false)");
+        }
+        revocationStore.revokeAllBefore(userId, Instant.now());
     }
 
     /**
-     * 解析 token -> 校验 typ -> jti 入黑名单到 exp。
+     * 解析 token -> 校验 typ -> 取 jti 与 exp；已过期（无需拉黑）时返回 null。
      */
-    private void blacklistToken(String token, String expectedTyp) {
+    private Revocation resolve(String token, String expectedTyp) {
         if (token == null || token.isBlank()) {
             throw new IllegalArgumentException(expectedTyp + " token is blank");
         }
@@ -78,9 +161,22 @@ public class LogoutService {
 
         Instant exp = expDate.toInstant();
         if (exp.isBefore(Instant.now())) {
-            return; // 已过期，无需拉黑
+            return null; // 已过期，无需拉黑
         }
+        return new Revocation(jti, exp, claims);
+    }
+
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
 
-        tokenStore.blacklist(jti, exp);
+    private record Revocation(String jti, Instant exp, Claims claims) {
     }
 }
@@ -3,37 +3,88 @@ package com.demo.authcenter.security;
 import com.demo.authcenter.properties.JwtProps;
 import com.demo.authcenter.security.dto.JwtTokenPair;
 import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.store.RefreshTokenFamilyStore;
 import com.demo.authcenter.store.TokenStore;
+import com.demo.authcenter.store.UserRevocationStore;
 import io.jsonwebtoken.Claims;
 
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Refresh 服务：校验 refresh token 并执行 rotation（旧 refresh 立即作废），返回新的 token 对。
+ *
+ * <p>家族追踪（可选）：同一次登录经 rotation 产生的 refresh 共享 fid。出示已被轮换掉的 refresh 视为重放，
+ * 由 {@link RefreshTokenFamilyStore} 一次吊销整个家族，攻击者与合法客户端手中的 refresh 同时失效。</p>
+ *
+ * <p>宽限窗口（可选，auth-center.jwt.refresh-grace-seconds）：前端多个并发请求同时发现 access 过期、
+ * 用同一个 refresh 调用刷新时，只有第一个真正执行 rotation，其余请求等待并拿到同一对新 token，
+ * 而不是"已使用"失败导致用户被登出。结果按旧 jti 缓存在本节点内，窗口结束后自动失效，
+ * 窗口外的重复使用仍按重放处理。启用家族追踪时默认开启（{@link JwtProps#DEFAULT_REFRESH_GRACE_SECONDS} 秒）；
+ * 负载均衡把重复请求分到其他节点时不受宽限保护，仍会吊销家族，多节点部署需会话粘滞。</p>
  */
 public class RefreshService {
 
+    /** 超过该条目数时，新的 rotation 顺带清理已过期的宽限结果 */
+    private static final int GRACE_SWEEP_THRESHOLD = 1024;
+
     private final JwtUtil jwtUtil;
     private final JwtProps jwtProps;
     private final TokenStore tokenStore;
     private final AuthUserService authUserService;
+    /** 可选：为 null 时不做用户级吊销检查 */
+    private final UserRevocationStore revocationStore;
+    /** 可选：为 null 时不做家族重放检测 */
+    private final RefreshTokenFamilyStore familyStore;
+
+    /** 宽限窗口内的 rotation 结果：旧 jti -> 正在进行/已完成的 rotation */
+    private final ConcurrentHashMap<String, GraceEntry> graceResults = new ConcurrentHashMap<>();
+    private final long graceMillis;
 
+    /**
+     * @param revocationStore 可为 null：不做用户级吊销检查
+     * @param familyStore     可为 null：不做家族重放检测（宽限窗口默认关闭）
+     */
     public RefreshService(JwtUtil jwtUtil,
                           JwtProps jwtProps,
                           TokenStore tokenStore,
-                          AuthUserService authUserService) {
+                          AuthUserService authUserService,
+                          UserRevocationStore revocationStore,
+                          RefreshTokenFamilyStore familyStore) {
         this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
         this.jwtProps = Objects.requireNonNull(jwtProps, "jwtProps must not be null");
         this.tokenStore = Objects.requireNonNull(tokenStore, "tokenStore must not be null");
         this.authUserService = Objects.requireNonNull(authUserService, "authUserService must not be null");
+        this.revocationStore = revocationStore;
+        this.familyStore = familyStore;
+        this.graceMillis = graceSeconds(jwtProps, familyStore) * 1000;
+    }
+
+    /**
+     * 宽限窗口：未配置时随家族追踪开启（重复刷新否则会吊销整个家族，连同赢家刚签发的新 token）。
+     */
+    private static long graceSeconds(JwtProps jwtProps, RefreshTokenFamilyStore familyStore) {
+        Long configured = jwtProps.getRefreshGraceSeconds();
+        if (configured != null) {
+            return Math.max(0, configured);
+        }
+        return familyStore != null ? JwtProps.DEFAULT_REFRESH_GRACE_SECONDS : 0;
     }
 
     /**
      * 执行 refresh rotation：
-     * 1) 校验 refresh（签名/exp/iss + aud + typ=refresh）
-     * 2) rotation（原子）：旧 refresh 的 jti 只能成功作废一次；失败则视为已用/已登出
-     * 3) 重新加载用户信息并签发新的 access + refresh
+     * 1) 校验 refresh（签名/exp/iss + aud + typ=refresh + 用户级吊销）
+     * 2) rotation（原子）：旧 refresh 的 jti 只能成功作废一次；失败则视为已用/已登出，吊销整个家族
+     * 3) 家族推进（原子）：出示的 jti 必须是家族当前 head，否则吊销整个家族
+     * 4) 重新加载用户信息并签发新的 access + refresh
+     *
+     * <p>先作废旧 jti 再推进家族：作废失败（存储异常）时 head 仍指向出示的 jti，客户端重试不会被误判为重放；
+     * 反过来则 head 已指向从未签发的 jti，重试即吊销家族。</p>
+     *
+     * <p>开启宽限窗口时，同一旧 jti 在窗口内的重复调用直接返回第一次 rotation 的结果（并发调用等待其完成）。</p>
      */
     public JwtTokenPair rotate(String refreshToken) {
         if (!jwtProps.isRefreshEnabled()) {
@@ -56,6 +107,10 @@ public class RefreshService {
         if (userId == null) {
             throw new IllegalArgumentException("Missing sub(userId)");
         }
+        // 用户级吊销：先于 rotation 检查，已吊销的 refresh 不消耗 jti
+        if (revocationStore != null && revocationStore.isRevoked(userId, claims.getIssuedAt())) {
+            throw new IllegalArgumentException("Refresh token revoked");
+        }
 
         var expDate = claims.getExpiration();
         if (expDate == null) {
@@ -69,19 +124,93 @@ public class RefreshService {
         if (exp.isBefore(Instant.now())) {
             throw new IllegalArgumentException("Refresh token expired");
         }
+
+        if (graceMillis <= 0) {
+            return doRotate(claims, oldJti, userId, exp);
+        }
+
+        long now = System.currentTimeMillis();
+        GraceEntry mine = new GraceEntry(new CompletableFuture<>(), now + graceMillis);
+        GraceEntry entry = graceResults.compute(oldJti,
+                (jti, cur) -> cur != null && cur.expiresAtMillis > now ? cur : mine);
+
+        if (entry != mine) {
+            // 窗口内的重复请求：家族若已被吊销（登出/检测到重放）则不再返回缓存结果
+            if (familyStore != null && familyStore.isRevoked(jwtUtil.getFamilyId(claims))) {
+                throw new IllegalArgumentException("Refresh token family revoked");
+            }
+            return await(entry.result);
+        }
+
+        if (graceResults.size() > GRACE_SWEEP_THRESHOLD) {
+            graceResults.values().removeIf(e -> e.expiresAtMillis <= now);
+        }
+        try {
+            JwtTokenPair pair = doRotate(claims, oldJti, userId, exp);
+            mine.result.complete(pair);
+            return pair;
+        } catch (Throwable e) {
+            // 失败不缓存：等待中的请求得到同样的异常（含 Error，否则会永远阻塞），之后的请求重新走完整流程
+            graceResults.remove(oldJti, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private JwtTokenPair doRotate(Claims claims, String oldJti, Long userId, Instant exp) {
+        // 旧版本签发的 refresh 没有 fid：从本次 rotation 起开启新家族
+        String familyId = jwtUtil.getFamilyId(claims);
+        if (familyId == null) {
+            familyId = JwtUtil.newJti();
+        }
+        String newJti = JwtUtil.newJti();
+        Instant familyExp = Instant.now()
+                .plusSeconds(jwtProps.getRefreshTtlSeconds() + jwtProps.getClockSkewSeconds());
+
         boolean rotated = tokenStore.blacklistIfAbsent(oldJti, exp);
         if (!rotated) {
+            // 已轮换/已登出的 refresh 再次出示（含家族记录丢失后的旧 token）：视为重放，吊销家族
+            if (familyStore != null) {
+                familyStore.revoke(familyId, familyExp);
+            }
             throw new IllegalArgumentException("Refresh token already used/blacklisted");
         }
 
+        if (familyStore != null) {
+            RefreshTokenFamilyStore.Result result = familyStore.advance(familyId, oldJti, newJti, familyExp);
+            if (result == RefreshTokenFamilyStore.Result.REUSED) {
+                throw new IllegalArgumentException("Refresh token reuse detected, token family revoked");
+            }
+            if (result == RefreshTokenFamilyStore.Result.REVOKED) {
+                throw new IllegalArgumentException("Refresh token family revoked");
+            }
+        }
+
         var user = authUserService.loadByUserId(userId);
         if (user == null) {
             throw new IllegalArgumentException("User not found: " + userId);
         }
 
         String newAccess = jwtUtil.generateAccessToken(user.userId(), user.username(), user.authorities());
-        String newRefresh = jwtUtil.generateRefreshToken(user.userId());
+        String newRefresh = jwtUtil.generateRefreshToken(user.userId(), familyId, newJti);
 
         return new JwtTokenPair(newAccess, newRefresh);
     }
+
+    private static JwtTokenPair await(CompletableFuture<JwtTokenPair> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private record GraceEntry(CompletableFuture<JwtTokenPair> result, long expiresAtMillis) {
+    }
 }
@@ -0,0 +1,145 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.exception.TokenValidationException;
+import io.jsonwebtoken.PrematureJwtException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已拒绝 Token 缓存（可选，{@link VerifiedTokenCache} 的反向版本）。
+ *
+ * <p>同一个格式错误 / 签名错误 / 已过期的 token 被反复重放时，命中缓存即按上次的错误码拒绝，
+ * 跳过 Base64 解码、验签与异常构造。</p>
+ *
+ * <p>约定：
+ * <ul>
+ *   <li>key：token 的 SHA-256 摘要（见 {@link TokenDigest}），不保存原始 token</li>
+ *   <li>value：验签 / aud / typ / 必需 claim 校验失败时的错误码（{@code AuthErrorCodes} 401xx）</li>
+ *   <li>有效期：写入时间 + ttl（aud 等配置变更后最多延迟一个 ttl 生效）</li>
+ *   <li>容量：超过 maxSize 时先清理过期项，仍不足则随机淘汰一批（约 1/8）；
+ *       与已验证缓存分开存放，垃圾 token 洪泛不会挤掉正常 token 的缓存</li>
+ * </ul>
+ *
+ * <p>注意：只缓存 token 自身的校验结果；黑名单、用户级吊销、用户不存在等与状态相关的拒绝不进入本缓存。
+ * nbf 尚未生效（签发方时钟超前）的拒绝同样不缓存：token 稍后即会生效，见 {@link #isCacheable}。</p>
+ *
+ * <p>调用方同时使用 {@link VerifiedTokenCache} 时，可先计算一次 {@link TokenDigest#of} 再调用 *ByDigest 方法，避免重复摘要。</p>
+ */
+public class RejectedTokenCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RejectedTokenCache(int maxSize, long ttlSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 查询 token 上次被拒绝时的错误码；未命中或已过期返回 0。
+     */
+    public int get(String token) {
+        return getByDigest(TokenDigest.of(token));
+    }
+
+    /**
+     * 按 {@link TokenDigest#of} 计算好的摘要查询。
+     */
+    public int getByDigest(String key) {
+        Entry e = entries.get(key);
+        if (e == null) {
+            misses.increment();
+            return 0;
+        }
+        if (e.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, e);
+            misses.increment();
+            return 0;
+        }
+        hits.increment();
+        return e.code;
+    }
+
+    /**
+     * 记录 token 校验失败的错误码。
+     */
+    public void put(String token, int code) {
+        putByDigest(TokenDigest.of(token), code);
+    }
+
+    /**
+     * 按 {@link TokenDigest#of} 计算好的摘要记录。
+     */
+    public void putByDigest(String key, int code) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(code, now + ttlMillis));
+    }
+
+    /**
+     * 校验失败是否可以缓存：nbf 超出时钟偏移容忍（{@link PrematureJwtException}）时不缓存，
+     * 否则签发方时钟略快时，合法 token 在生效后仍会被拒绝一个 ttl。
+     */
+    public static boolean isCacheable(TokenValidationException e) {
+        return !(e.getCause() instanceof PrematureJwtException);
+    }
+
+    /** 清空缓存（如密钥/issuer 变更后，新密钥可能让之前验签失败的 token 变为有效）。 */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 容量淘汰：先移除过期项；若仍超过上限，按迭代顺序（近似随机）移除约 1/8，
+     * 避免满载后每次写入都触发全量扫描。
+     */
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.expiresAtMillis <= now);
+        if (entries.size() < maxSize) return;
+
+        int toRemove = Math.max(1, maxSize >>> 3);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (toRemove > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            toRemove--;
+            evictions.increment();
+        }
+    }
+
+    private record Entry(int code, long expiresAtMillis) {
+    }
+}
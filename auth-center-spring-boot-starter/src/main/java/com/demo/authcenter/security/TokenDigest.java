@@ -0,0 +1,40 @@
+package com.demo.authcenter.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Token 摘要工具：将 compact JWT 映射为定长 key（SHA-256 + Base64URL，43 字符）。
+ *
+ * <p>用途：作为本地缓存的 key，避免直接以原始 token 作为 key 长期驻留内存，
+ * 同时把变长（通常数百字节）的 token 压缩为定长字符串。</p>
+ *
+ * <p>MessageDigest 非线程安全，按线程复用实例，避免每次 getInstance 的查找开销。</p>
+ */
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenDigest() {}
+
+    /**
+     * 计算 token 的摘要 key。
+     */
+    public static String of(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        // 按 UTF-8 编码：畸形 token 可能含非 ASCII 字符，US_ASCII 会把它们统一替换为 '?' 而产生相同摘要
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        return ENCODER.encodeToString(hash);
+    }
+}
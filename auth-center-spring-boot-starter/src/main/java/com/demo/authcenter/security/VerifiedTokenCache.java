@@ -0,0 +1,138 @@
+package com.demo.authcenter.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已验证 Access Token 缓存（可选）。
+ *
+ * <p>同一个 access token 在有效期内会被反复携带；命中缓存时可跳过 Base64 解码、HMAC 验签与 claims 解析。</p>
+ *
+ * <p>约定：
+ * <ul>
+ *   <li>key：token 的 SHA-256 摘要（见 {@link TokenDigest}），不保存原始 token</li>
+ *   <li>value：已通过签名/exp/iss + aud + typ=access 校验的 Claims</li>
+ *   <li>有效期：min(token exp, 写入时间 + maxTtl)，到期后视为未命中并移除</li>
+ *   <li>容量：超过 maxSize 时先清理过期项，仍不足则随机淘汰一批（约 1/8）</li>
+ * </ul>
+ *
+ * <p>注意：本缓存只缓存“验签结果”，不缓存 token 状态；黑名单（TokenStore.isBlacklisted）
+ * 仍由调用方在每次请求时检查，登出语义不变。</p>
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final long maxTtlMillis;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize, long maxTtlSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        if (maxTtlSeconds <= 0) {
+            throw new IllegalArgumentException("maxTtlSeconds must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+    }
+
+    /**
+     * 查询已验证的 Claims；未命中或已过期返回 null。
+     */
+    public Claims get(String token) {
+        return getByDigest(TokenDigest.of(token));
+    }
+
+    /**
+     * 按 {@link TokenDigest#of} 计算好的摘要查询（与 {@link RejectedTokenCache} 共用同一次摘要）。
+     */
+    public Claims getByDigest(String key) {
+        Entry e = entries.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, e);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e.claims;
+    }
+
+    /**
+     * 写入已完成全部校验的 Claims；无 exp 或已过期的不缓存。
+     */
+    public void put(String token, Claims claims) {
+        putByDigest(TokenDigest.of(token), claims);
+    }
+
+    /**
+     * 按 {@link TokenDigest#of} 计算好的摘要写入。
+     */
+    public void putByDigest(String key, Claims claims) {
+        var exp = claims.getExpiration();
+        if (exp == null) return;
+
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(exp.getTime(), now + maxTtlMillis);
+        if (expiresAt <= now) return;
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(claims, expiresAt));
+    }
+
+    /** 清空缓存（如密钥/issuer 变更后）。 */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 容量淘汰：先移除过期项；若仍超过上限，按迭代顺序（近似随机）移除约 1/8，
+     * 避免满载后每次写入都触发全量扫描。
+     */
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.expiresAtMillis <= now);
+        if (entries.size() < maxSize) return;
+
+        int toRemove = Math.max(1, maxSize >>> 3);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (toRemove > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            toRemove--;
+            evictions.increment();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+}
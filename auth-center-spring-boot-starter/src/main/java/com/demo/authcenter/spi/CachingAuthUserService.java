@@ -0,0 +1,180 @@
+package com.demo.authcenter.spi;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AuthUserService} 缓存装饰器：缓存 {@link #loadByUserId(Long)} 的结果。
+ *
+ * <p>由 Starter 在 {@code auth-center.user-cache.enabled=true} 时自动包裹业务方的 AuthUserService Bean，
+ * 业务方也可手动构造使用。</p>
+ *
+ * <p>行为约定：
+ * <ul>
+ *   <li>仅缓存 loadByUserId；loadByUsername（登录）直接透传</li>
+ *   <li>TTL 到期后重新加载；超过 maxSize 时先清理过期项，仍不足则随机淘汰一批（约 1/8）</li>
+ *   <li>单飞加载：同一 userId 并发未命中时只触发一次 delegate 调用，其余请求等待同一结果</li>
+ *   <li>null 结果与异常不缓存（异常会传播给所有等待者）</li>
+ * </ul>
+ *
+ * <p>用户角色/权限变更时，业务方应调用 {@link #evict(Long)}（或 {@link #evictAll()}）使缓存立即失效；
+ * 与进行中的加载并发时，被驱逐前发起的加载结果不会写回缓存。</p>
+ */
+public class CachingAuthUserService implements AuthUserService {
+
+    private final AuthUserService delegate;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<AuthUser>> inFlight = new ConcurrentHashMap<>();
+
+    /** 驱逐代数：加载期间若发生过驱逐，则加载结果不写回 */
+    private final AtomicLong evictEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public CachingAuthUserService(AuthUserService delegate, long ttlSeconds, int maxSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds must be > 0");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public AuthUser loadByUsername(String username) {
+        return delegate.loadByUsername(username);
+    }
+
+    @Override
+    public AuthUser loadByUserId(Long userId) {
+        if (userId == null) {
+            return delegate.loadByUserId(null);
+        }
+
+        Entry e = cache.get(userId);
+        if (e != null && e.expiresAtMillis > System.currentTimeMillis()) {
+            hits.increment();
+            return e.user;
+        }
+        misses.increment();
+
+        CompletableFuture<AuthUser> mine = new CompletableFuture<>();
+        CompletableFuture<AuthUser> existing = inFlight.putIfAbsent(userId, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            long epoch = evictEpoch.get();
+            loads.increment();
+            AuthUser user = delegate.loadByUserId(userId);
+            if (user != null) {
+                store(userId, user, epoch);
+            }
+            mine.complete(user);
+            return user;
+        } catch (Throwable ex) {
+            // 含 Error 与未声明的受检异常：必须完成 future，否则等待中的并发请求永远阻塞
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(userId, mine);
+        }
+    }
+
+    /**
+     * 驱逐指定用户（角色/权限变更、禁用账号时调用）。
+     */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        evictEpoch.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    /**
+     * 驱逐全部缓存。
+     */
+    public void evictAll() {
+        evictEpoch.incrementAndGet();
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /** 实际调用 delegate 的次数（单飞合并后的加载数） */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public AuthUserService getDelegate() {
+        return delegate;
+    }
+
+    private void store(Long userId, AuthUser user, long epochAtStart) {
+        long now = System.currentTimeMillis();
+        if (cache.size() >= maxSize) {
+            evictForCapacity(now);
+        }
+        Entry entry = new Entry(user, now + ttlMillis);
+        cache.put(userId, entry);
+        // 加载期间发生过驱逐：撤销本次写入（驱逐若发生在此检查之后，其 remove 同样会清掉本条）
+        if (evictEpoch.get() != epochAtStart) {
+            cache.remove(userId, entry);
+        }
+    }
+
+    private void evictForCapacity(long now) {
+        cache.values().removeIf(e -> e.expiresAtMillis <= now);
+        if (cache.size() < maxSize) return;
+
+        int toRemove = Math.max(1, maxSize >>> 3);
+        Iterator<Map.Entry<Long, Entry>> it = cache.entrySet().iterator();
+        while (toRemove > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            toRemove--;
+        }
+    }
+
+    private static AuthUser await(CompletableFuture<AuthUser> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry(AuthUser user, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.authcenter.spi;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Objects;
+
+/**
+ * {@link AuthUserService} 的响应式版本：WebFlux 鉴权链路按 userId 加载用户，实现不得阻塞调用线程。
+ *
+ * <p>业务未提供该 Bean 时，Starter 将 {@link AuthUserService} 经 {@link #adapt(AuthUserService, Scheduler)}
+ * 桥接到 scheduler 上执行。</p>
+ */
+public interface ReactiveAuthUserService {
+
+    /**
+     * 鉴权阶段：根据 userId 加载用户信息；用户不存在时返回空 Mono。
+     */
+    Mono<AuthUser> loadByUserId(Long userId);
+
+    /**
+     * 桥接阻塞 AuthUserService：每次调用切换到 scheduler 执行。
+     */
+    static ReactiveAuthUserService adapt(AuthUserService delegate, Scheduler scheduler) {
+        Objects.requireNonNull(delegate, "delegate must not be null");
+        Objects.requireNonNull(scheduler, "scheduler must not be null");
+        return userId -> Mono.fromCallable(() -> delegate.loadByUserId(userId)).subscribeOn(scheduler);
+    }
+}
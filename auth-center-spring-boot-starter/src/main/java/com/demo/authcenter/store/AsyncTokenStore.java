@@ -0,0 +1,113 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link TokenStore} 扩展：异步单条操作 + 批量操作。
+ *
+ * <p>远端实现应覆盖批量方法，在一次往返内完成（Redis pipeline、JDBC 同批提交 / IN 查询），
+ * 并覆盖异步方法使其不阻塞调用线程（内置 Redis / JDBC / 近端缓存实现均已覆盖）。
+ * 默认实现逐条调用同步方法，异步方法在调用线程执行后返回已完成的 future，只适用于无 I/O 的实现。</p>
+ *
+ * <p>未实现本接口、或未覆盖异步方法的 TokenStore 可通过 {@link #adapt(TokenStore, Executor)} 获得非阻塞的 API。</p>
+ */
+public interface AsyncTokenStore extends TokenStore {
+
+    /**
+     * 异步拉黑（语义同 {@link #blacklist}）。
+     */
+    default CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+        try {
+            blacklist(jti, expiresAt);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步原子拉黑（语义同 {@link #blacklistIfAbsent}）。
+     */
+    default CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+        try {
+            return CompletableFuture.completedFuture(blacklistIfAbsent(jti, expiresAt));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步查询（语义同 {@link #isBlacklisted}）。
+     */
+    default CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+        try {
+            return CompletableFuture.completedFuture(isBlacklisted(jti));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 批量拉黑：jti -> expiresAt（已过期的条目忽略）。
+     */
+    default void blacklistAll(Map<String, Instant> entries) {
+        entries.forEach(this::blacklist);
+    }
+
+    /**
+     * 批量查询。
+     *
+     * @return jtis 中已被拉黑的子集
+     */
+    default Set<String> areBlacklisted(Collection<String> jtis) {
+        Set<String> hit = new HashSet<>();
+        for (String jti : jtis) {
+            if (isBlacklisted(jti)) {
+                hit.add(jti);
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * 为任意 TokenStore 提供本接口。
+     *
+     * <p>已实现本接口且覆盖了全部异步方法时原样返回；否则包裹为适配器：异步方法切换到 executor 执行，
+     * 批量方法优先使用 delegate 自身的批量实现（一次往返），没有时逐条并发提交。</p>
+     *
+     * @param executor 执行阻塞调用的线程池；为 null 时在调用线程内顺序执行（适用于内存实现）
+     */
+    static AsyncTokenStore adapt(TokenStore delegate, Executor executor) {
+        if (delegate instanceof AsyncTokenStore async && (executor == null || overridesAsync(async))) {
+            return async;
+        }
+        return new TokenStoreAsyncAdapter(delegate, executor);
+    }
+
+    /**
+     * 远端 TokenStore 异步调用的默认执行器：Starter 内部共享的有界守护线程池，首次使用时创建。
+     */
+    static Executor defaultExecutor() {
+        return StoreAsyncExecutor.get();
+    }
+
+    /**
+     * 三个异步方法是否都由实现类覆盖（任一沿用默认的内联实现即视为未覆盖）。
+     */
+    private static boolean overridesAsync(AsyncTokenStore store) {
+        try {
+            Class<?> type = store.getClass();
+            return type.getMethod("blacklistAsync", String.class, Instant.class).getDeclaringClass() != AsyncTokenStore.class
+                    && type.getMethod("blacklistIfAbsentAsync", String.class, Instant.class).getDeclaringClass() != AsyncTokenStore.class
+                    && type.getMethod("isBlacklistedAsync", String.class).getDeclaringClass() != AsyncTokenStore.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.authcenter.store;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 阻塞 {@link TokenStore} -> {@link ReactiveTokenStore} 适配器。
+ *
+ * <p>内存实现（无 I/O）内联执行，避免线程切换；远端实现切换到 scheduler 执行，不占用事件循环线程。</p>
+ */
+final class BlockingTokenStoreAdapter implements ReactiveTokenStore {
+
+    private final TokenStore delegate;
+    /** 为 null 时内联执行 */
+    private final Scheduler scheduler;
+
+    BlockingTokenStoreAdapter(TokenStore delegate, Scheduler scheduler) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Void> blacklist(String jti, Instant expiresAt) {
+        return offload(Mono.fromRunnable(() -> delegate.blacklist(jti, expiresAt)));
+    }
+
+    @Override
+    public Mono<Boolean> blacklistIfAbsent(String jti, Instant expiresAt) {
+        return offload(Mono.fromCallable(() -> delegate.blacklistIfAbsent(jti, expiresAt)));
+    }
+
+    @Override
+    public Mono<Boolean> isBlacklisted(String jti) {
+        return offload(Mono.fromCallable(() -> delegate.isBlacklisted(jti)));
+    }
+
+    private <T> Mono<T> offload(Mono<T> mono) {
+        return scheduler == null ? mono : mono.subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,94 @@
+package com.demo.authcenter.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全、只增不删的 Bloom Filter（字符串 key）。
+ *
+ * <p>按期望元素数 n 与目标误判率 p 计算位数 m = -n·ln(p)/(ln2)² 与哈希次数 k = m/n·ln2；
+ * k 个下标由一次 64 位哈希拆分为 h1/h2 后按 h1 + i·h2 生成（Kirsch–Mitzenmacher）。</p>
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLong insertions = new AtomicLong();
+
+    BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be > 0");
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, (bits + 63) & ~63L);
+        if ((bits >>> 6) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large");
+        }
+        this.numBits = bits;
+        this.numHashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+    }
+
+    void put(String key) {
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+            int w = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long cur = words.get(w);
+            while ((cur & mask) == 0 && !words.compareAndSet(w, cur, cur | mask)) {
+                cur = words.get(w);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    boolean mightContain(String key) {
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 写入次数（含重复写入，近似元素数） */
+    long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * 按当前写入量估算的误判率：(1 - e^(-k·n/m))^k。
+     */
+    double expectedFpp() {
+        double n = insertions.get();
+        return Math.pow(1 - Math.exp(-numHashes * n / numBits), numHashes);
+    }
+
+    /**
+     * FNV-1a（按 char）+ murmur3 fmix64 混淆，无分配。
+     */
+    private static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,309 @@
+package com.demo.authcenter.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 远端 TokenStore 的本地近端缓存：用 Bloom Filter 过滤"一定不在黑名单"的 jti。
+ *
+ * <p>绝大多数请求携带的 token 都未被拉黑；Bloom Filter 判定不存在时直接返回 false，
+ * 省去一次远端往返（Redis EXISTS 等）。判定可能存在时再查远端，误判只多一次远端查询，不会误拒。</p>
+ *
+ * <h3>同步模型</h3>
+ * <ul>
+ *   <li>本节点写入：先写远端，再写本地 Filter，写完即对本节点可见</li>
+ *   <li>其他节点写入：每隔 syncInterval 通过 {@link EnumerableTokenStore#forEachBlacklisted} 全量重建 Filter，
+ *       同时丢弃已过期 jti 的位（Bloom Filter 本身不支持删除）</li>
+ *   <li>也可由业务方订阅推送（如 Redis Pub/Sub）后调用 {@link #notifyBlacklisted(String)} 立即生效</li>
+ *   <li>首次同步完成前、或同步失败后，所有查询直接走远端（fail-safe），直到下一次同步成功</li>
+ * </ul>
+ *
+ * <p><b>注意：</b>跨节点登出的生效延迟上限为 syncInterval（未接入推送时）。
+ * 对"登出后立即全网失效"有强要求的场景，应缩短间隔或接入推送。</p>
+ *
+ * <p>容量：按 expectedInsertions / fpp 预分配位数组（1000 万 jti @1% 约 12MB）；
+ * 实际数量超过预期时误判率上升（见 {@link #expectedFpp()}），但结果仍然正确。</p>
+ */
+public class BloomFilterTokenStore implements AsyncTokenStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomFilterTokenStore.class);
+
+    private final EnumerableTokenStore delegate;
+    /** delegate 的异步 / 批量视图：未覆盖异步方法时在 {@link AsyncTokenStore#defaultExecutor()} 上执行 */
+    private final AsyncTokenStore remote;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 读锁：本地写入（Filter + journal）；写锁：同步时切换 journal / Filter，持有时间极短。
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    /** 串行化 sync（定时任务与手动调用） */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    /** 当前同步周期内的本地写入，用于补齐扫描期间可能漏掉的 jti */
+    private Queue<String> journal = new ConcurrentLinkedQueue<>();
+    /** 最近一次同步是否成功；false 时全部查询走远端 */
+    private volatile boolean ready;
+
+    private final AtomicLong savedLookups = new AtomicLong();
+    private final AtomicLong remoteLookups = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong syncFailures = new AtomicLong();
+
+    public BloomFilterTokenStore(EnumerableTokenStore delegate,
+                                 long expectedInsertions,
+                                 double fpp,
+                                 Duration syncInterval) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.remote = AsyncTokenStore.adapt(delegate, AsyncTokenStore.defaultExecutor());
+        Objects.requireNonNull(syncInterval, "syncInterval must not be null");
+        if (syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("syncInterval must be > 0");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.filter = new BloomFilter(expectedInsertions, fpp);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-bloom-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodMillis = syncInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        delegate.blacklist(jti, expiresAt);
+        addLocal(jti);
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        boolean ok = delegate.blacklistIfAbsent(jti, expiresAt);
+        if (ok) {
+            addLocal(jti);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return false;
+
+        if (ready && !filter.mightContain(jti)) {
+            savedLookups.incrementAndGet();
+            return false;
+        }
+        remoteLookups.incrementAndGet();
+        boolean hit = delegate.isBlacklisted(jti);
+        if (!hit && ready) {
+            falsePositives.incrementAndGet();
+        }
+        return hit;
+    }
+
+    @Override
+    public CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+        return remote.blacklistAsync(jti, expiresAt).thenRun(() -> addLocal(jti));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+        return remote.blacklistIfAbsentAsync(jti, expiresAt).thenApply(ok -> {
+            if (ok) {
+                addLocal(jti);
+            }
+            return ok;
+        });
+    }
+
+    /**
+     * Filter 判定不存在时直接返回已完成的 future，否则异步查询远端。
+     */
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+        if (jti == null || jti.isBlank()) return CompletableFuture.completedFuture(false);
+
+        boolean filtering = ready;
+        if (filtering && !filter.mightContain(jti)) {
+            savedLookups.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        }
+        remoteLookups.incrementAndGet();
+        return remote.isBlacklistedAsync(jti).thenApply(hit -> {
+            if (!hit && filtering) {
+                falsePositives.incrementAndGet();
+            }
+            return hit;
+        });
+    }
+
+    /**
+     * 批量拉黑：远端支持批量时一次往返写入，再写本地 Filter。
+     */
+    @Override
+    public void blacklistAll(Map<String, Instant> entries) {
+        remote.blacklistAll(entries);
+        entries.keySet().forEach(this::addLocal);
+    }
+
+    /**
+     * 批量查询：Filter 判定不存在的直接排除，其余一次性交给远端。
+     */
+    @Override
+    public Set<String> areBlacklisted(Collection<String> jtis) {
+        boolean filtering = ready;
+        List<String> candidates = new ArrayList<>(jtis.size());
+        for (String jti : jtis) {
+            if (jti == null || jti.isBlank()) continue;
+            if (filtering && !filter.mightContain(jti)) {
+                savedLookups.incrementAndGet();
+            } else {
+                candidates.add(jti);
+            }
+        }
+        if (candidates.isEmpty()) return Set.of();
+
+        remoteLookups.addAndGet(candidates.size());
+        Set<String> hit = remote.areBlacklisted(candidates);
+        if (filtering) {
+            falsePositives.addAndGet(candidates.size() - hit.size());
+        }
+        return hit;
+    }
+
+    /**
+     * 外部推送入口：其他节点拉黑 jti 后（如经 Redis Pub/Sub 通知），调用本方法使本节点立即可见。
+     */
+    public void notifyBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return;
+        addLocal(jti);
+    }
+
+    /**
+     * 立即从远端全量重建 Filter（同步执行）。
+     *
+     * <p>步骤：① 切换 journal；② 无锁扫描远端写入新 Filter；③ 持写锁把 ① 之后的本地写入补入新 Filter 并替换。
+     * 本地写入先落远端再入 journal，因此 ① 之前的写入一定已在远端、会被扫描到；① 之后的写入由 journal 补齐。</p>
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            doSync();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void doSync() {
+        BloomFilter next = new BloomFilter(expectedInsertions, fpp);
+        Queue<String> since = new ConcurrentLinkedQueue<>();
+
+        swapLock.writeLock().lock();
+        try {
+            journal = since;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        delegate.forEachBlacklisted(next::put);
+
+        swapLock.writeLock().lock();
+        try {
+            for (String jti : since) {
+                next.put(jti);
+            }
+            journal = new ConcurrentLinkedQueue<>();
+            filter = next;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            ready = false;
+            syncFailures.incrementAndGet();
+            log.warn("[AuthCenter] Bloom filter sync failed, falling back to remote lookups: {}", e.toString());
+        }
+    }
+
+    private void addLocal(String jti) {
+        if (jti == null || jti.isBlank()) return;
+        swapLock.readLock().lock();
+        try {
+            filter.put(jti);
+            journal.add(jti);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /** 被 Filter 直接判定为"不在黑名单"、省去的远端查询次数 */
+    public long savedLookupCount() {
+        return savedLookups.get();
+    }
+
+    /** 实际发往远端的查询次数（含同步未就绪时的查询） */
+    public long remoteLookupCount() {
+        return remoteLookups.get();
+    }
+
+    /** Filter 判定可能存在、远端确认不存在的次数 */
+    public long falsePositiveCount() {
+        return falsePositives.get();
+    }
+
+    public long syncFailureCount() {
+        return syncFailures.get();
+    }
+
+    /** 按当前 Filter 写入量估算的误判率 */
+    public double expectedFpp() {
+        return filter.expectedFpp();
+    }
+
+    /** 当前 Filter 写入次数（近似黑名单条目数） */
+    public long approximateSize() {
+        return filter.insertions();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public EnumerableTokenStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
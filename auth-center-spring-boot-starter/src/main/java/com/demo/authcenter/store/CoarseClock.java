@@ -0,0 +1,20 @@
+package com.demo.authcenter.store;
+
+/**
+ * 粗粒度时钟：由后台线程周期性刷新的毫秒时间戳（Starter 内部使用）。
+ *
+ * <p>热路径只读一个 volatile long，避免每次调用 {@link System#currentTimeMillis()}；
+ * 误差不超过刷新间隔，对秒级精度的 token 过期判断无影响。</p>
+ */
+final class CoarseClock {
+
+    private volatile long now = System.currentTimeMillis();
+
+    long millis() {
+        return now;
+    }
+
+    void tick() {
+        now = System.currentTimeMillis();
+    }
+}
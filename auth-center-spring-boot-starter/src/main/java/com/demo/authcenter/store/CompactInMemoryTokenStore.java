@@ -0,0 +1,392 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 紧凑内存 TokenStore：以 UUID 的两个 long 为 key 的开放寻址原始类型表，单机使用。
+ *
+ * <p>jti 由 {@code UUID.randomUUID().toString()} 生成（36 字符）。{@link InMemoryTokenStore}
+ * 每条约 150 字节（String + char[] + 装箱 Long + 节点）；本实现每条固定 3 个 long（24 字节），
+ * 按负载因子 ≤ 0.75 计约 32~48 字节，且不产生任何对象，GC 无需扫描。</p>
+ *
+ * <h3>数据结构</h3>
+ * <ul>
+ *   <li>单个 long[]，每槽 3 个 long：msb / lsb / expiresAtMillis；exp == 0 表示空槽</li>
+ *   <li>线性探测；删除采用 backward-shift（不留墓碑），探测链始终紧凑</li>
+ *   <li>容量为 2 的幂，负载超过 0.75 时翻倍扩容，扩容时顺带丢弃已过期条目</li>
+ *   <li>jti 解析由 {@link UuidCodec} 完成，不分配对象；非规范 UUID 的 jti 走 ConcurrentHashMap 兜底</li>
+ * </ul>
+ *
+ * <h3>并发</h3>
+ * <p>{@link StampedLock}：查询走乐观读（无锁、无 CAS），与写入冲突时退化为读锁；写入持写锁。</p>
+ *
+ * <h3>过期与容量</h3>
+ * <p>后台线程每 {@value #SWEEP_INTERVAL_SECONDS} 秒顺序扫描一遍数组删除到期条目（顺序访问 long[]，百万级约数毫秒）。
+ * 条目数达到 maxEntries 时先就地清理过期条目，仍满则抛出 {@link IllegalStateException}（与 InMemoryTokenStore 一致）。</p>
+ */
+public class CompactInMemoryTokenStore implements TokenStore, AutoCloseable {
+
+    private static final int STRIDE = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long SWEEP_INTERVAL_SECONDS = 30;
+
+    private final StampedLock lock = new StampedLock();
+    private final int maxEntries;
+
+    /** 槽位数组，长度 = capacity * STRIDE */
+    private long[] table;
+    private int capacity;
+    private int size;
+
+    /** 非规范 UUID jti 的兜底：jti -> expiresAtMillis */
+    private final ConcurrentHashMap<String, Long> fallback = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper;
+
+    public CompactInMemoryTokenStore() {
+        this(InMemoryTokenStore.DEFAULT_MAX_ENTRIES);
+    }
+
+    public CompactInMemoryTokenStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.maxEntries = maxEntries;
+        this.capacity = INITIAL_CAPACITY;
+        this.table = new long[capacity * STRIDE];
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-token-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly,
+                SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        long expMillis = toExpMillisOrNeg(jti, expiresAt);
+        if (expMillis < 0) return;
+
+        if (!UuidCodec.isCanonical(jti)) {
+            checkCapacity(jti);
+            fallback.put(jti, expMillis);
+            return;
+        }
+        put(UuidCodec.msb(jti), UuidCodec.lsb(jti), expMillis, true);
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        long expMillis = toExpMillisOrNeg(jti, expiresAt);
+        if (expMillis < 0) return false;
+
+        if (!UuidCodec.isCanonical(jti)) {
+            checkCapacity(jti);
+            Long prev = fallback.putIfAbsent(jti, expMillis);
+            if (prev == null) return true;
+            return prev < System.currentTimeMillis() && fallback.replace(jti, prev, expMillis);
+        }
+        return put(UuidCodec.msb(jti), UuidCodec.lsb(jti), expMillis, false);
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return false;
+
+        long now = System.currentTimeMillis();
+        if (!UuidCodec.isCanonical(jti)) {
+            Long exp = fallback.get(jti);
+            return exp != null && exp > now;
+        }
+        long msb = UuidCodec.msb(jti);
+        long lsb = UuidCodec.lsb(jti);
+
+        long stamp = lock.tryOptimisticRead();
+        long exp = lookup(table, capacity, msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                exp = lookup(table, capacity, msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return exp > now;
+    }
+
+    /** 当前条目数（含尚未被清理、已到期的条目） */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + fallback.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * 立即清理所有已到期条目，返回清理条数。
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        long stamp = lock.writeLock();
+        try {
+            removed += purgeExpiredLocked(now);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        int before = fallback.size();
+        fallback.values().removeIf(exp -> exp <= now);
+        return removed + Math.max(0, before - fallback.size());
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    // ==================== 持久化支持（包内使用） ====================
+
+    /**
+     * 条目访问器：UUID 条目以原始 long 回调，不分配对象。
+     */
+    interface EntryVisitor {
+        void uuid(long msb, long lsb, long expMillis);
+
+        void string(String jti, long expMillis);
+    }
+
+    /**
+     * 遍历所有未过期条目（持读锁，期间写入阻塞）。
+     */
+    void forEachLive(EntryVisitor visitor) {
+        long now = System.currentTimeMillis();
+        long stamp = lock.readLock();
+        try {
+            for (int base = 0; base < table.length; base += STRIDE) {
+                long exp = table[base + 2];
+                if (exp > now) {
+                    visitor.uuid(table[base], table[base + 1], exp);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        fallback.forEach((jti, exp) -> {
+            if (exp > now) visitor.string(jti, exp);
+        });
+    }
+
+    /**
+     * 以原始 long 写入（覆盖语义），用于从持久化文件重放。
+     */
+    void putUuid(long msb, long lsb, long expMillis) {
+        if (expMillis <= System.currentTimeMillis()) return;
+        put(msb, lsb, expMillis, true);
+    }
+
+    /**
+     * 预扩容，避免批量重放时反复 rehash。
+     */
+    void reserve(int expectedEntries) {
+        long stamp = lock.writeLock();
+        try {
+            int target = capacity;
+            while ((long) expectedEntries * 4 > target * 3L && target < (1 << 29)) {
+                target <<= 1;
+            }
+            if (target > capacity) {
+                resize(target);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ==================== 表操作 ====================
+
+    /**
+     * @param overwrite true：存在即覆盖（blacklist）；false：仅当不存在或已过期时写入（blacklistIfAbsent）
+     * @return 是否写入
+     */
+    private boolean put(long msb, long lsb, long expMillis, boolean overwrite) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(table, capacity, msb, lsb);
+            if (slot >= 0) {
+                int base = slot * STRIDE;
+                if (!overwrite && table[base + 2] > System.currentTimeMillis()) {
+                    return false;
+                }
+                table[base + 2] = expMillis;
+                return true;
+            }
+
+            if (size + fallback.size() >= maxEntries) {
+                purgeExpiredLocked(System.currentTimeMillis());
+                if (size + fallback.size() >= maxEntries) {
+                    throw full();
+                }
+            }
+            if ((size + 1) * 4L > capacity * 3L) {
+                resize(capacity * 2);
+            }
+            insert(table, capacity, msb, lsb, expMillis);
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long now = System.currentTimeMillis();
+        long[] next = new long[newCapacity * STRIDE];
+        int live = 0;
+        for (int base = 0; base < table.length; base += STRIDE) {
+            long exp = table[base + 2];
+            if (exp > now) {
+                insert(next, newCapacity, table[base], table[base + 1], exp);
+                live++;
+            }
+        }
+        table = next;
+        capacity = newCapacity;
+        size = live;
+    }
+
+    /**
+     * 顺序扫描删除到期条目；backward-shift 可能把后续条目移入当前位置，因此删除后原地复查。
+     */
+    private int purgeExpiredLocked(long now) {
+        int removed = 0;
+        int i = 0;
+        while (i < capacity) {
+            long exp = table[i * STRIDE + 2];
+            if (exp != 0 && exp <= now) {
+                deleteAt(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * backward-shift 删除：把探测链上后续元素前移填补空位，无需墓碑。
+     */
+    private void deleteAt(int slot) {
+        int mask = capacity - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            int base = i * STRIDE;
+            if (table[base + 2] == 0) {
+                break;
+            }
+            int home = index(table[base], table[base + 1], mask);
+            // 仅当 home 不在 (hole, i] 区间（环形）时，元素可前移到 hole
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                int h = hole * STRIDE;
+                table[h] = table[base];
+                table[h + 1] = table[base + 1];
+                table[h + 2] = table[base + 2];
+                hole = i;
+            }
+        }
+        int h = hole * STRIDE;
+        table[h] = 0;
+        table[h + 1] = 0;
+        table[h + 2] = 0;
+    }
+
+    private static void insert(long[] t, int cap, long msb, long lsb, long exp) {
+        int mask = cap - 1;
+        int i = index(msb, lsb, mask);
+        while (t[i * STRIDE + 2] != 0) {
+            i = (i + 1) & mask;
+        }
+        int base = i * STRIDE;
+        t[base] = msb;
+        t[base + 1] = lsb;
+        t[base + 2] = exp;
+    }
+
+    /** @return 槽位下标，不存在返回 -1 */
+    private static int find(long[] t, int cap, long msb, long lsb) {
+        int mask = cap - 1;
+        int i = index(msb, lsb, mask);
+        for (int probes = 0; probes < cap; probes++) {
+            int base = i * STRIDE;
+            long exp = t[base + 2];
+            if (exp == 0) return -1;
+            if (t[base] == msb && t[base + 1] == lsb) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 查询 exp（乐观读下数组可能被并发修改：下标只依赖同一数组的长度，探测次数有上限，结果由 validate 兜底）。
+     */
+    private static long lookup(long[] t, int cap, long msb, long lsb) {
+        if (t.length != cap * STRIDE) return 0;
+        int slot = find(t, cap, msb, lsb);
+        return slot < 0 ? 0 : t[slot * STRIDE + 2];
+    }
+
+    static int index(long msb, long lsb, int mask) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    // ==================== 其他 ====================
+
+    private void checkCapacity(String jti) {
+        if (size() >= maxEntries && !fallback.containsKey(jti)) {
+            purgeExpired();
+            if (size() >= maxEntries) {
+                throw full();
+            }
+        }
+    }
+
+    private IllegalStateException full() {
+        return new IllegalStateException("CompactInMemoryTokenStore is full (maxEntries=" + maxEntries + ")");
+    }
+
+    private void sweepQuietly() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException ignored) {
+            // 保证定时任务不因异常终止；下一轮重试
+        }
+    }
+
+    private static long toExpMillisOrNeg(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return -1;
+        long expMillis = expiresAt.toEpochMilli();
+        // 已过期的不必存
+        if (expMillis <= System.currentTimeMillis()) return -1;
+        return expMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.demo.authcenter.store;
+
+import java.util.function.Consumer;
+
+/**
+ * 可枚举的 TokenStore：能遍历当前所有未过期的黑名单 jti。
+ *
+ * <p>用于本地近端缓存（如 {@link BloomFilterTokenStore}）周期性地从远端全量重建，
+ * 以感知其他节点写入的黑名单。</p>
+ */
+public interface EnumerableTokenStore extends TokenStore {
+
+    /**
+     * 遍历当前所有未过期的黑名单 jti。
+     *
+     * <p>语义与 Redis SCAN 一致：遍历期间始终存在的 jti 一定会被访问；
+     * 遍历期间新增/过期的 jti 可能访问也可能不访问。</p>
+     */
+    void forEachBlacklisted(Consumer<String> action);
+}
@@ -0,0 +1,127 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemory refresh token 家族存储：仅用于单节点部署。
+ *
+ * <p>多节点共享 refresh token 时不能使用：A 节点推进 head 后 B 节点的记录仍停在旧 head，
+ * 客户端下一次在 B 节点刷新会被判为重放并吊销整个家族，合法用户被登出。
+ * 多节点请使用 {@link RedisRefreshTokenFamilyStore} / {@link JdbcRefreshTokenFamilyStore}。</p>
+ *
+ * <p>每个家族一条不可变记录：UUID head 以两个 long 保存（非 UUID 的 jti 退化为字符串），
+ * 加上过期时间与吊销标记；推进/吊销通过 {@link ConcurrentHashMap#compute} 原子完成，单次 O(1)。
+ * 后台线程每分钟清理已过期记录。</p>
+ */
+public class InMemoryRefreshTokenFamilyStore implements RefreshTokenFamilyStore, AutoCloseable {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryRefreshTokenFamilyStore() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-family-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Result advance(String familyId, String presentedJti, String nextJti, Instant expiresAt) {
+        Objects.requireNonNull(familyId, "familyId must not be null");
+        Objects.requireNonNull(presentedJti, "presentedJti must not be null");
+        Objects.requireNonNull(nextJti, "nextJti must not be null");
+        long exp = Objects.requireNonNull(expiresAt, "expiresAt must not be null").toEpochMilli();
+        long now = System.currentTimeMillis();
+
+        Result[] result = new Result[1];
+        families.compute(familyId, (id, cur) -> {
+            if (cur == null || cur.expiresAtMillis <= now) {
+                result[0] = Result.ROTATED;
+                return Family.head(nextJti, exp);
+            }
+            if (cur.revoked) {
+                result[0] = Result.REVOKED;
+                return cur;
+            }
+            if (cur.isHead(presentedJti)) {
+                result[0] = Result.ROTATED;
+                return Family.head(nextJti, Math.max(exp, cur.expiresAtMillis));
+            }
+            result[0] = Result.REUSED;
+            return cur.revoke(exp);
+        });
+        return result[0];
+    }
+
+    @Override
+    public void revoke(String familyId, Instant expiresAt) {
+        if (familyId == null || expiresAt == null) return;
+        long exp = expiresAt.toEpochMilli();
+        long now = System.currentTimeMillis();
+        if (exp <= now) return;
+
+        families.compute(familyId, (id, cur) ->
+                cur == null || cur.expiresAtMillis <= now ? Family.REVOKED_TEMPLATE.revoke(exp) : cur.revoke(exp));
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) return false;
+        Family f = families.get(familyId);
+        return f != null && f.revoked && f.expiresAtMillis > System.currentTimeMillis();
+    }
+
+    /** 当前家族记录数 */
+    public int size() {
+        return families.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweep() {
+        try {
+            long now = System.currentTimeMillis();
+            families.values().removeIf(f -> f.expiresAtMillis <= now);
+        } catch (RuntimeException ignored) {
+            // 保证定时任务不因异常终止
+        }
+    }
+
+    /**
+     * 家族记录：head 为 UUID 时 headOther 为 null，只存两个 long。
+     */
+    private record Family(long headMsb, long headLsb, String headOther, long expiresAtMillis, boolean revoked) {
+
+        static final Family REVOKED_TEMPLATE = new Family(0, 0, null, 0, true);
+
+        static Family head(String jti, long exp) {
+            if (UuidCodec.isCanonical(jti)) {
+                return new Family(UuidCodec.msb(jti), UuidCodec.lsb(jti), null, exp, false);
+            }
+            return new Family(0, 0, jti, exp, false);
+        }
+
+        boolean isHead(String jti) {
+            if (headOther != null) {
+                return headOther.equals(jti);
+            }
+            return UuidCodec.isCanonical(jti) && UuidCodec.msb(jti) == headMsb && UuidCodec.lsb(jti) == headLsb;
+        }
+
+        Family revoke(long exp) {
+            return new Family(headMsb, headLsb, headOther, Math.max(exp, expiresAtMillis), true);
+        }
+    }
+}
@@ -1,26 +1,89 @@
 package com.demo.authcenter.store;
 
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * InMemory TokenStore：仅用于 demo/本地测试。
  *
- * <p>实现方式：使用 ConcurrentHashMap 记录 jti -> expiresAtMillis，
- * 到期后在查询时惰性清理。</p>
+ * <p>实现方式：使用 ConcurrentHashMap 记录 jti -> expiresAtMillis；
+ * 同时把每个条目挂到哈希时间轮（hashed timing wheel）上，由单个后台线程按 tick 推进，
+ * 在 expiresAt 到达后删除条目。即使 token 再也不会被查询，条目也不会常驻内存。</p>
+ *
+ * <h3>时间轮</h3>
+ * <ul>
+ *   <li>槽位 = ceil(expiresAt / tick) mod wheelSize，插入 O(1)</li>
+ *   <li>每个 tick 只扫描一个槽位；尚未到期（超出一圈）的条目留在槽位中等待下一圈</li>
+ *   <li>默认 tick=1s、4096 槽（一圈约 68 分钟），7 天的 refresh token 一生约被扫描 150 次，摊还 O(1)</li>
+ *   <li>查询时仍保留惰性判断，清理最多滞后一个 tick 也不影响正确性</li>
+ * </ul>
+ *
+ * <h3>容量上限（maxEntries）</h3>
+ * <p>条目数达到上限时，新写入（blacklist / blacklistIfAbsent）抛出 {@link IllegalStateException}，
+ * 即拒绝而非静默丢弃：登出/刷新请求失败，但已有黑名单不会被挤掉，不会出现"已登出 token 重新可用"。
+ * 已到期条目会被后台线程及时清除，不占用容量。上限为软上限，并发写入下可能略微超出。</p>
  */
-public class InMemoryTokenStore implements TokenStore {
+public class InMemoryTokenStore implements TokenStore, AutoCloseable {
+
+    /** 默认容量上限 */
+    public static final int DEFAULT_MAX_ENTRIES = 1_000_000;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 4096;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
 
     /** jti -> expiresAtMillis */
     private final ConcurrentHashMap<String, Long> blacklist = new ConcurrentHashMap<>();
 
+    private final int maxEntries;
+
+    /** 时间轮槽位：仅后台线程删除，写线程追加 */
+    @SuppressWarnings("unchecked")
+    private final ConcurrentLinkedQueue<WheelEntry>[] wheel = new ConcurrentLinkedQueue[WHEEL_SIZE];
+
+    /** 已处理到的 tick（含） */
+    private volatile long processedTick;
+
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryTokenStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public InMemoryTokenStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.processedTick = System.currentTimeMillis() / TICK_MILLIS;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-token-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public void blacklist(String jti, Instant expiresAt) {
         long expMillis = toExpMillisOrNeg(jti, expiresAt);
         if (expMillis < 0) return;
 
+        ensureCapacity(jti);
         // 幂等覆盖：同一个 jti 反复拉黑无副作用
-        blacklist.put(jti, expMillis);
+        Long prev = blacklist.put(jti, expMillis);
+        if (prev == null || prev != expMillis) {
+            schedule(jti, expMillis);
+        }
     }
 
     @Override
@@ -28,13 +91,20 @@ public class InMemoryTokenStore implements TokenStore {
         long expMillis = toExpMillisOrNeg(jti, expiresAt);
         if (expMillis < 0) return false;
 
+        ensureCapacity(jti);
         // putIfAbsent 原子：并发下只会有一个请求成功
         Long prev = blacklist.putIfAbsent(jti, expMillis);
-        if (prev == null) return true;
+        if (prev == null) {
+            schedule(jti, expMillis);
+            return true;
+        }
 
         // 已存在：若已过期则尝试替换为新的 exp（可选兜底，避免“旧过期值卡住”）
         if (prev < System.currentTimeMillis()) {
             boolean replaced = blacklist.replace(jti, prev, expMillis);
+            if (replaced) {
+                schedule(jti, expMillis);
+            }
             return replaced; // 替换成功视为“本次成功作废”
         }
         return false;
@@ -56,6 +126,62 @@ public class InMemoryTokenStore implements TokenStore {
         return true;
     }
 
+    /** 当前条目数（含尚未被清理、刚到期的条目） */
+    public int size() {
+        return blacklist.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * 容量检查：覆盖已有 jti 不占新容量。
+     */
+    private void ensureCapacity(String jti) {
+        if (blacklist.size() >= maxEntries && !blacklist.containsKey(jti)) {
+            throw new IllegalStateException("InMemoryTokenStore is full (maxEntries=" + maxEntries + ")");
+        }
+    }
+
+    private void schedule(String jti, long expMillis) {
+        long tick = (expMillis + TICK_MILLIS - 1) / TICK_MILLIS;
+        long floor = processedTick + 1;
+        if (tick < floor) {
+            tick = floor;
+        }
+        wheel[(int) (tick & WHEEL_MASK)].add(new WheelEntry(jti, expMillis));
+    }
+
+    /**
+     * 后台线程：推进到当前 tick，逐槽删除已到期条目（落后时补齐，最多一圈）。
+     */
+    private void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long target = now / TICK_MILLIS;
+            long from = Math.max(processedTick + 1, target - WHEEL_MASK);
+            for (long tick = from; tick <= target; tick++) {
+                Iterator<WheelEntry> it = wheel[(int) (tick & WHEEL_MASK)].iterator();
+                while (it.hasNext()) {
+                    WheelEntry e = it.next();
+                    if (e.expMillis <= now) {
+                        it.remove();
+                        blacklist.remove(e.jti, e.expMillis);
+                    }
+                }
+                processedTick = tick;
+            }
+        } catch (RuntimeException ignored) {
+            // 保证定时任务不因异常终止；下一个 tick 重试
+        }
+    }
+
     private static long toExpMillisOrNeg(String jti, Instant expiresAt) {
         if (jti == null || jti.isBlank() || expiresAt == null) return -1;
         long expMillis = expiresAt.toEpochMilli();
@@ -63,4 +189,7 @@ public class InMemoryTokenStore implements TokenStore {
         if (expMillis <= System.currentTimeMillis()) return -1;
         return expMillis;
     }
+
+    private record WheelEntry(String jti, long expMillis) {
+    }
 }
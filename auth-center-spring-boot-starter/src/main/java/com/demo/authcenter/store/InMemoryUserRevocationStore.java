@@ -0,0 +1,63 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * InMemory 用户级吊销：原始类型 long -> long 表，单机使用。
+ *
+ * <p>查询走 {@link StampedLock} 乐观读，每个请求只有一次无锁的数组探测；
+ * 条目数等于被吊销过的用户数，不随 token 数量增长。</p>
+ */
+public class InMemoryUserRevocationStore implements UserRevocationStore {
+
+    private final StampedLock lock = new StampedLock();
+    private final LongLongHashMap notBefore = new LongLongHashMap(64);
+
+    @Override
+    public void revokeAllBefore(long userId, Instant cutoff) {
+        Objects.requireNonNull(cutoff, "cutoff must not be null");
+        long millis = UserRevocationStore.floorToSecond(cutoff);
+
+        long stamp = lock.writeLock();
+        try {
+            if (millis > notBefore.get(userId, 0)) {
+                notBefore.put(userId, millis);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long notBeforeMillis(long userId) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                long v = notBefore.get(userId, 0);
+                if (lock.validate(stamp)) {
+                    return v;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间表被扩容可能读到不一致的数组，退化为读锁重试
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return notBefore.get(userId, 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** 有吊销记录的用户数 */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return notBefore.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
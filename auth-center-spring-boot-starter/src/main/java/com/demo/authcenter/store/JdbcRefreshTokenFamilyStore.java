@@ -0,0 +1,192 @@
+package com.demo.authcenter.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC refresh token 家族存储：多节点共享（与 {@link JdbcTokenStore} 使用同一数据源）。
+ *
+ * <p>表结构见 classpath:{@value JdbcSchema#SCHEMA_LOCATION}（family_id 主键 + head_jti + revoked 0/1 + expires_at 毫秒）。</p>
+ *
+ * <h3>语句映射</h3>
+ * <ul>
+ *   <li>推进：{@code UPDATE ... SET head_jti = next WHERE family_id = ? AND head_jti = presented AND revoked = 0 AND 未过期}，
+ *       条件更新即比较并交换，正常 rotation 只有这一条语句</li>
+ *   <li>未命中时依次判定：过期记录按出示的 token 接管；无记录则 {@code INSERT}（主键冲突说明并发首次 rotation，重新判定）；
+ *       已吊销返回 REVOKED；否则出示的不是 head，吊销家族并返回 REUSED</li>
+ *   <li>过期时间只增不减（{@code CASE WHEN expires_at > ?}），与 Redis 实现一致</li>
+ *   <li>写入语句各自在独立事务（REQUIRES_NEW）中执行，主键冲突不影响调用方事务</li>
+ *   <li>清理：后台按 expires_at 索引分块删除到期记录</li>
+ * </ul>
+ */
+public class JdbcRefreshTokenFamilyStore implements RefreshTokenFamilyStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRefreshTokenFamilyStore.class);
+
+    private static final String TABLE = "auth_center_refresh_family";
+
+    private static final String MAX_EXP = "CASE WHEN expires_at > ? THEN expires_at ELSE ? END";
+
+    private static final String SQL_ADVANCE =
+            "UPDATE " + TABLE + " SET head_jti = ?, expires_at = " + MAX_EXP
+                    + " WHERE family_id = ? AND head_jti = ? AND revoked = 0 AND expires_at > ?";
+    private static final String SQL_TAKE_OVER_EXPIRED =
+            "UPDATE " + TABLE + " SET head_jti = ?, revoked = 0, expires_at = ? WHERE family_id = ? AND expires_at <= ?";
+    private static final String SQL_SELECT_REVOKED =
+            "SELECT revoked FROM " + TABLE + " WHERE family_id = ? AND expires_at > ?";
+    private static final String SQL_INSERT =
+            "INSERT INTO " + TABLE + " (family_id, head_jti, revoked, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String SQL_REVOKE_LIVE =
+            "UPDATE " + TABLE + " SET revoked = 1, expires_at = " + MAX_EXP + " WHERE family_id = ? AND revoked = 0";
+    private static final String SQL_REVOKE =
+            "UPDATE " + TABLE + " SET revoked = 1, expires_at = " + MAX_EXP + " WHERE family_id = ?";
+    private static final String SQL_SELECT_EXPIRED =
+            "SELECT family_id FROM " + TABLE + " WHERE expires_at <= ? ORDER BY expires_at";
+    private static final String SQL_DELETE_EXPIRED =
+            "DELETE FROM " + TABLE + " WHERE family_id = ? AND expires_at <= ?";
+
+    /** 并发首次 rotation 导致 INSERT 冲突时的最大重试次数 */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate purgeJdbc;
+    private final TransactionTemplate ownTx;
+    private final int purgeChunkSize;
+    private final ScheduledExecutorService purger;
+
+    /**
+     * @param purgeIntervalSeconds 过期清理间隔（秒）
+     * @param purgeChunkSize       每块删除条数
+     */
+    public JdbcRefreshTokenFamilyStore(JdbcTemplate jdbc, long purgeIntervalSeconds, int purgeChunkSize) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc must not be null");
+        if (purgeIntervalSeconds <= 0 || purgeChunkSize <= 0) {
+            throw new IllegalArgumentException("purgeIntervalSeconds and purgeChunkSize must be > 0");
+        }
+        this.purgeChunkSize = purgeChunkSize;
+
+        this.purgeJdbc = new JdbcTemplate(Objects.requireNonNull(jdbc.getDataSource(), "dataSource must not be null"));
+        this.purgeJdbc.setMaxRows(purgeChunkSize);
+
+        this.ownTx = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-jdbc-family-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Result advance(String familyId, String presentedJti, String nextJti, Instant expiresAt) {
+        Objects.requireNonNull(familyId, "familyId must not be null");
+        Objects.requireNonNull(presentedJti, "presentedJti must not be null");
+        Objects.requireNonNull(nextJti, "nextJti must not be null");
+        long exp = Objects.requireNonNull(expiresAt, "expiresAt must not be null").toEpochMilli();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = System.currentTimeMillis();
+            if (update(SQL_ADVANCE, nextJti, exp, exp, familyId, presentedJti, now)) {
+                return Result.ROTATED;
+            }
+            if (update(SQL_TAKE_OVER_EXPIRED, nextJti, exp, familyId, now)) {
+                return Result.ROTATED;
+            }
+
+            List<Integer> revoked = jdbc.queryForList(SQL_SELECT_REVOKED, Integer.class, familyId, now);
+            if (revoked.isEmpty()) {
+                // 无记录（首次 rotation）：按出示的 token 接管
+                try {
+                    update(SQL_INSERT, familyId, nextJti, 0, exp);
+                    return Result.ROTATED;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            if (revoked.get(0) != 0) {
+                return Result.REVOKED;
+            }
+            // 记录存在且未吊销，但出示的不是 head：重放
+            return update(SQL_REVOKE_LIVE, exp, exp, familyId) ? Result.REUSED : Result.REVOKED;
+        }
+        throw new IllegalStateException("Concurrent refresh token family update, familyId=" + familyId);
+    }
+
+    @Override
+    public void revoke(String familyId, Instant expiresAt) {
+        if (familyId == null || expiresAt == null) return;
+        long exp = expiresAt.toEpochMilli();
+
+        if (update(SQL_REVOKE, exp, exp, familyId)) return;
+        try {
+            update(SQL_INSERT, familyId, "", 1, exp);
+        } catch (DuplicateKeyException e) {
+            update(SQL_REVOKE, exp, exp, familyId);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) return false;
+        List<Integer> revoked = jdbc.queryForList(SQL_SELECT_REVOKED, Integer.class, familyId, System.currentTimeMillis());
+        return !revoked.isEmpty() && revoked.get(0) != 0;
+    }
+
+    /**
+     * 立即分块清理已过期记录，返回删除条数。
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        while (true) {
+            List<String> chunk = purgeJdbc.queryForList(SQL_SELECT_EXPIRED, String.class, now);
+            if (chunk.isEmpty()) break;
+
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (String familyId : chunk) {
+                args.add(new Object[]{familyId, now});
+            }
+            for (int n : jdbc.batchUpdate(SQL_DELETE_EXPIRED, args)) {
+                total += n == 0 ? 0 : 1;
+            }
+            if (chunk.size() < purgeChunkSize) break;
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        purger.shutdownNow();
+    }
+
+    private boolean update(String sql, Object... args) {
+        Integer n = ownTx.execute(s -> jdbc.update(sql, args));
+        return n != null && n > 0;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int n = purgeExpired();
+            if (n > 0) {
+                log.debug("[AuthCenter] JDBC refresh family purged {} expired rows", n);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[AuthCenter] JDBC refresh family purge failed: {}", e.toString());
+        }
+    }
+}
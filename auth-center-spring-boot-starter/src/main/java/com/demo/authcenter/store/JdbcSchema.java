@@ -0,0 +1,74 @@
+package com.demo.authcenter.store;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * JDBC 存储的建表初始化（可重复执行）。
+ *
+ * <p>classpath:{@value #SCHEMA_LOCATION} 只包含 {@code CREATE TABLE IF NOT EXISTS}；
+ * MySQL 不支持 {@code CREATE INDEX IF NOT EXISTS}，索引改为先查 {@link DatabaseMetaData#getIndexInfo} 再按需创建。
+ * 任一语句失败直接抛出，不吞掉权限不足、方言不兼容等真实错误。</p>
+ */
+public final class JdbcSchema {
+
+    /** 建表脚本 */
+    public static final String SCHEMA_LOCATION = "com/demo/authcenter/store/jdbc-schema.sql";
+
+    /** 表名, 索引名, 列 */
+    private static final String[][] INDEXES = {
+            {"auth_center_blacklist", "idx_auth_center_blacklist_exp", "expires_at"},
+            {"auth_center_user_revocation", "idx_auth_center_user_revocation_exp", "expires_at"},
+            {"auth_center_refresh_family", "idx_auth_center_refresh_family_exp", "expires_at"}
+    };
+
+    private JdbcSchema() {
+    }
+
+    /**
+     * 建表并补齐缺失的索引；已存在的表与索引保持不变。
+     */
+    public static void initialize(DataSource dataSource) {
+        Objects.requireNonNull(dataSource, "dataSource must not be null");
+        new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_LOCATION)).execute(dataSource);
+        new JdbcTemplate(dataSource).execute((ConnectionCallback<Void>) con -> {
+            for (String[] index : INDEXES) {
+                if (!indexExists(con, index[0], index[1])) {
+                    try (Statement st = con.createStatement()) {
+                        st.execute("CREATE INDEX " + index[1] + " ON " + index[0] + " (" + index[2] + ")");
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 表名按原样 / 大写 / 小写依次查询（H2 未加引号的标识符存为大写，PostgreSQL 为小写）。
+     */
+    private static boolean indexExists(Connection con, String table, String index) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        String[] candidates = {table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT)};
+        for (String name : candidates) {
+            try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), con.getSchema(), name, false, true)) {
+                while (rs.next()) {
+                    if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,465 @@
+package com.demo.authcenter.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * JDBC TokenStore：仅有关系型数据库的环境下的多节点共享黑名单。
+ *
+ * <p>表结构见 classpath:{@value #SCHEMA_LOCATION}（jti 主键 + expires_at 索引，expires_at 为 epoch 毫秒），
+ * 初始化见 {@link JdbcSchema}。</p>
+ *
+ * <h3>语句映射</h3>
+ * <ul>
+ *   <li>isBlacklisted：{@code SELECT 1 ... WHERE jti = ? AND expires_at > ?}（主键点查）</li>
+ *   <li>blacklistIfAbsent：{@code INSERT}，主键冲突时再 {@code UPDATE ... WHERE jti = ? AND expires_at <= now}
+ *       接管已过期的旧行；两条语句各自原子，并发下只有一个调用成功。
+ *       不使用 {@code ON CONFLICT DO NOTHING} / {@code INSERT IGNORE} 等方言，保证 H2/PostgreSQL/MySQL 通用。
+ *       两条语句各自在独立事务（REQUIRES_NEW）中执行：PostgreSQL 上主键冲突会中止当前事务，
+ *       不能让它发生在调用方的事务里</li>
+ *   <li>blacklist（登出）：进入队列，由单个写线程组提交（group commit）——同一事务内 executeBatch 后一次提交；
+ *       调用方最多等待 {@value #WRITE_TIMEOUT_SECONDS} 秒至所在批次提交，提交前的待写条目对本节点查询可见；
+ *       关闭或写线程异常退出时，未提交的写入以异常结束，不会无限等待</li>
+ *   <li>blacklistAll：全部入队后等待，通常落在同一批次、一次提交；areBlacklisted：分块 {@code IN} 查询</li>
+ *   <li>清理：后台按 expires_at 索引分块查询到期 jti 并批量删除，每块单独提交，避免长事务与大范围锁</li>
+ * </ul>
+ */
+public class JdbcTokenStore implements EnumerableTokenStore, AsyncTokenStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcTokenStore.class);
+
+    /** 建表脚本 */
+    public static final String SCHEMA_LOCATION = JdbcSchema.SCHEMA_LOCATION;
+
+    private static final String TABLE = "auth_center_blacklist";
+
+    private static final String SQL_EXISTS =
+            "SELECT 1 FROM " + TABLE + " WHERE jti = ? AND expires_at > ?";
+    private static final String SQL_INSERT =
+            "INSERT INTO " + TABLE + " (jti, expires_at) VALUES (?, ?)";
+    private static final String SQL_TAKE_OVER_EXPIRED =
+            "UPDATE " + TABLE + " SET expires_at = ? WHERE jti = ? AND expires_at <= ?";
+    private static final String SQL_UPDATE =
+            "UPDATE " + TABLE + " SET expires_at = ? WHERE jti = ?";
+    private static final String SQL_SELECT_EXPIRED =
+            "SELECT jti FROM " + TABLE + " WHERE expires_at <= ? ORDER BY expires_at";
+    private static final String SQL_DELETE_EXPIRED =
+            "DELETE FROM " + TABLE + " WHERE jti = ? AND expires_at <= ?";
+    private static final String SQL_SELECT_LIVE =
+            "SELECT jti FROM " + TABLE + " WHERE expires_at > ?";
+    private static final String SQL_SELECT_LIVE_IN =
+            "SELECT jti FROM " + TABLE + " WHERE expires_at > ? AND jti IN ";
+
+    /** areBlacklisted 单条 IN 查询的最大参数数 */
+    private static final int IN_CHUNK = 100;
+
+    /** 同步写入等待所在批次提交的最长时间（秒） */
+    private static final long WRITE_TIMEOUT_SECONDS = 30;
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate purgeJdbc;
+    /** blacklistIfAbsent 的独立事务：挂起调用方事务，主键冲突不影响调用方 */
+    private final TransactionTemplate ownTx;
+    private final int batchSize;
+    private final int purgeChunkSize;
+
+    /** 待组提交的 blacklist 写入 */
+    private final LinkedBlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    /** 已入队未提交的 jti -> expiresAtMillis（对本节点查询可见） */
+    private final ConcurrentHashMap<String, Long> pending = new ConcurrentHashMap<>();
+    /** 读锁：检查 closed 并入队；写锁：置 closed。保证关闭后写线程看到的队列已包含全部入队写入 */
+    private final ReentrantReadWriteLock enqueueLock = new ReentrantReadWriteLock();
+
+    private final Thread writer;
+    private final ScheduledExecutorService purger;
+    private volatile boolean closed;
+
+    /**
+     * @param batchSize            单批最大写入条数
+     * @param purgeIntervalSeconds 过期清理间隔（秒）
+     * @param purgeChunkSize       每块删除条数
+     */
+    public JdbcTokenStore(JdbcTemplate jdbc, int batchSize, long purgeIntervalSeconds, int purgeChunkSize) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc must not be null");
+        if (batchSize <= 0 || purgeChunkSize <= 0 || purgeIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("batchSize, purgeIntervalSeconds and purgeChunkSize must be > 0");
+        }
+        this.batchSize = batchSize;
+        this.purgeChunkSize = purgeChunkSize;
+
+        this.purgeJdbc = new JdbcTemplate(Objects.requireNonNull(jdbc.getDataSource(), "dataSource must not be null"));
+        this.purgeJdbc.setMaxRows(purgeChunkSize);
+
+        this.ownTx = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.writer = new Thread(this::writeLoop, "auth-center-jdbc-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-jdbc-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        await(blacklistAsync(jti, expiresAt));
+    }
+
+    /**
+     * 入队即返回：future 在所在批次提交后完成；入队后立即对本节点查询可见。
+     */
+    @Override
+    public CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return CompletableFuture.completedFuture(null);
+        long expMillis = expiresAt.toEpochMilli();
+        if (expMillis <= System.currentTimeMillis()) return CompletableFuture.completedFuture(null);
+        PendingWrite w = new PendingWrite(jti, expMillis, new CompletableFuture<>());
+        enqueueLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("JdbcTokenStore is closed");
+            }
+            pending.merge(jti, expMillis, Math::max);
+            queue.add(w);
+        } finally {
+            enqueueLock.readLock().unlock();
+        }
+        return w.done;
+    }
+
+    @Override
+    public void blacklistAll(Map<String, Instant> entries) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(entries.size());
+        entries.forEach((jti, exp) -> futures.add(blacklistAsync(jti, exp)));
+        await(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return false;
+        long expMillis = expiresAt.toEpochMilli();
+        long now = System.currentTimeMillis();
+        if (expMillis <= now) return false;
+
+        Long queued = pending.get(jti);
+        if (queued != null && queued > now) return false;
+
+        try {
+            return Boolean.TRUE.equals(ownTx.execute(s -> jdbc.update(SQL_INSERT, jti, expMillis) == 1));
+        } catch (DuplicateKeyException e) {
+            return Boolean.TRUE.equals(ownTx.execute(s -> jdbc.update(SQL_TAKE_OVER_EXPIRED, expMillis, jti, now) == 1));
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return false;
+        long now = System.currentTimeMillis();
+
+        Long queued = pending.get(jti);
+        if (queued != null && queued > now) return true;
+
+        return Boolean.TRUE.equals(jdbc.query(SQL_EXISTS, (ResultSetExtractor<Boolean>) ResultSet::next, jti, now));
+    }
+
+    /**
+     * 在 {@link AsyncTokenStore#defaultExecutor()} 上执行（独立事务的 INSERT / 接管 UPDATE）。
+     */
+    @Override
+    public CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+        return CompletableFuture.supplyAsync(() -> blacklistIfAbsent(jti, expiresAt), AsyncTokenStore.defaultExecutor());
+    }
+
+    /**
+     * 本节点待提交写入直接命中；否则在 {@link AsyncTokenStore#defaultExecutor()} 上查询。
+     */
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+        if (jti == null || jti.isBlank()) return CompletableFuture.completedFuture(false);
+        Long queued = pending.get(jti);
+        if (queued != null && queued > System.currentTimeMillis()) return CompletableFuture.completedFuture(true);
+        return CompletableFuture.supplyAsync(() -> isBlacklisted(jti), AsyncTokenStore.defaultExecutor());
+    }
+
+    @Override
+    public Set<String> areBlacklisted(Collection<String> jtis) {
+        long now = System.currentTimeMillis();
+        Set<String> hit = new HashSet<>();
+        List<String> remote = new ArrayList<>(jtis.size());
+        for (String jti : jtis) {
+            if (jti == null || jti.isBlank()) continue;
+            Long queued = pending.get(jti);
+            if (queued != null && queued > now) {
+                hit.add(jti);
+            } else {
+                remote.add(jti);
+            }
+        }
+
+        for (int from = 0; from < remote.size(); from += IN_CHUNK) {
+            List<String> chunk = remote.subList(from, Math.min(remote.size(), from + IN_CHUNK));
+            String sql = SQL_SELECT_LIVE_IN + "(" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = now;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbc.query(sql, (RowCallbackHandler) rs -> hit.add(rs.getString(1)), args);
+        }
+        return hit;
+    }
+
+    @Override
+    public void forEachBlacklisted(Consumer<String> action) {
+        jdbc.query(SQL_SELECT_LIVE, (RowCallbackHandler) rs -> action.accept(rs.getString(1)),
+                System.currentTimeMillis());
+        pending.keySet().forEach(action);
+    }
+
+    /**
+     * 立即分块清理已过期行，返回删除条数。
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        while (true) {
+            List<String> chunk = purgeJdbc.queryForList(SQL_SELECT_EXPIRED, String.class, now);
+            if (chunk.isEmpty()) break;
+
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (String jti : chunk) {
+                args.add(new Object[]{jti, now});
+            }
+            for (int n : jdbc.batchUpdate(SQL_DELETE_EXPIRED, args)) {
+                // 部分驱动返回 SUCCESS_NO_INFO(-2)：按 1 计
+                total += n == 0 ? 0 : 1;
+            }
+            if (chunk.size() < purgeChunkSize) break;
+        }
+        return total;
+    }
+
+    /** 待提交写入数 */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        markClosed();
+        purger.shutdownNow();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 写线程未能在期限内刷完：剩余写入以异常结束
+        failQueued();
+    }
+
+    private void markClosed() {
+        enqueueLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            enqueueLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 有界等待写入完成；失败时抛出原始异常。
+     */
+    private static void await(CompletableFuture<?> done) {
+        try {
+            done.get(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for JDBC blacklist write", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("JDBC blacklist write timed out after " + WRITE_TIMEOUT_SECONDS + "s", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // ==================== 组提交 ====================
+
+    /**
+     * 单写线程：取到第一条后把队列中已积压的写入一并带走；上一批提交期间到达的写入自然进入下一批。
+     * 关闭后刷完剩余写入再退出；无论以何种方式退出，都先拒绝新的入队，再让队列中剩余写入以异常结束。
+     */
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                PendingWrite first;
+                try {
+                    first = queue.poll(200, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    // 先读 closed 再查队列：置 closed 之前完成的入队此时都已可见
+                    if (closed && queue.isEmpty()) return;
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (Throwable e) {
+            log.error("[AuthCenter] JDBC blacklist writer stopped unexpectedly", e);
+            batch.forEach(w -> fail(w, e));
+            throw e;
+        } finally {
+            markClosed();
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<PendingWrite> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (rest.isEmpty()) return;
+        IllegalStateException e = new IllegalStateException("JdbcTokenStore is closed");
+        rest.forEach(w -> fail(w, e));
+    }
+
+    private void fail(PendingWrite w, Throwable e) {
+        pending.remove(w.jti, w.expMillis);
+        w.done.completeExceptionally(e);
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // 同批次内同一 jti 合并为最大 exp
+        Map<String, Long> rows = new LinkedHashMap<>();
+        for (PendingWrite w : batch) {
+            rows.merge(w.jti, w.expMillis, Math::max);
+        }
+        try {
+            jdbc.execute((ConnectionCallback<Void>) con -> {
+                writeBatch(con, rows);
+                return null;
+            });
+            for (PendingWrite w : batch) {
+                w.done.complete(null);
+            }
+        } catch (Throwable e) {
+            // 含 Error：本批以异常结束，写线程继续处理后续批次
+            log.warn("[AuthCenter] JDBC blacklist batch failed ({} rows): {}", rows.size(), e.toString());
+            for (PendingWrite w : batch) {
+                w.done.completeExceptionally(e);
+            }
+        } finally {
+            rows.forEach((jti, exp) -> pending.remove(jti, exp));
+        }
+    }
+
+    /**
+     * 单事务批量 INSERT；任一行主键冲突则回滚，改为逐行 upsert（仍在同一事务内提交一次）。
+     */
+    private static void writeBatch(Connection con, Map<String, Long> rows) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            try (PreparedStatement ps = con.prepareStatement(SQL_INSERT)) {
+                for (Map.Entry<String, Long> r : rows.entrySet()) {
+                    ps.setString(1, r.getKey());
+                    ps.setLong(2, r.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                con.commit();
+                return;
+            } catch (BatchUpdateException e) {
+                if (!isIntegrityViolation(e)) throw e;
+                con.rollback();
+            }
+
+            try (PreparedStatement update = con.prepareStatement(SQL_UPDATE);
+                 PreparedStatement insert = con.prepareStatement(SQL_INSERT)) {
+                for (Map.Entry<String, Long> r : rows.entrySet()) {
+                    update.setLong(1, r.getValue());
+                    update.setString(2, r.getKey());
+                    if (update.executeUpdate() == 0) {
+                        insert.setString(1, r.getKey());
+                        insert.setLong(2, r.getValue());
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            con.commit();
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean isIntegrityViolation(SQLException e) {
+        for (SQLException cur = e; cur != null; cur = cur.getNextException()) {
+            String state = cur.getSQLState();
+            if (state != null && state.startsWith("23")) return true;
+        }
+        return false;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int n = purgeExpired();
+            if (n > 0) {
+                log.debug("[AuthCenter] JDBC blacklist purged {} expired rows", n);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[AuthCenter] JDBC blacklist purge failed: {}", e.toString());
+        }
+    }
+
+    private record PendingWrite(String jti, long expMillis, CompletableFuture<Void> done) {
+    }
+}
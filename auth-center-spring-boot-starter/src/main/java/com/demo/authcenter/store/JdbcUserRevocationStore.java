@@ -0,0 +1,156 @@
+package com.demo.authcenter.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC 用户级吊销：多节点共享 userId -> notBefore（与 {@link JdbcTokenStore} 使用同一数据源）。
+ *
+ * <p>表结构见 classpath:{@value JdbcSchema#SCHEMA_LOCATION}（user_id 主键，not_before / expires_at 为 epoch 毫秒）。
+ * expires_at = 最近一次吊销时间 + retention（应不小于 refresh token 有效期），到期后由后台清理。</p>
+ *
+ * <p>写入"仅当更大时更新"：{@code UPDATE ... WHERE user_id = ? AND (not_before < ? OR expires_at <= now)}，
+ * 无行时 {@code INSERT}，主键冲突（并发首次吊销）再重试一次 UPDATE；并发吊销不会把 notBefore 回退。
+ * 语句在独立事务（REQUIRES_NEW）中执行，与 {@link JdbcTokenStore#blacklistIfAbsent} 相同。</p>
+ *
+ * <p>本地缓存与 {@link RedisUserRevocationStore} 一致：其他节点的吊销最多延迟 cacheTtl 生效。</p>
+ */
+public class JdbcUserRevocationStore implements UserRevocationStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcUserRevocationStore.class);
+
+    private static final String TABLE = "auth_center_user_revocation";
+
+    private static final String SQL_SELECT =
+            "SELECT not_before FROM " + TABLE + " WHERE user_id = ? AND expires_at > ?";
+    private static final String SQL_RAISE =
+            "UPDATE " + TABLE + " SET not_before = ?, expires_at = ? WHERE user_id = ? AND (not_before < ? OR expires_at <= ?)";
+    private static final String SQL_EXTEND =
+            "UPDATE " + TABLE + " SET expires_at = ? WHERE user_id = ? AND expires_at < ?";
+    private static final String SQL_INSERT =
+            "INSERT INTO " + TABLE + " (user_id, not_before, expires_at) VALUES (?, ?, ?)";
+    private static final String SQL_DELETE_EXPIRED =
+            "DELETE FROM " + TABLE + " WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate ownTx;
+    private final long retentionMillis;
+    private final NotBeforeCache cache;
+    private final ScheduledExecutorService purger;
+
+    /**
+     * @param retention            吊销记录保留时长
+     * @param cacheTtl             本地缓存有效期；null 或 0 表示每次查询都访问数据库
+     * @param purgeIntervalSeconds 过期清理间隔（秒）
+     */
+    public JdbcUserRevocationStore(JdbcTemplate jdbc, Duration retention, Duration cacheTtl, long purgeIntervalSeconds) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc must not be null");
+        this.retentionMillis = Objects.requireNonNull(retention, "retention must not be null").toMillis();
+        if (retentionMillis <= 0) {
+            throw new IllegalArgumentException("retention must be > 0");
+        }
+        if (purgeIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("purgeIntervalSeconds must be > 0");
+        }
+        this.cache = new NotBeforeCache(cacheTtl == null ? 0 : cacheTtl.toMillis());
+
+        this.ownTx = new TransactionTemplate(new DataSourceTransactionManager(
+                Objects.requireNonNull(jdbc.getDataSource(), "dataSource must not be null")));
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-jdbc-revocation-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void revokeAllBefore(long userId, Instant cutoff) {
+        Objects.requireNonNull(cutoff, "cutoff must not be null");
+        long millis = UserRevocationStore.floorToSecond(cutoff);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + retentionMillis;
+
+        boolean written = raise(userId, millis, expiresAt, now);
+        if (!written) {
+            try {
+                ownTx.execute(s -> jdbc.update(SQL_INSERT, userId, millis, expiresAt));
+                written = true;
+            } catch (DuplicateKeyException e) {
+                // 已有记录且不小于本次（或并发首次吊销）：再按"仅当更大"合并一次，否则只延长保留期
+                written = raise(userId, millis, expiresAt, now);
+                if (!written) {
+                    ownTx.execute(s -> jdbc.update(SQL_EXTEND, expiresAt, userId, expiresAt));
+                }
+            }
+        }
+        // 写穿本地缓存：未写入说明库中已有更大的值，缓存实际生效值
+        cache.put(userId, written ? millis : Math.max(millis, select(userId, now)), now);
+    }
+
+    @Override
+    public long notBeforeMillis(long userId) {
+        long now = System.currentTimeMillis();
+        long cached = cache.get(userId, now);
+        if (cached >= 0) {
+            return cached;
+        }
+
+        long value = select(userId, now);
+        cache.put(userId, value, now);
+        return value;
+    }
+
+    /** 清空本地缓存 */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * 立即清理过期记录，返回删除条数。
+     */
+    public int purgeExpired() {
+        return jdbc.update(SQL_DELETE_EXPIRED, System.currentTimeMillis());
+    }
+
+    @Override
+    public void close() {
+        purger.shutdownNow();
+    }
+
+    private long select(long userId, long now) {
+        List<Long> rows = jdbc.queryForList(SQL_SELECT, Long.class, userId, now);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+
+    private boolean raise(long userId, long millis, long expiresAt, long now) {
+        Integer n = ownTx.execute(s -> jdbc.update(SQL_RAISE, millis, expiresAt, userId, millis, now));
+        return n != null && n > 0;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int n = purgeExpired();
+            if (n > 0) {
+                log.debug("[AuthCenter] JDBC user revocation purged {} expired rows", n);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[AuthCenter] JDBC user revocation purge failed: {}", e.toString());
+        }
+    }
+}
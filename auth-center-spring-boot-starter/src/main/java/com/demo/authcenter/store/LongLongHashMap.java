@@ -0,0 +1,137 @@
+package com.demo.authcenter.store;
+
+/**
+ * long -> long 开放寻址哈希表（Starter 内部使用，非线程安全，由调用方加锁）。
+ *
+ * <p>线性探测 + backward-shift 删除；key 0 单独存放，数组中以 0 表示空槽。无装箱、无逐条对象。</p>
+ */
+final class LongLongHashMap {
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    LongLongHashMap(int expectedSize) {
+        int cap = 16;
+        while (cap * 3L < expectedSize * 4L) {
+            cap <<= 1;
+        }
+        keys = new long[cap];
+        values = new long[cap];
+    }
+
+    /**
+     * @return key 对应的值，不存在时返回 missing
+     */
+    long get(long key, long missing) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        long[] k = keys;
+        int mask = k.length - 1;
+        int i = index(key, mask);
+        while (true) {
+            long cur = k[i];
+            if (cur == key) return values[i];
+            if (cur == 0) return missing;
+            i = (i + 1) & mask;
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (true) {
+            long cur = keys[i];
+            if (cur == key) {
+                values[i] = value;
+                return;
+            }
+            if (cur == 0) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size * 4L > keys.length * 3L) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    void remove(long key) {
+        if (key == 0) {
+            if (hasZeroKey) size--;
+            hasZeroKey = false;
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (true) {
+            long cur = keys[i];
+            if (cur == 0) return;
+            if (cur == key) break;
+            i = (i + 1) & mask;
+        }
+        size--;
+        // backward-shift：把探测链上后续元素前移，保持链连续
+        int hole = i;
+        while (true) {
+            i = (i + 1) & mask;
+            long cur = keys[i];
+            if (cur == 0) break;
+            int home = index(cur, mask);
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                keys[hole] = cur;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        java.util.Arrays.fill(keys, 0);
+        java.util.Arrays.fill(values, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key == 0) continue;
+            int i = index(key, mask);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,349 @@
+package com.demo.authcenter.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 内存映射的黑名单追加日志（{@link MappedFileTokenStore} 内部使用，非线程安全，由调用方加锁）。
+ *
+ * <h3>文件格式</h3>
+ * <pre>
+ * header : "ACBL" | version(int)
+ * region : 文件按 REGION_SIZE（64MB）分段映射，记录不跨段
+ * UUID   : 0x01 | msb(8) | lsb(8) | exp(8) | crc32c(4)              共 29 字节
+ * STRING : 0x02 | len(2) | utf8(len) | exp(8) | crc32c(4)
+ * PAD    : 0x7F（本段剩余空间作废，从下一段起继续）
+ * 0x00   : 日志结束（新扩展的文件区域由文件系统填零）
+ * </pre>
+ *
+ * <p>崩溃安全：整条记录（含末尾 CRC）写入后才推进写位置；重放时遇到类型非法或 CRC 不符的记录即视为撕裂尾部，
+ * 停止读取并把该位置之后清零，下一次追加从这里覆盖。</p>
+ */
+final class MappedLog implements AutoCloseable {
+
+    static final int REGION_SIZE = 64 * 1024 * 1024;
+    static final int MAX_JTI_BYTES = 1024;
+
+    private static final int MAGIC = 0x4143424C; // "ACBL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte T_END = 0x00;
+    private static final byte T_UUID = 0x01;
+    private static final byte T_STRING = 0x02;
+    private static final byte T_PAD = 0x7F;
+
+    static final int UUID_RECORD_SIZE = 1 + 8 + 8 + 8 + 4;
+    private static final int MAX_RECORD_SIZE = 1 + 2 + MAX_JTI_BYTES + 8 + 4;
+
+    /** 重放回调 */
+    interface Visitor {
+        /**
+         * 重放前回调：日志中的记录数上界（含已过期/撕裂前的记录），供调用方一次性预扩容。
+         */
+        default void expect(long records) {
+        }
+
+        void uuid(long msb, long lsb, long expMillis);
+
+        void string(String jti, long expMillis);
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final byte[] scratch = new byte[MAX_RECORD_SIZE];
+    private final CRC32C crc = new CRC32C();
+
+    /** 当前段下标与段内写位置 */
+    private int region;
+    private int position;
+    /** 日志中的记录数（含已过期/被覆盖的记录），用于判断是否需要压缩 */
+    private long records;
+    private boolean dirty;
+
+    private MappedLog(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * 打开（不存在则创建）日志并逐条重放。
+     */
+    static MappedLog open(Path path, Visitor visitor) {
+        FileChannel ch;
+        try {
+            ch = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open token log " + path, e);
+        }
+        MappedLog log = new MappedLog(path, ch);
+        try {
+            log.load(visitor);
+        } catch (RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        return log;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long records() {
+        return records;
+    }
+
+    long sizeBytes() {
+        return (long) region * REGION_SIZE + position;
+    }
+
+    void appendUuid(long msb, long lsb, long expMillis) {
+        byte[] b = scratch;
+        b[0] = T_UUID;
+        putLong(b, 1, msb);
+        putLong(b, 9, lsb);
+        putLong(b, 17, expMillis);
+        write(b, UUID_RECORD_SIZE);
+    }
+
+    void appendString(String jti, long expMillis) {
+        byte[] utf8 = jti.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > MAX_JTI_BYTES) {
+            throw new IllegalArgumentException("jti too long to persist: " + utf8.length + " bytes");
+        }
+        byte[] b = scratch;
+        b[0] = T_STRING;
+        b[1] = (byte) (utf8.length >>> 8);
+        b[2] = (byte) utf8.length;
+        System.arraycopy(utf8, 0, b, 3, utf8.length);
+        putLong(b, 3 + utf8.length, expMillis);
+        write(b, 3 + utf8.length + 8 + 4);
+    }
+
+    /**
+     * 将已映射的脏页刷到磁盘（进程崩溃不依赖此调用；掉电安全依赖此调用）。
+     */
+    void force() {
+        if (!dirty) return;
+        for (MappedByteBuffer buf : regions) {
+            buf.force();
+        }
+        // force 成功后才清除：失败时保留脏标记，下一次 force 重试
+        dirty = false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            force();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败不影响已写入数据
+            }
+        }
+    }
+
+    // ==================== 内部 ====================
+
+    /**
+     * 写入一条记录：len 含末尾 4 字节 CRC（由本方法计算填充）。
+     */
+    private void write(byte[] b, int len) {
+        crc.reset();
+        crc.update(b, 0, len - 4);
+        putInt(b, len - 4, (int) crc.getValue());
+
+        MappedByteBuffer buf = regionFor(len);
+        buf.put(position, b, 0, len);
+        position += len;
+        records++;
+        dirty = true;
+    }
+
+    /**
+     * 当前段剩余空间不足时写 PAD 并切换到下一段（必要时扩展文件）。
+     */
+    private MappedByteBuffer regionFor(int len) {
+        MappedByteBuffer buf = map(region);
+        if (position + len > REGION_SIZE) {
+            if (position < REGION_SIZE) {
+                buf.put(position, T_PAD);
+            }
+            region++;
+            position = 0;
+            buf = map(region);
+        }
+        return buf;
+    }
+
+    private MappedByteBuffer map(int index) {
+        while (regions.size() <= index) {
+            try {
+                long offset = (long) regions.size() * REGION_SIZE;
+                regions.add(channel.map(FileChannel.MapMode.READ_WRITE, offset, REGION_SIZE));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map token log " + path, e);
+            }
+        }
+        return regions.get(index);
+    }
+
+    private void load(Visitor visitor) {
+        long fileSize;
+        try {
+            fileSize = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read token log " + path, e);
+        }
+        MappedByteBuffer first = map(0);
+        if (fileSize == 0) {
+            first.putInt(0, MAGIC);
+            first.putInt(4, VERSION);
+            position = HEADER_SIZE;
+            dirty = true;
+            return;
+        }
+        if (first.getInt(0) != MAGIC || first.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an auth-center token log (bad header): " + path);
+        }
+
+        long regionCount = (fileSize + REGION_SIZE - 1) / REGION_SIZE;
+        if (visitor != null) {
+            // 文件按段扩展，大小不反映数据量：先按记录头快速计数
+            visitor.expect(countRecords(regionCount));
+        }
+        byte[] b = scratch;
+        region = 0;
+        position = HEADER_SIZE;
+        while (true) {
+            MappedByteBuffer buf = map(region);
+            byte type = position < REGION_SIZE ? buf.get(position) : T_PAD;
+
+            if (type == T_PAD) {
+                if (region + 1 >= regionCount) {
+                    // 没有下一段：停在本段末尾，下一次写入会扩展新段
+                    position = REGION_SIZE;
+                    return;
+                }
+                region++;
+                position = 0;
+                continue;
+            }
+            if (type == T_END) {
+                return;
+            }
+
+            int len = recordLength(buf, position, type);
+            if (len < 0 || position + len > REGION_SIZE || !validCrc(buf, b, len)) {
+                truncateTail(buf);
+                return;
+            }
+
+            if (type == T_UUID) {
+                visitor.uuid(getLong(b, 1), getLong(b, 9), getLong(b, 17));
+            } else {
+                int n = len - 3 - 8 - 4;
+                visitor.string(new String(b, 3, n, StandardCharsets.UTF_8), getLong(b, 3 + n));
+            }
+            position += len;
+            records++;
+        }
+    }
+
+    /**
+     * 只按类型与长度跳过记录（不校验 CRC、不回调），得到记录数上界。
+     */
+    private long countRecords(long regionCount) {
+        long count = 0;
+        int r = 0;
+        int pos = HEADER_SIZE;
+        while (true) {
+            MappedByteBuffer buf = map(r);
+            byte type = pos < REGION_SIZE ? buf.get(pos) : T_PAD;
+            if (type == T_PAD) {
+                if (r + 1 >= regionCount) return count;
+                r++;
+                pos = 0;
+                continue;
+            }
+            if (type == T_END) return count;
+
+            int len = recordLength(buf, pos, type);
+            if (len < 0 || pos + len > REGION_SIZE) return count;
+            pos += len;
+            count++;
+        }
+    }
+
+    /**
+     * @return 记录总长（含 CRC）；类型非法或长度越界返回 -1
+     */
+    private static int recordLength(MappedByteBuffer buf, int pos, byte type) {
+        if (type == T_UUID) {
+            return UUID_RECORD_SIZE;
+        }
+        if (type == T_STRING && pos + 3 <= REGION_SIZE) {
+            int n = ((buf.get(pos + 1) & 0xFF) << 8) | (buf.get(pos + 2) & 0xFF);
+            return n <= MAX_JTI_BYTES ? 3 + n + 8 + 4 : -1;
+        }
+        return -1;
+    }
+
+    private boolean validCrc(MappedByteBuffer buf, byte[] b, int len) {
+        buf.get(position, b, 0, len);
+        crc.reset();
+        crc.update(b, 0, len - 4);
+        return (int) crc.getValue() == getInt(b, len - 4);
+    }
+
+    /**
+     * 撕裂尾部：清零其后可能残留的字节，保证后续覆盖写入不会与残片拼接。
+     */
+    private void truncateTail(MappedByteBuffer buf) {
+        int end = Math.min(REGION_SIZE, position + MAX_RECORD_SIZE);
+        for (int i = position; i < end; i++) {
+            buf.put(i, T_END);
+        }
+        dirty = true;
+    }
+
+    private static void putLong(byte[] b, int off, long v) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (b[off + i] & 0xFF);
+        }
+        return v;
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static int getInt(byte[] b, int off) {
+        return ((b[off] & 0xFF) << 24) | ((b[off + 1] & 0xFF) << 16)
+                | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+}
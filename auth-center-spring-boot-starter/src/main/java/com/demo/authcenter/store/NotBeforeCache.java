@@ -0,0 +1,72 @@
+package com.demo.authcenter.store;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 远端用户级吊销的本地缓存：userId -> (notBefore, 缓存时间)，原始类型表存放（上限 10 万用户）。
+ *
+ * <p>查询结果（含"未吊销"）缓存 ttl；写入只增不减，避免慢查询回写覆盖本节点刚写入的更大值。</p>
+ */
+final class NotBeforeCache {
+
+    /** 本地缓存用户数上限：超过后整表清空重建（缓存只是加速，清空不影响正确性） */
+    private static final int MAX_CACHED_USERS = 100_000;
+
+    private final long ttlMillis;
+
+    private final StampedLock lock = new StampedLock();
+    private final LongLongHashMap cachedValue = new LongLongHashMap(1024);
+    private final LongLongHashMap cachedAt = new LongLongHashMap(1024);
+
+    NotBeforeCache(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    boolean enabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * @return 缓存的 notBefore；未命中或已过期返回 -1
+     */
+    long get(long userId, long now) {
+        if (ttlMillis <= 0) return -1;
+        long stamp = lock.readLock();
+        try {
+            long at = cachedAt.get(userId, 0);
+            if (at > 0 && now - at < ttlMillis) {
+                return cachedValue.get(userId, 0);
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void put(long userId, long value, long at) {
+        if (ttlMillis <= 0) return;
+        long stamp = lock.writeLock();
+        try {
+            if (cachedAt.size() >= MAX_CACHED_USERS) {
+                cachedValue.clear();
+                cachedAt.clear();
+            }
+            if (value >= cachedValue.get(userId, 0)) {
+                cachedValue.put(userId, value);
+            }
+            cachedAt.put(userId, at);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            cachedValue.clear();
+            cachedAt.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
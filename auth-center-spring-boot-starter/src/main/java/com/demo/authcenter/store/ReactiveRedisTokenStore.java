@@ -0,0 +1,57 @@
+package com.demo.authcenter.store;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 响应式 Redis TokenStore：与 {@link RedisTokenStore} 使用相同的 key 格式（前缀 + jti，value="1"），可混合部署。
+ *
+ * <p>基于 {@link ReactiveStringRedisTemplate}（Lettuce 非阻塞连接），请求路径上不占用事件循环线程。</p>
+ */
+public class ReactiveRedisTokenStore implements ReactiveTokenStore {
+
+    private static final String VALUE = "1";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final String keyPrefix;
+
+    public ReactiveRedisTokenStore(ReactiveStringRedisTemplate redis, String keyPrefix) {
+        this.redis = Objects.requireNonNull(redis, "redis must not be null");
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+    }
+
+    @Override
+    public Mono<Void> blacklist(String jti, Instant expiresAt) {
+        Duration ttl = ttl(jti, expiresAt);
+        if (ttl == null) return Mono.empty();
+        return redis.opsForValue().set(key(jti), VALUE, ttl).then();
+    }
+
+    @Override
+    public Mono<Boolean> blacklistIfAbsent(String jti, Instant expiresAt) {
+        Duration ttl = ttl(jti, expiresAt);
+        if (ttl == null) return Mono.just(false);
+        return redis.opsForValue().setIfAbsent(key(jti), VALUE, ttl).map(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public Mono<Boolean> isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return Mono.just(false);
+        return redis.hasKey(key(jti)).map(Boolean.TRUE::equals);
+    }
+
+    private String key(String jti) {
+        return keyPrefix + jti;
+    }
+
+    /** 已过期或参数非法时返回 null（无需写入） */
+    private static Duration ttl(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return null;
+        long ms = expiresAt.toEpochMilli() - System.currentTimeMillis();
+        return ms <= 0 ? null : Duration.ofMillis(ms);
+    }
+}
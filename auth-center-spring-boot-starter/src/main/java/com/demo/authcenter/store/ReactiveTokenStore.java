@@ -0,0 +1,39 @@
+package com.demo.authcenter.store;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Instant;
+
+/**
+ * {@link TokenStore} 的响应式版本：供 WebFlux 鉴权链路使用，实现不得阻塞调用线程。
+ *
+ * <p>语义与 {@link TokenStore} 一一对应；阻塞实现可通过 {@link #adapt(TokenStore, Scheduler)} 桥接。</p>
+ */
+public interface ReactiveTokenStore {
+
+    /**
+     * 将指定 jti 拉黑到 expiresAt 为止（幂等）。
+     */
+    Mono<Void> blacklist(String jti, Instant expiresAt);
+
+    /**
+     * 原子拉黑：仅当 jti 尚未被拉黑时才执行；true 表示首次拉黑成功。
+     */
+    Mono<Boolean> blacklistIfAbsent(String jti, Instant expiresAt);
+
+    /**
+     * 判断指定 jti 是否已被拉黑。
+     */
+    Mono<Boolean> isBlacklisted(String jti);
+
+    /**
+     * 桥接阻塞 TokenStore。
+     *
+     * @param scheduler 执行阻塞调用的线程池（如 boundedElastic）；为 null 时在调用线程内联执行，
+     *                  仅适用于纯内存实现
+     */
+    static ReactiveTokenStore adapt(TokenStore delegate, Scheduler scheduler) {
+        return new BlockingTokenStoreAdapter(delegate, scheduler);
+    }
+}
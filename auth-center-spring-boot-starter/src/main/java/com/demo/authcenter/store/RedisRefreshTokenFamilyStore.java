@@ -0,0 +1,91 @@
+package com.demo.authcenter.store;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Redis refresh token 家族存储：多节点共享。
+ *
+ * <p>数据模型：每个家族一个 key（前缀 + fid），value 为当前 head jti，吊销后为 {@value #REVOKED}；
+ * TTL 取"现有 TTL"与"新 refresh 剩余有效期"中的较大者。</p>
+ *
+ * <p>推进与重放判定在一个 Lua 脚本内完成（GET + 比较 + SET），单次往返、原子。</p>
+ */
+public class RedisRefreshTokenFamilyStore implements RefreshTokenFamilyStore {
+
+    private static final String REVOKED = "!";
+
+    /** KEYS[1]=family；ARGV: presented, next, ttlMillis；返回 0=ROTATED 1=REUSED 2=REVOKED */
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('GET', KEYS[1]) "
+                    + "local ttl = tonumber(ARGV[3]) "
+                    + "local pttl = redis.call('PTTL', KEYS[1]) "
+                    + "if pttl > ttl then ttl = pttl end "
+                    + "if cur == '" + REVOKED + "' then return 2 end "
+                    + "if cur and cur ~= ARGV[1] then "
+                    + "  redis.call('SET', KEYS[1], '" + REVOKED + "', 'PX', ttl) return 1 "
+                    + "end "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl) return 0",
+            Long.class);
+
+    /** KEYS[1]=family；ARGV: ttlMillis */
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "local ttl = tonumber(ARGV[1]) "
+                    + "local pttl = redis.call('PTTL', KEYS[1]) "
+                    + "if pttl > ttl then ttl = pttl end "
+                    + "redis.call('SET', KEYS[1], '" + REVOKED + "', 'PX', ttl) return 1",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+
+    public RedisRefreshTokenFamilyStore(StringRedisTemplate redis, String keyPrefix) {
+        this.redis = Objects.requireNonNull(redis, "redis must not be null");
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+    }
+
+    @Override
+    public Result advance(String familyId, String presentedJti, String nextJti, Instant expiresAt) {
+        Objects.requireNonNull(familyId, "familyId must not be null");
+        Objects.requireNonNull(presentedJti, "presentedJti must not be null");
+        Objects.requireNonNull(nextJti, "nextJti must not be null");
+        long ttl = ttlMillis(Objects.requireNonNull(expiresAt, "expiresAt must not be null"));
+
+        Long code = redis.execute(ADVANCE_SCRIPT, List.of(key(familyId)),
+                presentedJti, nextJti, Long.toString(ttl));
+        if (code == null) {
+            throw new IllegalStateException("Redis returned no result for family advance");
+        }
+        return switch (code.intValue()) {
+            case 0 -> Result.ROTATED;
+            case 1 -> Result.REUSED;
+            default -> Result.REVOKED;
+        };
+    }
+
+    @Override
+    public void revoke(String familyId, Instant expiresAt) {
+        if (familyId == null || expiresAt == null) return;
+        long ttl = ttlMillis(expiresAt);
+        redis.execute(REVOKE_SCRIPT, List.of(key(familyId)), Long.toString(ttl));
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) return false;
+        return REVOKED.equals(redis.opsForValue().get(key(familyId)));
+    }
+
+    private String key(String familyId) {
+        return keyPrefix + familyId;
+    }
+
+    private static long ttlMillis(Instant expiresAt) {
+        return Math.max(1, expiresAt.toEpochMilli() - System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,188 @@
+package com.demo.authcenter.store;
+
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Redis TokenStore：多节点共享黑名单。
+ *
+ * <p>数据模型：每个 jti 一个 key（前缀 + jti），value 固定为 "1"，TTL = expiresAt - now，
+ * 到期由 Redis 自动删除，无需额外清理任务。</p>
+ *
+ * <p>命令映射：
+ * <ul>
+ *   <li>blacklist：{@code SET key 1 PX ttl}（幂等覆盖）</li>
+ *   <li>blacklistIfAbsent：{@code SET key 1 NX PX ttl}（单命令原子，refresh rotation 并发下只有一个成功）</li>
+ *   <li>isBlacklisted：{@code EXISTS key}</li>
+ *   <li>blacklistAll / areBlacklisted：pipeline 批量 {@code SET PX} / {@code EXISTS}，N 条一次往返</li>
+ *   <li>forEachBlacklisted：{@code SCAN MATCH prefix* COUNT 1000}（供近端 Bloom Filter 同步，不阻塞 Redis）</li>
+ * </ul>
+ *
+ * <p>异步方法（{@code *Async}）在 asyncExecutor 上执行同一条命令，调用线程不等待往返；
+ * 默认使用 {@link AsyncTokenStore#defaultExecutor()}。</p>
+ *
+ * <p>连接：复用业务方的 RedisConnectionFactory（Lettuce 默认共享线程安全连接；如需连接池，
+ * 按 Spring Boot 方式配置 {@code spring.data.redis.lettuce.pool.*} 并引入 commons-pool2）。</p>
+ */
+public class RedisTokenStore implements EnumerableTokenStore, AsyncTokenStore {
+
+    private static final String VALUE = "1";
+    private static final byte[] RAW_VALUE = VALUE.getBytes(StandardCharsets.UTF_8);
+    private static final long SCAN_COUNT = 1000;
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final Executor asyncExecutor;
+
+    public RedisTokenStore(StringRedisTemplate redis, String keyPrefix) {
+        this(redis, keyPrefix, null);
+    }
+
+    /**
+     * @param asyncExecutor 异步方法的执行器；为 null 时使用 {@link AsyncTokenStore#defaultExecutor()}
+     */
+    public RedisTokenStore(StringRedisTemplate redis, String keyPrefix, Executor asyncExecutor) {
+        this.redis = Objects.requireNonNull(redis, "redis must not be null");
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+        this.asyncExecutor = asyncExecutor == null ? AsyncTokenStore.defaultExecutor() : asyncExecutor;
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        long ttl = ttlMillisOrNeg(jti, expiresAt);
+        if (ttl <= 0) return;
+
+        // 显式 SET PX（opsForValue().set(k, v, timeout) 会下发已不推荐的 PSETEX）
+        byte[] rawKey = rawKey(jti);
+        redis.execute((RedisCallback<Boolean>) c -> c.stringCommands()
+                .set(rawKey, RAW_VALUE, Expiration.milliseconds(ttl), RedisStringCommands.SetOption.upsert()));
+    }
+
+    @Override
+    public void blacklistAll(Map<String, Instant> entries) {
+        if (entries.size() <= 1) {
+            entries.forEach(this::blacklist);
+            return;
+        }
+        redis.executePipelined((RedisCallback<Object>) c -> {
+            entries.forEach((jti, expiresAt) -> {
+                long ttl = ttlMillisOrNeg(jti, expiresAt);
+                if (ttl > 0) {
+                    c.stringCommands().set(rawKey(jti), RAW_VALUE, Expiration.milliseconds(ttl),
+                            RedisStringCommands.SetOption.upsert());
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        long ttl = ttlMillisOrNeg(jti, expiresAt);
+        if (ttl <= 0) return false;
+
+        Boolean ok = redis.opsForValue().setIfAbsent(key(jti), VALUE, ttl, TimeUnit.MILLISECONDS);
+        return Boolean.TRUE.equals(ok);
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return false;
+        return Boolean.TRUE.equals(redis.hasKey(key(jti)));
+    }
+
+    @Override
+    public Set<String> areBlacklisted(Collection<String> jtis) {
+        List<String> keys = new ArrayList<>(jtis.size());
+        for (String jti : jtis) {
+            if (jti != null && !jti.isBlank()) keys.add(jti);
+        }
+        if (keys.isEmpty()) return Set.of();
+
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) c -> {
+            for (String jti : keys) {
+                c.keyCommands().exists(rawKey(jti));
+            }
+            return null;
+        });
+        Set<String> hit = new HashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                hit.add(keys.get(i));
+            }
+        }
+        return hit;
+    }
+
+    @Override
+    public CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+        return CompletableFuture.runAsync(() -> blacklist(jti, expiresAt), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+        return CompletableFuture.supplyAsync(() -> blacklistIfAbsent(jti, expiresAt), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+        return CompletableFuture.supplyAsync(() -> isBlacklisted(jti), asyncExecutor);
+    }
+
+    @Override
+    public void forEachBlacklisted(Consumer<String> action) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(escapeGlob(keyPrefix) + "*")
+                .count(SCAN_COUNT)
+                .build();
+        int prefixLen = keyPrefix.length();
+        try (Cursor<String> cursor = redis.scan(options)) {
+            while (cursor.hasNext()) {
+                action.accept(cursor.next().substring(prefixLen));
+            }
+        }
+    }
+
+    private String key(String jti) {
+        return keyPrefix + jti;
+    }
+
+    private byte[] rawKey(String jti) {
+        return key(jti).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long ttlMillisOrNeg(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return -1;
+        return expiresAt.toEpochMilli() - System.currentTimeMillis();
+    }
+
+    private static String escapeGlob(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 4);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.authcenter.store;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Redis 用户级吊销：多节点共享 userId -> notBefore。
+ *
+ * <p>数据模型：每个用户一个 key（前缀 + userId），value 为 notBefore 毫秒；
+ * TTL = retention（应不小于 refresh token 有效期）：超过该时长后，吊销前签发的 token 已全部自然过期，记录可安全删除。</p>
+ *
+ * <p>写入：Lua 脚本"仅当更大时写入"，保证并发吊销不会把 notBefore 回退。</p>
+ *
+ * <p>本地缓存：查询结果（含"未吊销"）在本节点缓存 cacheTtl，用原始类型表存放（上限 10 万用户）；本节点发起的吊销直接写穿缓存。
+ * 其他节点的吊销最多延迟 cacheTtl 生效；cacheTtl=0 时每次查询都访问 Redis。</p>
+ */
+public class RedisUserRevocationStore implements UserRevocationStore {
+
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('GET', KEYS[1]) "
+                    + "if (not cur) or tonumber(cur) < tonumber(ARGV[1]) then "
+                    + "  redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) return tonumber(ARGV[1]) "
+                    + "end "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) return tonumber(cur)",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final long retentionMillis;
+    private final NotBeforeCache cache;
+
+    public RedisUserRevocationStore(StringRedisTemplate redis, String keyPrefix, Duration retention, Duration cacheTtl) {
+        this.redis = Objects.requireNonNull(redis, "redis must not be null");
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+        this.retentionMillis = Objects.requireNonNull(retention, "retention must not be null").toMillis();
+        this.cache = new NotBeforeCache(cacheTtl == null ? 0 : cacheTtl.toMillis());
+        if (retentionMillis <= 0) {
+            throw new IllegalArgumentException("retention must be > 0");
+        }
+    }
+
+    @Override
+    public void revokeAllBefore(long userId, Instant cutoff) {
+        Objects.requireNonNull(cutoff, "cutoff must not be null");
+        long millis = UserRevocationStore.floorToSecond(cutoff);
+
+        Long effective = redis.execute(REVOKE_SCRIPT, List.of(key(userId)),
+                Long.toString(millis), Long.toString(retentionMillis));
+        cache.put(userId, effective == null ? millis : effective, System.currentTimeMillis());
+    }
+
+    @Override
+    public long notBeforeMillis(long userId) {
+        long now = System.currentTimeMillis();
+        long cached = cache.get(userId, now);
+        if (cached >= 0) {
+            return cached;
+        }
+
+        String raw = redis.opsForValue().get(key(userId));
+        long value = parse(raw);
+        cache.put(userId, value, now);
+        return value;
+    }
+
+    /** 清空本地缓存 */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private String key(long userId) {
+        return keyPrefix + userId;
+    }
+
+    private static long parse(String raw) {
+        if (raw == null || raw.isBlank()) return 0;
+        try {
+            return Long.parseLong(raw.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
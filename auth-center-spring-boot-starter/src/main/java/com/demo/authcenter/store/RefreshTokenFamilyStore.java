@@ -0,0 +1,46 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+
+/**
+ * Refresh token 家族存储：记录每个家族（一次登录产生的 refresh 链）当前的 head jti。
+ *
+ * <h3>重放检测</h3>
+ * <p>rotation 时以"出示的 jti == 当前 head"为条件原子推进 head。出示的是家族中较早的成员（已被轮换掉），
+ * 说明该 refresh 被复制过：无法判断哪一方是合法客户端，因此一次写入吊销整个家族，
+ * 攻击者已轮换出的分支与合法分支同时失效。</p>
+ *
+ * <h3>生命周期</h3>
+ * <p>家族记录的过期时间随每次 rotation 延长到最新 refresh 的过期时间；吊销标记同样保留到该时间，之后自动删除。
+ * 不存在记录的家族（首次 rotation、或存储重启丢失）按出示的 token 接管为新的 head。</p>
+ */
+public interface RefreshTokenFamilyStore {
+
+    /**
+     * 以 presentedJti 为期望 head 原子推进到 nextJti。
+     *
+     * @param expiresAt 推进后家族记录的过期时间（新 refresh 的过期时间）
+     */
+    Result advance(String familyId, String presentedJti, String nextJti, Instant expiresAt);
+
+    /**
+     * 吊销整个家族（登出、检测到重放）。
+     *
+     * @param expiresAt 吊销标记至少保留到该时间
+     */
+    void revoke(String familyId, Instant expiresAt);
+
+    /**
+     * 家族是否已被吊销。
+     */
+    boolean isRevoked(String familyId);
+
+    enum Result {
+        /** 推进成功 */
+        ROTATED,
+        /** 出示的不是当前 head：检测到重放，家族已被吊销 */
+        REUSED,
+        /** 家族此前已被吊销 */
+        REVOKED
+    }
+}
@@ -0,0 +1,221 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段内存 TokenStore：jti 按哈希分到 N 个相互独立的段，单机使用。
+ *
+ * <p>面向 refresh 风暴（大量客户端同时 rotation）：{@link InMemoryTokenStore} 所有写入落在同一个 Map 上，
+ * 且 blacklistIfAbsent 遇到过期旧值时会再取一次系统时间；本实现中每段各自持锁、各自维护过期队列，
+ * 时间统一读取 {@link CoarseClock}（10ms 刷新），不同段之间的写入互不干扰。</p>
+ *
+ * <h3>段结构</h3>
+ * <ul>
+ *   <li>{@link ReentrantLock} + HashMap（jti -> expiresAtMillis）：putIfAbsent/过期替换在锁内一次完成</li>
+ *   <li>PriorityQueue 按 expiresAt 排序：写入时顺带弹出已到期队首；后台线程每个 tick 轮询清理一个段</li>
+ *   <li>覆盖写入会在队列中留下旧记录，弹出时按值比对，不会误删新值</li>
+ * </ul>
+ *
+ * <p>容量上限为全局条目数（各段共享一个 {@link AtomicInteger} 计数，新增条目时一次 CAS），
+ * 哈希分布不均时热点段不会先于总量被拒绝；总量满时先尝试清理其他段的已到期条目，
+ * 仍满则拒绝写入（抛出 {@link IllegalStateException}），与 {@link InMemoryTokenStore} 的溢出策略一致。</p>
+ */
+public class ShardedInMemoryTokenStore implements TokenStore, AutoCloseable {
+
+    /** 默认段数 */
+    public static final int DEFAULT_SHARDS = 64;
+
+    private static final long TICK_MILLIS = 10;
+
+    private final Segment[] segments;
+    private final int mask;
+    private final int maxEntries;
+    /** 全部段的条目数（含尚未清理的已过期条目） */
+    private final AtomicInteger count = new AtomicInteger();
+    private final CoarseClock clock = new CoarseClock();
+
+    private final ScheduledExecutorService ticker;
+    private int sweepCursor;
+
+    public ShardedInMemoryTokenStore() {
+        this(DEFAULT_SHARDS, InMemoryTokenStore.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param shards     段数（向上取整为 2 的幂）
+     * @param maxEntries 总容量上限
+     */
+    public ShardedInMemoryTokenStore(int shards, int maxEntries) {
+        if (shards <= 0 || shards > (1 << 16)) {
+            throw new IllegalArgumentException("shards must be in [1, 65536]");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        int n = 1;
+        while (n < shards) {
+            n <<= 1;
+        }
+        this.segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment();
+        }
+        this.mask = n - 1;
+        this.maxEntries = maxEntries;
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-center-token-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return;
+        long expMillis = expiresAt.toEpochMilli();
+        long now = clock.millis();
+        if (expMillis <= now) return;
+
+        segmentFor(jti).put(jti, expMillis, now, true);
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank() || expiresAt == null) return false;
+        long expMillis = expiresAt.toEpochMilli();
+        long now = clock.millis();
+        if (expMillis <= now) return false;
+
+        return segmentFor(jti).put(jti, expMillis, now, false);
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null || jti.isBlank()) return false;
+        return segmentFor(jti).isLive(jti, clock.millis());
+    }
+
+    /** 当前条目数（含尚未清理的已过期条目） */
+    public int size() {
+        return count.get();
+    }
+
+    public int shardCount() {
+        return segments.length;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private Segment segmentFor(String jti) {
+        int h = jti.hashCode();
+        h ^= h >>> 16;
+        return segments[h & mask];
+    }
+
+    /**
+     * 占用一个全局名额；已满时先清理其他段（tryLock，持有本段锁时不阻塞等待其他段，避免死锁）再重试一次。
+     */
+    private void acquireSlot(long now) {
+        if (count.incrementAndGet() <= maxEntries) return;
+        count.decrementAndGet();
+
+        for (Segment s : segments) {
+            s.trySweep(now);
+        }
+        if (count.incrementAndGet() <= maxEntries) return;
+        count.decrementAndGet();
+        throw new IllegalStateException("ShardedInMemoryTokenStore is full (maxEntries=" + maxEntries + ")");
+    }
+
+    /**
+     * 后台 tick：刷新粗粒度时钟，并轮询清理一个段（tryLock，不与业务线程争抢）。
+     */
+    private void tick() {
+        try {
+            clock.tick();
+            Segment s = segments[sweepCursor];
+            sweepCursor = (sweepCursor + 1) & mask;
+            s.trySweep(clock.millis());
+        } catch (RuntimeException ignored) {
+            // 保证定时任务不因异常终止
+        }
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final HashMap<String, Long> entries = new HashMap<>();
+        private final PriorityQueue<Expiry> expiries = new PriorityQueue<>();
+
+        /**
+         * @param overwrite true：覆盖写入（blacklist）；false：仅当不存在或已过期时写入（blacklistIfAbsent）
+         */
+        boolean put(String jti, long expMillis, long now, boolean overwrite) {
+            lock.lock();
+            try {
+                sweep(now);
+                Long prev = entries.get(jti);
+                if (prev == null) {
+                    acquireSlot(now);
+                } else if (!overwrite && prev > now) {
+                    return false;
+                }
+                entries.put(jti, expMillis);
+                expiries.add(new Expiry(jti, expMillis));
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isLive(String jti, long now) {
+            lock.lock();
+            try {
+                Long exp = entries.get(jti);
+                return exp != null && exp > now;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void trySweep(long now) {
+            if (lock.tryLock()) {
+                try {
+                    sweep(now);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /** 弹出所有已到期队首（调用方持锁） */
+        private void sweep(long now) {
+            Expiry head;
+            while ((head = expiries.peek()) != null && head.expMillis <= now) {
+                expiries.poll();
+                if (entries.remove(head.jti, head.expMillis)) {
+                    count.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private record Expiry(String jti, long expMillis) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry o) {
+            return Long.compare(expMillis, o.expMillis);
+        }
+    }
+}
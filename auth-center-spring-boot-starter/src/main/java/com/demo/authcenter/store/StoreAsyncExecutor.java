@@ -0,0 +1,40 @@
+package com.demo.authcenter.store;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 远端 TokenStore 异步方法的默认执行器（见 {@link AsyncTokenStore#defaultExecutor()}）。
+ *
+ * <p>固定上限的守护线程池：线程数 max(4, 2 × CPU)，空闲 60 秒回收，任务超出线程数时排队；
+ * 首次使用时才创建，不注册为 Spring Bean（避免让 Boot 的 applicationTaskExecutor 退让）。</p>
+ */
+final class StoreAsyncExecutor {
+
+    private StoreAsyncExecutor() {}
+
+    static Executor get() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            AtomicInteger seq = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "auth-center-store-async-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link TokenStore} -> {@link AsyncTokenStore} 适配器。
+ *
+ * <p>有 executor 时异步方法切换到 executor 执行，批量方法把每条操作同时提交、全部完成后返回
+ * （N 条操作的耗时约为一次往返而非 N 次）；无 executor 时退化为调用线程内顺序执行。</p>
+ *
+ * <p>delegate 已实现 {@link AsyncTokenStore}（但沿用了内联的异步默认实现）时，批量方法直接交给其批量实现。</p>
+ */
+final class TokenStoreAsyncAdapter implements AsyncTokenStore {
+
+    private final TokenStore delegate;
+    /** delegate 自身的批量实现；未实现 AsyncTokenStore 时为 null */
+    private final AsyncTokenStore batchDelegate;
+    /** 为 null 时内联执行 */
+    private final Executor executor;
+
+    TokenStoreAsyncAdapter(TokenStore delegate, Executor executor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.batchDelegate = delegate instanceof AsyncTokenStore async ? async : null;
+        this.executor = executor;
+    }
+
+    @Override
+    public void blacklist(String jti, Instant expiresAt) {
+        delegate.blacklist(jti, expiresAt);
+    }
+
+    @Override
+    public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+        return delegate.blacklistIfAbsent(jti, expiresAt);
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        return delegate.isBlacklisted(jti);
+    }
+
+    @Override
+    public CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+        if (executor == null) {
+            return AsyncTokenStore.super.blacklistAsync(jti, expiresAt);
+        }
+        return CompletableFuture.runAsync(() -> delegate.blacklist(jti, expiresAt), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+        if (executor == null) {
+            return AsyncTokenStore.super.blacklistIfAbsentAsync(jti, expiresAt);
+        }
+        return CompletableFuture.supplyAsync(() -> delegate.blacklistIfAbsent(jti, expiresAt), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+        if (executor == null) {
+            return AsyncTokenStore.super.isBlacklistedAsync(jti);
+        }
+        return CompletableFuture.supplyAsync(() -> delegate.isBlacklisted(jti), executor);
+    }
+
+    @Override
+    public void blacklistAll(Map<String, Instant> entries) {
+        if (batchDelegate != null) {
+            batchDelegate.blacklistAll(entries);
+            return;
+        }
+        if (executor == null || entries.size() <= 1) {
+            AsyncTokenStore.super.blacklistAll(entries);
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(entries.size());
+        entries.forEach((jti, exp) -> futures.add(blacklistAsync(jti, exp)));
+        join(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+    }
+
+    @Override
+    public Set<String> areBlacklisted(Collection<String> jtis) {
+        if (batchDelegate != null) {
+            return batchDelegate.areBlacklisted(jtis);
+        }
+        if (executor == null || jtis.size() <= 1) {
+            return AsyncTokenStore.super.areBlacklisted(jtis);
+        }
+        List<String> keys = new ArrayList<>(jtis);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(keys.size());
+        for (String jti : keys) {
+            futures.add(isBlacklistedAsync(jti));
+        }
+        join(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+
+        Set<String> hit = new HashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (Boolean.TRUE.equals(futures.get(i).join())) {
+                hit.add(keys.get(i));
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * 等待全部完成；任一失败时抛出其原始 RuntimeException。
+     */
+    private static void join(CompletableFuture<Void> all) {
+        try {
+            all.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.demo.authcenter.store;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * 用户级吊销：记录 userId -> notBefore，签发时间早于 notBefore 的该用户 token 一律视为失效。
+ *
+ * <p>与 {@link TokenStore} 的 jti 黑名单互补：黑名单需要知道每个 jti，无法枚举"某用户持有的所有 token"；
+ * 本接口只需一次写入即可让该用户此前签发的全部 access/refresh token 失效（改密码、改角色、强制下线）。</p>
+ *
+ * <h3>精度</h3>
+ * <p>JWT 的 iat 只精确到秒，notBefore 写入时向下取整到秒：同一秒内、吊销之前签发的 token 不会被拦截
+ * （最多 1 秒的窗口），换来的是吊销后立即重新登录拿到的新 token 不会被误拒。</p>
+ */
+public interface UserRevocationStore {
+
+    /**
+     * 吊销该用户在 cutoff 之前签发的所有 token（多次调用取最大值，不会回退）。
+     */
+    void revokeAllBefore(long userId, Instant cutoff);
+
+    /**
+     * @return 该用户的 notBefore（epoch 毫秒，已取整到秒）；未吊销返回 0
+     */
+    long notBeforeMillis(long userId);
+
+    /**
+     * 判断 token 是否因用户级吊销而失效。
+     *
+     * @param issuedAt token 的 iat；缺失 iat 且该用户存在吊销记录时视为失效
+     */
+    default boolean isRevoked(long userId, Date issuedAt) {
+        long notBefore = notBeforeMillis(userId);
+        if (notBefore <= 0) return false;
+        return issuedAt == null || issuedAt.getTime() < notBefore;
+    }
+
+    /**
+     * 取整到秒（向下）。
+     */
+    static long floorToSecond(Instant cutoff) {
+        return Math.floorDiv(cutoff.toEpochMilli(), 1000L) * 1000L;
+    }
+}
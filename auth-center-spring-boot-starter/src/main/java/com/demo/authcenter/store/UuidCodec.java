@@ -0,0 +1,62 @@
+package com.demo.authcenter.store;
+
+/**
+ * jti 与 UUID 两个 long 之间的无分配转换（Starter 内部使用）。
+ *
+ * <p>仅接受 {@link java.util.UUID#toString()} 的规范格式：8-4-4-4-12、小写十六进制。
+ * 大写或其他格式视为非 UUID，由调用方走字符串兜底路径，保证 jti 按原字符串精确匹配。</p>
+ */
+final class UuidCodec {
+
+    private static final int LENGTH = 36;
+
+    private UuidCodec() {
+    }
+
+    /**
+     * 是否为规范小写 UUID 字符串。
+     */
+    static boolean isCanonical(String s) {
+        if (s == null || s.length() != LENGTH) return false;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (hex(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 高 64 位（调用前需 {@link #isCanonical} 校验） */
+    static long msb(String s) {
+        return (parse(s, 0, 8) << 32) | (parse(s, 9, 13) << 16) | parse(s, 14, 18);
+    }
+
+    /** 低 64 位（调用前需 {@link #isCanonical} 校验） */
+    static long lsb(String s) {
+        return (parse(s, 19, 23) << 48) | parse(s, 24, 36);
+    }
+
+    /**
+     * 还原为规范字符串（用于持久化重放/枚举，非热路径）。
+     */
+    static String toString(long msb, long lsb) {
+        return new java.util.UUID(msb, lsb).toString();
+    }
+
+    private static long parse(String s, int from, int to) {
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            v = (v << 4) | hex(s.charAt(i));
+        }
+        return v;
+    }
+
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        return -1;
+    }
+}
@@ -10,6 +10,10 @@
  *   <li>可替换实现：InMemory（默认）/ Redis / JDBC 等</li>
  * </ul>
  *
- * <p>默认实现 InMemoryTokenStore 仅用于本地与 demo，生产建议替换为 Redis/JDBC。</p>
+ * <p>默认实现 InMemoryTokenStore 仅用于本地与 demo；业务引入 spring-data-redis 时自动切换为 RedisTokenStore，
+ * 也可通过 {@code auth-center.token-store.type} 显式指定。</p>
+ *
+ * <p>并发约定：本包实现只使用 j.u.c 锁（ReentrantLock / StampedLock）与 CAS，不使用 {@code synchronized}；
+ * ConcurrentHashMap.compute 等回调内不做 I/O。运行在虚拟线程上时，阻塞调用不会钉住载体线程。</p>
  */
 package com.demo.authcenter.store;
@@ -0,0 +1,29 @@
+package com.demo.authcenter.web.handler;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.web.response.ReactiveJsonResponseWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * 403 处理器（WebFlux）：已认证但无权限时返回统一 JSON。
+ */
+public class ReactiveRestAccessDeniedHandler implements ServerAccessDeniedHandler {
+
+    private final ReactiveJsonResponseWriter writer;
+
+    public ReactiveRestAccessDeniedHandler(ReactiveJsonResponseWriter writer) {
+        this.writer = Objects.requireNonNull(writer, "writer must not be null");
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException denied) {
+        return writer.writeError(exchange, HttpStatus.FORBIDDEN,
+                AuthErrorCodes.CODE_FORBIDDEN, exchange.getRequest().getPath().value());
+    }
+}
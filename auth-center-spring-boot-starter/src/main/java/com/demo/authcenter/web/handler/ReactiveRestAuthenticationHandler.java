@@ -0,0 +1,51 @@
+package com.demo.authcenter.web.handler;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.web.response.ReactiveJsonResponseWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * 401 认证失败处理器（WebFlux）：与 {@link RestAuthenticationHandler} 输出相同的 JSON 错误体。
+ *
+ * <p>判定顺序：优先读取 ReactiveJwtAuthFilter 写入 exchange attribute 的错误码；
+ * 若无，则无 Bearer Token 为 TOKEN_MISSING，否则为 TOKEN_INVALID。</p>
+ */
+public class ReactiveRestAuthenticationHandler implements ServerAuthenticationEntryPoint {
+
+    private final ReactiveJsonResponseWriter writer;
+
+    public ReactiveRestAuthenticationHandler(ReactiveJsonResponseWriter writer) {
+        this.writer = Objects.requireNonNull(writer, "writer must not be null");
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException ex) {
+        int code = resolveCode(exchange);
+        return writer.writeError(exchange, HttpStatus.UNAUTHORIZED, code, exchange.getRequest().getPath().value());
+    }
+
+    private int resolveCode(ServerWebExchange exchange) {
+        Object attr = exchange.getAttribute(AuthErrorCodes.REQ_ATTR_AUTH_ERROR_CODE);
+        if (attr instanceof Integer i) {
+            return i;
+        }
+
+        // Filter 未标记时的兜底逻辑
+        String auth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (auth == null || auth.isBlank() || !auth.startsWith("Bearer ")) {
+            return AuthErrorCodes.CODE_TOKEN_MISSING;
+        }
+        String token = auth.substring("Bearer ".length()).trim();
+        if (token.isEmpty()) {
+            return AuthErrorCodes.CODE_TOKEN_MISSING;
+        }
+        return AuthErrorCodes.CODE_TOKEN_INVALID;
+    }
+}
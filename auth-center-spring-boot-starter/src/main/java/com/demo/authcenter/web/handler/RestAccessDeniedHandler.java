@@ -1,7 +1,6 @@
 package com.demo.authcenter.web.handler;
 
 import com.demo.authcenter.exception.AuthErrorCodes;
-import com.demo.authcenter.web.response.ApiError;
 import com.demo.authcenter.web.response.JsonResponseWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -28,14 +27,9 @@ public class RestAccessDeniedHandler implements AccessDeniedHandler {
                        HttpServletResponse response,
                        AccessDeniedException ex) {
 
-        ApiError body = ApiError.of(
-                AuthErrorCodes.CODE_FORBIDDEN,
-                "权限不足",
-                request.getRequestURI()
-        );
-
         try {
-            writer.write(response, HttpServletResponse.SC_FORBIDDEN, body);
+            writer.writeError(response, HttpServletResponse.SC_FORBIDDEN,
+                    AuthErrorCodes.CODE_FORBIDDEN, request.getRequestURI());
         } catch (Exception ignore) {
             // writer 失败时至少保证状态码正确
             response.setStatus(HttpServletResponse.SC_FORBIDDEN);
@@ -1,7 +1,6 @@
 package com.demo.authcenter.web.handler;
 
 import com.demo.authcenter.exception.AuthErrorCodes;
-import com.demo.authcenter.web.response.ApiError;
 import com.demo.authcenter.web.response.JsonResponseWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -40,12 +39,9 @@ public class RestAuthenticationHandler implements AuthenticationEntryPoint {
                          AuthenticationException authException) {
 
         int code = resolveCode(request);
-        String message = resolveMessage(code);
-
-        ApiError body = ApiError.of(code, message, request.getRequestURI());
 
         try {
-            writer.write(response, HttpServletResponse.SC_UNAUTHORIZED, body);
+            writer.writeError(response, HttpServletResponse.SC_UNAUTHORIZED, code, request.getRequestURI());
         } catch (Exception ignore) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         }
@@ -75,14 +71,4 @@ public class RestAuthenticationHandler implements AuthenticationEntryPoint {
         }
         return AuthErrorCodes.CODE_TOKEN_INVALID;
     }
-
-    private String resolveMessage(int code) {
-        return switch (code) {
-            case AuthErrorCodes.CODE_TOKEN_EXPIRED -> "Token已过期";
-            case AuthErrorCodes.CODE_TOKEN_INVALID -> "Token非法或签名错误";
-            case AuthErrorCodes.CODE_TOKEN_BLACKLISTED -> "Token已失效（已登出或被踢下线）";
-            case AuthErrorCodes.CODE_TOKEN_MISSING -> "未认证或Token缺失";
-            default -> "未认证";
-        };
-    }
 }
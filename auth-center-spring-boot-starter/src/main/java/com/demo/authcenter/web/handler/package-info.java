@@ -3,6 +3,7 @@
  * <ul>
  *   <li>RestAuthenticationEntryPoint：认证失败时返回 401 JSON</li>
  *   <li>RestAccessDeniedHandler：授权失败时返回 403 JSON</li>
+ *   <li>ReactiveRestAuthenticationHandler / ReactiveRestAccessDeniedHandler：WebFlux 下的对应实现</li>
  * </ul>
  *
  * <p>职责边界：</p>
@@ -0,0 +1,132 @@
+package com.demo.authcenter.web.jwks;
+
+import com.demo.authcenter.security.JwtKeyRing;
+import com.demo.authcenter.security.JwtUtil;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * JWKS 端点：GET {auth-center.jwt.jwks-path}（默认 /.well-known/jwks.json）。
+ *
+ * <p>响应体按密钥环快照缓存：密钥环未变化时直接返回同一份字节，ETag 为响应体摘要；
+ * 携带匹配的 If-None-Match 时返回 304。退役密钥在其 verifyUntil 之前仍会发布（下游需要用它验签尚未过期的 token）。</p>
+ */
+@RestController
+public class JwksController {
+
+    public static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JwtUtil jwtUtil;
+    private final CacheControl cacheControl;
+
+    /** 当前密钥环对应的响应快照 */
+    private volatile Snapshot snapshot;
+
+    public JwksController(JwtUtil jwtUtil, long maxAgeSeconds) {
+        this.jwtUtil = Objects.requireNonNull(jwtUtil, "jwtUtil must not be null");
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(Math.max(0, maxAgeSeconds))).cachePublic();
+    }
+
+    @GetMapping(path = "${auth-center.jwt.jwks-path:/.well-known/jwks.json}")
+    public ResponseEntity<byte[]> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                       String ifNoneMatch) {
+        Snapshot s = current();
+        if (ifNoneMatch != null && matches(ifNoneMatch, s.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(s.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(s.etag())
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET)
+                .body(s.body());
+    }
+
+    private Snapshot current() {
+        JwtKeyRing ring = jwtUtil.keyRing();
+        long now = System.currentTimeMillis();
+        Snapshot s = snapshot;
+        if (s != null && s.ring() == ring && now < s.validUntilMillis()) {
+            return s;
+        }
+        // 并发下可能重复构建，结果相同
+        s = build(ring, now);
+        snapshot = s;
+        return s;
+    }
+
+    private static Snapshot build(JwtKeyRing ring, long now) {
+        List<JwtKeyRing.Entry> published = new ArrayList<>();
+        long validUntil = JwtKeyRing.NO_EXPIRY;
+        for (JwtKeyRing.Entry e : ring.entries().values()) {
+            if (!(e.verifyKey() instanceof PublicKey) || e.verifyUntilMillis() <= now) continue;
+            published.add(e);
+            validUntil = Math.min(validUntil, e.verifyUntilMillis());
+        }
+        // 固定顺序，保证同一密钥集合得到同一 ETag
+        published.sort(Comparator.comparing(JwtKeyRing.Entry::kid));
+
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        for (int i = 0; i < published.size(); i++) {
+            JwtKeyRing.Entry e = published.get(i);
+            PublicJwk<?> jwk = Jwks.builder().key((PublicKey) e.verifyKey())
+                    .id(e.kid())
+                    .algorithm(e.algorithm())
+                    .publicKeyUse("sig")
+                    .build();
+            if (i > 0) json.append(',');
+            json.append(Jwks.json(jwk));
+        }
+        json.append("]}");
+
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        return new Snapshot(ring, body, etag(body), validUntil);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || c.equals(etag) || c.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param validUntilMillis 快照中最早的 verifyUntil：到期后重建以移除过期密钥
+     */
+    private record Snapshot(JwtKeyRing ring, byte[] body, String etag, long validUntilMillis) {
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * JWKS 发布：将密钥环中非对称密钥的公钥以 JWK Set 形式对外提供，下游资源服务可离线验签。
+ *
+ * <p>只发布公钥；HS256 共享密钥永远不会出现在响应中。</p>
+ */
+package com.demo.authcenter.web.jwks;
@@ -23,7 +23,12 @@ public class ApiError {
     private final String path;
 
     private ApiError(int code, String message, String path) {
-        this.timestamp = OffsetDateTime.now();
+        this(OffsetDateTime.now(), code, message, path);
+    }
+
+    /** 指定时间戳（{@link ApiErrorTemplates} 比对 Jackson 输出时使用）。 */
+    ApiError(OffsetDateTime timestamp, int code, String message, String path) {
+        this.timestamp = timestamp;
         this.code = code;
         this.message = message;
         this.path = path;
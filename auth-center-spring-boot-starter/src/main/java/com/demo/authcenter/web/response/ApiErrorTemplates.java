@@ -0,0 +1,173 @@
+package com.demo.authcenter.web.response;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * 固定错误码的 ApiError 预编码模板（servlet / reactive 两个写出器共用）。
+ * <p>
+ * 401/403 的错误体除 timestamp 与 path 外完全固定：每个错误码预先编码为 UTF-8 字节片段，
+ * 写出时只拼接时间戳与转义后的 path，不经过 Jackson 的序列化器查找与 Writer 编码。
+ * <p>
+ * 兼容性：构建时用哨兵 ApiError 对比 ObjectMapper 的实际输出，任一字节不一致
+ * （字段命名策略、时间格式、缩进、自定义序列化器等）即放弃模板，写出器回退到 Jackson。
+ * 非默认提示语、path 为 null 或含增补字符（代理对）时同样回退。
+ */
+final class ApiErrorTemplates {
+
+    private static final int[] CODES = {
+            AuthErrorCodes.CODE_TOKEN_MISSING,
+            AuthErrorCodes.CODE_TOKEN_EXPIRED,
+            AuthErrorCodes.CODE_TOKEN_INVALID,
+            AuthErrorCodes.CODE_TOKEN_BLACKLISTED,
+            AuthErrorCodes.CODE_FORBIDDEN
+    };
+
+    private static final byte[] HEAD = ascii("{\"timestamp\":\"");
+    private static final byte[] TAIL = ascii("\"}");
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /** 与 CODES 一一对应：{@code ","code":N,"message":"M","path":"} */
+    private final byte[][] middles;
+    private final String[] messages;
+
+    private ApiErrorTemplates() {
+        this.middles = new byte[CODES.length][];
+        this.messages = new String[CODES.length];
+        for (int i = 0; i < CODES.length; i++) {
+            String message = AuthErrorCodes.defaultMessage(CODES[i]);
+            messages[i] = message;
+            byte[] prefix = ascii("\",\"code\":" + CODES[i] + ",\"message\":\"");
+            byte[] suffix = ascii("\",\"path\":\"");
+            middles[i] = concat(prefix, escape(message), suffix);
+        }
+    }
+
+    /**
+     * 构建模板并与 ObjectMapper 的输出逐字节比对。
+     *
+     * @return 输出一致时返回模板；否则返回 null（调用方回退到 Jackson）
+     */
+    static ApiErrorTemplates probe(ObjectMapper objectMapper) {
+        ApiErrorTemplates templates = new ApiErrorTemplates();
+        OffsetDateTime[] timestamps = {
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000, ZoneOffset.ofHours(8)),
+                OffsetDateTime.of(2024, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)
+        };
+        String path = "/probe/\"q\"\\\n\t\u0001\u00e9\u4e2d";
+        try {
+            for (OffsetDateTime ts : timestamps) {
+                for (int code : CODES) {
+                    String message = AuthErrorCodes.defaultMessage(code);
+                    byte[] expected = objectMapper.writeValueAsBytes(new ApiError(ts, code, message, path));
+                    if (!Arrays.equals(expected, templates.render(code, message, path, ts))) {
+                        return null;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return templates;
+    }
+
+    /**
+     * 渲染错误体。
+     *
+     * @return UTF-8 JSON；无对应模板时返回 null
+     */
+    byte[] render(int code, String message, String path, OffsetDateTime timestamp) {
+        int idx = indexOf(code);
+        if (idx < 0 || path == null || timestamp == null || !messages[idx].equals(message)) {
+            return null;
+        }
+        byte[] escapedPath = escape(path);
+        if (escapedPath == null) {
+            return null;
+        }
+        return concat(HEAD, ascii(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp)), middles[idx],
+                escapedPath, TAIL);
+    }
+
+    byte[] render(ApiError body) {
+        return render(body.getCode(), body.getMessage(), body.getPath(), body.getTimestamp());
+    }
+
+    private static int indexOf(int code) {
+        for (int i = 0; i < CODES.length; i++) {
+            if (CODES[i] == code) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按 Jackson 默认规则转义 JSON 字符串内容：{@code "} {@code \}、控制字符转义，非 ASCII 原样输出为 UTF-8。
+     *
+     * @return 转义后的 UTF-8 字节；含代理字符时返回 null
+     */
+    private static byte[] escape(String s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || c >= 0x80) {
+                break;
+            }
+            i++;
+        }
+        if (i == n) {
+            return ascii(s);
+        }
+
+        StringBuilder sb = new StringBuilder(n + 16).append(s, 0, i);
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else if (Character.isSurrogate(c)) {
+                        // 增补字符：Jackson 字节输出转义为代理对、Writer 输出原样，交回 Jackson 保持各自行为
+                        return null;
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int len = 0;
+        for (byte[] p : parts) {
+            len += p.length;
+        }
+        byte[] out = new byte[len];
+        int pos = 0;
+        for (byte[] p : parts) {
+            System.arraycopy(p, 0, out, pos, p.length);
+            pos += p.length;
+        }
+        return out;
+    }
+}
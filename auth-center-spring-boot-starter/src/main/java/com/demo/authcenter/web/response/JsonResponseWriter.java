@@ -1,30 +1,74 @@
 package com.demo.authcenter.web.response;
 
+import com.demo.authcenter.exception.AuthErrorCodes;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.Objects;
 
 /**
  * 将对象序列化为 JSON 并写入 HttpServletResponse。
+ * <p>
+ * 固定错误码（401xx/403xx + 默认提示语）走预编码模板，直接写入 OutputStream；
+ * ObjectMapper 输出与模板不一致或无对应模板时使用 Jackson 序列化，两条路径输出逐字节相同。
  */
 public class JsonResponseWriter {
 
     private final ObjectMapper objectMapper;
+    /** 为 null：ObjectMapper 定制了输出格式，全部走 Jackson */
+    private final ApiErrorTemplates templates;
 
     public JsonResponseWriter(ObjectMapper objectMapper) {
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.templates = ApiErrorTemplates.probe(objectMapper);
     }
 
     public void write(HttpServletResponse response, int httpStatus, ApiError body) throws IOException {
         if (response.isCommitted()) {
             return;
         }
+        byte[] bytes = templates != null ? templates.render(body) : null;
+        if (bytes != null) {
+            writeBytes(response, httpStatus, bytes);
+            return;
+        }
+        prepare(response, httpStatus);
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+
+    /**
+     * 写出错误码对应的标准错误体（提示语取 {@link AuthErrorCodes#defaultMessage}），命中模板时不创建 ApiError。
+     */
+    public void writeError(HttpServletResponse response, int httpStatus, int code, String path) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        String message = AuthErrorCodes.defaultMessage(code);
+        byte[] bytes = templates != null ? templates.render(code, message, path, OffsetDateTime.now()) : null;
+        if (bytes != null) {
+            writeBytes(response, httpStatus, bytes);
+            return;
+        }
+        write(response, httpStatus, ApiError.of(code, message, path));
+    }
+
+    private static void writeBytes(HttpServletResponse response, int httpStatus, byte[] bytes) throws IOException {
+        prepare(response, httpStatus);
+        response.setContentLength(bytes.length);
+        try {
+            response.getOutputStream().write(bytes);
+        } catch (IllegalStateException e) {
+            // 上游已调用过 getWriter()
+            response.getWriter().write(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void prepare(HttpServletResponse response, int httpStatus) {
         response.setStatus(httpStatus);
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
         response.setContentType("application/json;charset=UTF-8");
-        objectMapper.writeValue(response.getWriter(), body);
     }
 }
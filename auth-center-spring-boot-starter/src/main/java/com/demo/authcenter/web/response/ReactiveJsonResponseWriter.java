@@ -0,0 +1,73 @@
+package com.demo.authcenter.web.response;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * 将对象序列化为 JSON 并写入 ServerHttpResponse（WebFlux 版本的 {@link JsonResponseWriter}）。
+ * <p>
+ * 与 servlet 版本共用预编码模板：固定错误码直接拼接字节，其余情况使用 Jackson。
+ */
+public class ReactiveJsonResponseWriter {
+
+    private static final MediaType APPLICATION_JSON_UTF8 = MediaType.parseMediaType("application/json;charset=UTF-8");
+
+    private final ObjectMapper objectMapper;
+    /** 为 null：ObjectMapper 定制了输出格式，全部走 Jackson */
+    private final ApiErrorTemplates templates;
+
+    public ReactiveJsonResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.templates = ApiErrorTemplates.probe(objectMapper);
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus httpStatus, ApiError body) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(httpStatus);
+
+        byte[] bytes = templates != null ? templates.render(body) : null;
+        if (bytes == null) {
+            try {
+                bytes = objectMapper.writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                // 序列化失败时至少保证状态码正确
+                return response.setComplete();
+            }
+        }
+        return writeBytes(response, bytes);
+    }
+
+    /**
+     * 写出错误码对应的标准错误体（提示语取 {@link AuthErrorCodes#defaultMessage}），命中模板时不创建 ApiError。
+     */
+    public Mono<Void> writeError(ServerWebExchange exchange, HttpStatus httpStatus, int code, String path) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        String message = AuthErrorCodes.defaultMessage(code);
+        byte[] bytes = templates != null ? templates.render(code, message, path, OffsetDateTime.now()) : null;
+        if (bytes == null) {
+            return write(exchange, httpStatus, ApiError.of(code, message, path));
+        }
+        response.setStatusCode(httpStatus);
+        return writeBytes(response, bytes);
+    }
+
+    private static Mono<Void> writeBytes(ServerHttpResponse response, byte[] bytes) {
+        response.getHeaders().setContentType(APPLICATION_JSON_UTF8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+}
@@ -1,7 +1,7 @@
 /**
  * 统一响应模型与写出工具。
  *
- * <p>本包用于封装统一 JSON 输出结构，例如 ApiError、以及将对象写入 HttpServletResponse 的工具类。</p>
+ * <p>本包用于封装统一 JSON 输出结构，例如 ApiError、以及将对象写入 HttpServletResponse / ServerHttpResponse（WebFlux）的工具类。</p>
  *
  * <p>建议：</p>
  * <ul>
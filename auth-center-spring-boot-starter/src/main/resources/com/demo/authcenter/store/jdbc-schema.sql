@@ -0,0 +1,31 @@
+-- auth-center JDBC 存储表结构（H2 / PostgreSQL / MySQL 8 通用，可重复执行）
+-- expires_at 为 epoch 毫秒，避免时区换算；jti 主键即查询索引，expires_at 索引供分块清理使用。
+-- 索引由 JdbcSchema 按需创建（MySQL 不支持 CREATE INDEX IF NOT EXISTS），手工建表时请一并执行：
+--   CREATE INDEX idx_auth_center_blacklist_exp ON auth_center_blacklist (expires_at);
+
+CREATE TABLE IF NOT EXISTS auth_center_blacklist (
+    jti        VARCHAR(255) NOT NULL,
+    expires_at BIGINT       NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+-- 用户级吊销（JdbcUserRevocationStore）：not_before 只增不减，expires_at 到期后清理。
+--   CREATE INDEX idx_auth_center_user_revocation_exp ON auth_center_user_revocation (expires_at);
+
+CREATE TABLE IF NOT EXISTS auth_center_user_revocation (
+    user_id    BIGINT NOT NULL,
+    not_before BIGINT NOT NULL,
+    expires_at BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+-- Refresh token 家族（JdbcRefreshTokenFamilyStore）：head_jti 为当前可用的 refresh jti，revoked 为 0/1。
+--   CREATE INDEX idx_auth_center_refresh_family_exp ON auth_center_refresh_family (expires_at);
+
+CREATE TABLE IF NOT EXISTS auth_center_refresh_family (
+    family_id  VARCHAR(255) NOT NULL,
+    head_jti   VARCHAR(255) NOT NULL,
+    revoked    INT          NOT NULL,
+    expires_at BIGINT       NOT NULL,
+    PRIMARY KEY (family_id)
+);
@@ -0,0 +1,86 @@
+package com.demo.authcenter.aop;
+
+import com.demo.authcenter.annotation.RequirePerm;
+import com.demo.authcenter.permission.DefaultPermissionChecker;
+import com.demo.authcenter.permission.PermissionRegistry;
+import com.demo.authcenter.security.AuthCenterAuthentication;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RequirePermAspect} 的位图匹配：预编译规则按位与，首次调用才解析的规则走字符串匹配。
+ */
+class RequirePermAspectTest {
+
+    private final PermissionRegistry registry = new PermissionRegistry();
+    private final RequirePermAspect aspect = new RequirePermAspect(new DefaultPermissionChecker(), registry);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void precompiledRuleMatchesBitwise() throws Exception {
+        Method method = Endpoints.class.getDeclaredMethod("read");
+        aspect.registerRules(Map.of(method, RequirePermRuleResolver.resolve(method)));
+
+        authenticate("order:read");
+        assertThatCode(() -> aspect.check(joinPoint(method))).doesNotThrowAnyException();
+
+        authenticate("order:write");
+        assertThatThrownBy(() -> aspect.check(joinPoint(method))).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void lazilyResolvedRuleSeesAuthoritiesRegisteredAfterTheBitmap() throws Exception {
+        Method method = Endpoints.class.getDeclaredMethod("write");
+        // 位图构建时 order:write 尚未注册，被忽略
+        authenticate("order:write");
+
+        assertThatCode(() -> aspect.check(joinPoint(method))).doesNotThrowAnyException();
+
+        authenticate("order:read");
+        assertThatThrownBy(() -> aspect.check(joinPoint(method))).isInstanceOf(AccessDeniedException.class);
+    }
+
+    private void authenticate(String... authorities) {
+        List<String> names = List.of(authorities);
+        SecurityContextHolder.getContext().setAuthentication(new AuthCenterAuthentication(7L,
+                names.stream().map(SimpleGrantedAuthority::new).toList(), Set.copyOf(names), registry.toSet(names)));
+    }
+
+    private static JoinPoint joinPoint(Method method) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getSignature()).thenReturn(signature);
+        return jp;
+    }
+
+    static class Endpoints {
+
+        @RequirePerm(perms = "order:read")
+        void read() {
+        }
+
+        @RequirePerm(perms = "order:write")
+        void write() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.authcenter.autoconfig;
+
+import com.demo.authcenter.store.InMemoryRefreshTokenFamilyStore;
+import com.demo.authcenter.store.RefreshTokenFamilyStore;
+import com.demo.authcenter.store.TokenStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * refresh 家族存储的默认装配：只有家族记录能与 TokenStore 同范围共享时才默认启用。
+ */
+class RefreshFamilyAutoConfigurationTest {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, AuthCenterAutoConfiguration.class))
+            .withPropertyValues(
+                    "auth-center.jwt.issuer=auth-center-test",
+                    "auth-center.jwt.audience=test",
+                    "auth-center.jwt.secret=0123456789abcdef0123456789abcdef");
+
+    @Test
+    void builtInStoreEnablesInMemoryFamilyByDefault() {
+        runner.run(ctx -> assertThat(ctx).getBean(RefreshTokenFamilyStore.class)
+                .isInstanceOf(InMemoryRefreshTokenFamilyStore.class));
+    }
+
+    @Test
+    void sharedCustomStoreLeavesFamilyOffByDefault() {
+        runner.withUserConfiguration(SharedTokenStoreConfig.class)
+                .run(ctx -> {
+                    assertThat(ctx).hasNotFailed();
+                    assertThat(ctx).doesNotHaveBean(RefreshTokenFamilyStore.class);
+                });
+    }
+
+    @Test
+    void sharedCustomStoreWithExplicitFamilyFailsStartup() {
+        runner.withUserConfiguration(SharedTokenStoreConfig.class)
+                .withPropertyValues("auth-center.jwt.refresh-family-enabled=true")
+                .run(ctx -> assertThat(ctx).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .rootCause().hasMessageContaining("refresh-family-enabled=false"));
+    }
+
+    @Test
+    void explicitFalseDisablesFamily() {
+        runner.withPropertyValues("auth-center.jwt.refresh-family-enabled=false")
+                .run(ctx -> assertThat(ctx).doesNotHaveBean(RefreshTokenFamilyStore.class));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SharedTokenStoreConfig {
+
+        @Bean
+        TokenStore tokenStore() {
+            return new SharedTokenStore();
+        }
+    }
+
+    /** 代表业务自定义的远端（多节点共享）实现 */
+    static final class SharedTokenStore implements TokenStore {
+
+        private final Set<String> jtis = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void blacklist(String jti, Instant expiresAt) {
+            jtis.add(jti);
+        }
+
+        @Override
+        public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+            return jtis.add(jti);
+        }
+
+        @Override
+        public boolean isBlacklisted(String jti) {
+            return jtis.contains(jti);
+        }
+    }
+}
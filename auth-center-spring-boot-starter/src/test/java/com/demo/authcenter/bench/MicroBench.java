@@ -0,0 +1,124 @@
+package com.demo.authcenter.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 测试源码内的简易吞吐基准（构建环境离线，未引入 JMH）。
+ *
+ * <p>基准类以 {@code *Benchmark} 命名，不在 surefire 默认匹配范围内，{@code mvn test} 不会执行，需显式指定：
+ * {@code mvn -pl auth-center-spring-boot-starter test -Dtest=JwtParserBenchmark}。
+ * 预热 / 计时时长可用 {@code -Dbench.warmup-ms}、{@code -Dbench.measure-ms} 调整。</p>
+ *
+ * <p>只用于同机对比两条路径的量级：没有 JMH 的分叉进程与编译隔离，对照组用 {@link #compare} 先全部预热、
+ * 再交替多轮计时取最好值，避免先跑的一方吃亏；每次操作的返回值折叠进 {@link #sink}，避免被 JIT 当作死代码消除。</p>
+ */
+public final class MicroBench {
+
+    private static final long WARMUP_MILLIS = Long.getLong("bench.warmup-ms", 2000);
+    private static final long MEASURE_MILLIS = Long.getLong("bench.measure-ms", 5000);
+    private static final int ROUNDS = 3;
+
+    public static volatile int sink;
+
+    private MicroBench() {}
+
+    @FunctionalInterface
+    public interface Op {
+        Object run() throws Exception;
+    }
+
+    /**
+     * threads 个线程循环执行 op：先预热，再计时，打印并返回总吞吐（ops/s）。
+     */
+    public static double throughput(String name, int threads, Op op) throws Exception {
+        return throughput(name, threads, 1, op);
+    }
+
+    /**
+     * 同上；每次调用 op 计为 opsPerCall 次操作（op 内部是一批请求时使用）。
+     */
+    public static double throughput(String name, int threads, int opsPerCall, Op op) throws Exception {
+        runFor(threads, op, WARMUP_MILLIS);
+        double perSecond = runFor(threads, op, MEASURE_MILLIS) * opsPerCall;
+        report(name, threads, perSecond);
+        return perSecond;
+    }
+
+    /**
+     * 对照组：按插入顺序全部预热后交替计时 {@value #ROUNDS} 轮（每轮 measure-ms / 轮数），打印并返回各组最好的吞吐（ops/s）。
+     */
+    public static Map<String, Double> compare(int threads, Map<String, Op> cases) throws Exception {
+        for (Op op : cases.values()) {
+            runFor(threads, op, WARMUP_MILLIS);
+        }
+        long roundMillis = Math.max(1, MEASURE_MILLIS / ROUNDS);
+        Map<String, Double> best = new LinkedHashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, Op> e : cases.entrySet()) {
+                best.merge(e.getKey(), runFor(threads, e.getValue(), roundMillis), Math::max);
+            }
+        }
+        best.forEach((name, perSecond) -> report(name, threads, perSecond));
+        return best;
+    }
+
+    private static void report(String name, int threads, double perSecond) {
+        System.out.printf("%-56s %5d threads %,16.0f ops/s%n", name, threads, perSecond);
+    }
+
+    /** 运行约 millis 毫秒，返回每秒调用次数（按实际墙钟时间计算，包含最后一批超出截止时间的部分） */
+    private static double runFor(int threads, Op op, long millis) throws Exception {
+        AtomicLong total = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                int acc = 0;
+                long calls = 0;
+                try {
+                    start.await();
+                    long begin = System.nanoTime();
+                    long deadline = begin + millis * 1_000_000;
+                    acc += hash(op.run());
+                    calls++;
+                    // 廉价操作每 16 次取一次时钟，避免 nanoTime 本身主导耗时；慢操作（单次 ≥ 10us）每次都检查，避免超时过多
+                    int batch = System.nanoTime() - begin < 10_000 ? 16 : 1;
+                    while (System.nanoTime() < deadline) {
+                        for (int j = 0; j < batch; j++) {
+                            acc += hash(op.run());
+                        }
+                        calls += batch;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+                total.addAndGet(calls);
+                sink += acc;
+            }, "bench-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread t : workers) {
+            t.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (failure.get() != null) {
+            throw new IllegalStateException("benchmark op failed", failure.get());
+        }
+        return total.get() * 1e9 / elapsed;
+    }
+
+    private static int hash(Object r) {
+        return r == null ? 0 : System.identityHashCode(r);
+    }
+}
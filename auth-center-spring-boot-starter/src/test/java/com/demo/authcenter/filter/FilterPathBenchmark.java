@@ -0,0 +1,152 @@
+package com.demo.authcenter.filter;
+
+import com.demo.authcenter.bench.MicroBench;
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.spi.AuthUser;
+import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.spi.ReactiveAuthUserService;
+import com.demo.authcenter.store.InMemoryTokenStore;
+import com.demo.authcenter.store.ReactiveTokenStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 同一负载下 servlet 过滤器与响应式链路的吞吐：每个请求验签 + 内存黑名单 + 加载用户（模拟 2ms I/O）。
+ *
+ * <p>servlet：{@value #CONCURRENCY} 个线程各自阻塞执行 {@link JwtAuthFilter}；
+ * 响应式：单个驱动线程以相同并发（及放开到 {@value #WIDE_CONCURRENCY}）订阅 {@link ReactiveJwtAuthFilter}，
+ * 用户加载分别为非阻塞实现与桥接到 boundedElastic 的阻塞实现。</p>
+ *
+ * <p>exchange 共用一份编解码器配置：MockServerWebExchange 每次都新建 ServerCodecConfigurer（含 ObjectMapper），
+ * 单次开销远大于鉴权本身，与服务器上的情形不符。</p>
+ *
+ * <p>手动运行：{@code mvn test -Dtest=FilterPathBenchmark}（见 {@link MicroBench}）。</p>
+ */
+class FilterPathBenchmark {
+
+    private static final int CONCURRENCY = 32;
+    private static final int WIDE_CONCURRENCY = 1024;
+    private static final int BATCH = 4096;
+    private static final Duration USER_LOOKUP = Duration.ofMillis(2);
+
+    private static final ServerCodecConfigurer CODECS = ServerCodecConfigurer.create();
+    private static final DefaultWebSessionManager SESSIONS = new DefaultWebSessionManager();
+    private static final AcceptHeaderLocaleContextResolver LOCALES = new AcceptHeaderLocaleContextResolver();
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret("0123456789abcdef0123456789abcdef");
+        JwtUtil jwtUtil = new JwtUtil(props);
+        String[] tokens = new String[64];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtil.generateAccessToken((long) i + 1, "u" + i, List.of("USER"));
+        }
+
+        try (InMemoryTokenStore tokenStore = new InMemoryTokenStore(10_000)) {
+            AuthUserService blockingUsers = new SleepingUserService();
+            JwtAuthFilter servlet = new JwtAuthFilter(jwtUtil, tokenStore, blockingUsers, null);
+
+            ReactiveTokenStore reactiveStore = ReactiveTokenStore.adapt(tokenStore, null);
+            ReactiveAuthUserService nonBlockingUsers = userId -> Mono.delay(USER_LOOKUP)
+                    .thenReturn(new AuthUser(userId, "u" + userId, List.of("USER")));
+            ReactiveJwtAuthFilter reactive = new ReactiveJwtAuthFilter(jwtUtil,
+                    new ReactiveJwtAuthenticationManager(jwtUtil, reactiveStore, nonBlockingUsers, null));
+            ReactiveJwtAuthFilter bridged = new ReactiveJwtAuthFilter(jwtUtil,
+                    new ReactiveJwtAuthenticationManager(jwtUtil, reactiveStore,
+                            ReactiveAuthUserService.adapt(blockingUsers, Schedulers.boundedElastic()), null));
+
+            assertThat(servletRequest(servlet, tokens)).isNotNull();
+            assertThat(reactiveAuthenticated(reactive, tokens[0])).isTrue();
+            assertThat(reactiveAuthenticated(bridged, tokens[0])).isTrue();
+
+            MicroBench.throughput("servlet JwtAuthFilter", CONCURRENCY, () -> servletRequest(servlet, tokens));
+            MicroBench.throughput("reactive, non-blocking users, " + CONCURRENCY + " in flight", 1, BATCH,
+                    () -> reactiveBatch(reactive, tokens, CONCURRENCY));
+            MicroBench.throughput("reactive, non-blocking users, " + WIDE_CONCURRENCY + " in flight", 1, BATCH,
+                    () -> reactiveBatch(reactive, tokens, WIDE_CONCURRENCY));
+            MicroBench.throughput("reactive, bridged blocking users, " + CONCURRENCY + " in flight", 1, BATCH,
+                    () -> reactiveBatch(bridged, tokens, CONCURRENCY));
+        }
+    }
+
+    private static Object servletRequest(JwtAuthFilter filter, String[] tokens) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/me");
+        req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+        try {
+            filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Object reactiveBatch(ReactiveJwtAuthFilter filter, String[] tokens, int concurrency) {
+        WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext().then();
+        return Flux.range(0, BATCH)
+                .flatMap(i -> filter.filter(exchange(tokens[i % tokens.length]), chain), concurrency)
+                .then()
+                .block();
+    }
+
+    private static boolean reactiveAuthenticated(ReactiveJwtAuthFilter filter, String token) {
+        AtomicBoolean authenticated = new AtomicBoolean();
+        filter.filter(exchange(token), exchange -> ReactiveSecurityContextHolder.getContext()
+                        .doOnNext(c -> authenticated.set(c.getAuthentication() != null))
+                        .then())
+                .block();
+        return authenticated.get();
+    }
+
+    private static ServerWebExchange exchange(String token) {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        return new DefaultServerWebExchange(request, new MockServerHttpResponse(), SESSIONS, CODECS, LOCALES);
+    }
+
+    /** 阻塞加载用户：模拟一次 DB / RPC */
+    private static final class SleepingUserService implements AuthUserService {
+
+        @Override
+        public AuthUser loadByUsername(String username) {
+            return null;
+        }
+
+        @Override
+        public AuthUser loadByUserId(Long userId) {
+            try {
+                Thread.sleep(USER_LOOKUP.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new AuthUser(userId, "u" + userId, List.of("USER"));
+        }
+    }
+}
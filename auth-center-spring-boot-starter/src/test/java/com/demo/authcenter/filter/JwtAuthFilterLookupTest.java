@@ -0,0 +1,264 @@
+package com.demo.authcenter.filter;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.spi.AuthUser;
+import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.spi.CachingAuthUserService;
+import com.demo.authcenter.store.CompactInMemoryTokenStore;
+import com.demo.authcenter.store.InMemoryTokenStore;
+import com.demo.authcenter.store.InMemoryUserRevocationStore;
+import com.demo.authcenter.store.ShardedInMemoryTokenStore;
+import com.demo.authcenter.store.TokenStore;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@link JwtAuthFilter} 的用户预取：黑名单先行、上下文传递；内置存储与用户缓存在虚拟线程上不被钉住（JDK 21+）。
+ */
+class JwtAuthFilterLookupTest {
+
+    private JwtUtil jwtUtil;
+    private InMemoryTokenStore tokenStore;
+
+    @BeforeEach
+    void setUp() {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret("0123456789abcdef0123456789abcdef");
+        jwtUtil = new JwtUtil(props);
+        tokenStore = new InMemoryTokenStore(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+        tokenStore.close();
+    }
+
+    @Test
+    void blacklistedTokenDoesNotTriggerUserLookup() throws Exception {
+        CountingUserService users = new CountingUserService(null);
+        String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+        tokenStore.blacklist(jwtUtil.getJti(jwtUtil.parseAndValidate(token)), Instant.now().plusSeconds(60));
+
+        try (VirtualThreadLookupExecutor executor = new VirtualThreadLookupExecutor(Executors.newCachedThreadPool())) {
+            MockHttpServletRequest req = request(token);
+            filter(users, executor).doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+
+            assertThat(req.getAttribute(AuthErrorCodes.REQ_ATTR_AUTH_ERROR_CODE))
+                    .isEqualTo(AuthErrorCodes.CODE_TOKEN_BLACKLISTED);
+            assertThat(users.loads.get()).isZero();
+        }
+    }
+
+    @Test
+    void lookupSeesCallerMdcAndRequestAttributes() throws Exception {
+        AtomicReference<String> traceId = new AtomicReference<>();
+        AtomicReference<RequestAttributes> attributes = new AtomicReference<>();
+        CountingUserService users = new CountingUserService(() -> {
+            traceId.set(MDC.get("traceId"));
+            attributes.set(RequestContextHolder.getRequestAttributes());
+        });
+        String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+
+        try (VirtualThreadLookupExecutor executor = new VirtualThreadLookupExecutor(Executors.newCachedThreadPool())) {
+            MockHttpServletRequest req = request(token);
+            ServletRequestAttributes requestAttributes = new ServletRequestAttributes(req);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            MDC.put("traceId", "t-1");
+
+            filter(users, executor).doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+
+            assertThat(users.loads.get()).isEqualTo(1);
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+            assertThat(traceId.get()).isEqualTo("t-1");
+            assertThat(attributes.get()).isSameAs(requestAttributes);
+        }
+    }
+
+    /**
+     * 在虚拟线程上并发驱动内置内存 TokenStore、{@link CachingAuthUserService}（单飞等待）与整条过滤链，
+     * 期间不应产生 jdk.VirtualThreadPinned 事件。
+     */
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void storesAndUserCacheDoNotPinVirtualThreads() throws Exception {
+        CountingUserService delegate = new CountingUserService(() -> sleep(5));
+        CachingAuthUserService users = new CachingAuthUserService(delegate, 1, 1000);
+        List<String> tokens = new ArrayList<>();
+        for (long userId = 1; userId <= 50; userId++) {
+            tokens.add(jwtUtil.generateAccessToken(userId % 10 + 1, "u" + userId, List.of("USER")));
+        }
+        List<String> jtis = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            // UUID 走 Compact 的原始 long 表，其余走回退 Map
+            jtis.add(i % 2 == 0 ? JwtUtil.newJti() : "jti-" + i);
+        }
+
+        try (ShardedInMemoryTokenStore sharded = new ShardedInMemoryTokenStore(4, 10_000);
+             CompactInMemoryTokenStore compact = new CompactInMemoryTokenStore(10_000)) {
+            List<TokenStore> stores = List.of(tokenStore, sharded, compact);
+
+            List<RecordedEvent> pinned = recordPinnedEvents(() -> {
+                try (VirtualThreadLookupExecutor vt = VirtualThreadLookupExecutor.create()) {
+                    JwtAuthFilter filter = filter(users, vt);
+                    List<CompletableFuture<?>> futures = new ArrayList<>();
+                    for (int i = 0; i < 200; i++) {
+                        String jti = jtis.get(i % jtis.size());
+                        Instant exp = Instant.now().plusSeconds(60);
+                        // 少量 jti 上的读写竞争：段锁 / StampedLock 在争用时 park
+                        futures.add(vt.submit(() -> {
+                            for (TokenStore store : stores) {
+                                store.blacklistIfAbsent(jti, exp);
+                                store.blacklist(jti, exp.plusSeconds(1));
+                                store.isBlacklisted(jti);
+                            }
+                            return null;
+                        }));
+                        // 同一 userId 并发未命中：等待者阻塞在单飞 future 上
+                        long userId = i % 5 + 100;
+                        futures.add(vt.submit(() -> users.loadByUserId(userId)));
+                    }
+                    // 整个请求在虚拟线程上执行（容器开启虚拟线程时的形态），用户预取再嵌套一个虚拟线程
+                    for (String token : tokens) {
+                        futures.add(vt.submit(() -> {
+                            try {
+                                filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            } finally {
+                                SecurityContextHolder.clearContext();
+                            }
+                            return null;
+                        }));
+                    }
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+                }
+            });
+
+            assertThat(delegate.loads.get()).isPositive();
+            assertThat(users.loadCount()).isLessThan(200 + tokens.size());
+            assertThat(pinned).isEmpty();
+        }
+    }
+
+    /**
+     * 对照：monitor 内阻塞应被录制到，保证上面的断言不是空转（JDK 24 起 synchronized 不再钉住载体线程）。
+     */
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void recordingDetectsPinnedMonitor() throws Exception {
+        assumeTrue(Runtime.version().feature() < 24, "synchronized no longer pins on JDK 24+");
+        Object monitor = new Object();
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> {
+            try (VirtualThreadLookupExecutor vt = VirtualThreadLookupExecutor.create()) {
+                vt.submit(() -> {
+                    synchronized (monitor) {
+                        sleep(20);
+                    }
+                    return null;
+                }).get(30, TimeUnit.SECONDS);
+            }
+        });
+        assertThat(pinned).isNotEmpty();
+    }
+
+    private static List<RecordedEvent> recordPinnedEvents(Workload workload) throws Exception {
+        Path dump = Files.createTempFile("auth-center-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+
+    private JwtAuthFilter filter(AuthUserService users, VirtualThreadLookupExecutor executor) {
+        return new JwtAuthFilter(jwtUtil, tokenStore, users, new JwtAuthFilter.Options()
+                .revocationStore(new InMemoryUserRevocationStore())
+                .lookupExecutor(executor));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/me");
+        req.addHeader("Authorization", "Bearer " + token);
+        return req;
+    }
+
+    private static final class CountingUserService implements AuthUserService {
+
+        private final AtomicInteger loads = new AtomicInteger();
+        private final Runnable onLoad;
+
+        CountingUserService(Runnable onLoad) {
+            this.onLoad = onLoad;
+        }
+
+        @Override
+        public AuthUser loadByUsername(String username) {
+            return null;
+        }
+
+        @Override
+        public AuthUser loadByUserId(Long userId) {
+            loads.incrementAndGet();
+            if (onLoad != null) {
+                onLoad.run();
+            }
+            return new AuthUser(userId, "u" + userId, List.of("USER"));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.demo.authcenter.filter;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.security.JwtUtil;
+import com.demo.authcenter.security.RejectedTokenCache;
+import com.demo.authcenter.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JwtAuthFilter} 的已验证 / 已拒绝缓存：尚未生效（nbf 超前）的 token 不进入拒绝缓存。
+ */
+class JwtAuthFilterRejectedCacheTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedCache;
+    private RejectedTokenCache rejectedCache;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret(SECRET);
+        props.setClockSkewSeconds(0);
+        jwtUtil = new JwtUtil(props);
+        verifiedCache = new VerifiedTokenCache(100, 60);
+        rejectedCache = new RejectedTokenCache(100, 60);
+        filter = new JwtAuthFilter(jwtUtil, null, null, new JwtAuthFilter.Options()
+                .verifiedTokenCache(verifiedCache)
+                .rejectedTokenCache(rejectedCache));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void invalidTokenIsCachedAndReplayedFromCache() throws Exception {
+        String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER")) + "x";
+
+        assertThat(filter(token)).isEqualTo(AuthErrorCodes.CODE_TOKEN_INVALID);
+        assertThat(rejectedCache.size()).isEqualTo(1);
+
+        assertThat(filter(token)).isEqualTo(AuthErrorCodes.CODE_TOKEN_INVALID);
+        assertThat(rejectedCache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void prematureTokenIsNotCached() throws Exception {
+        Instant now = Instant.now();
+        String token = Jwts.builder()
+                .id(JwtUtil.newJti())
+                .issuer("auth-center-test")
+                .subject("7")
+                .claim(JwtUtil.CLAIM_AUD, List.of("test"))
+                .claim(JwtUtil.CLAIM_TYP, JwtUtil.TYP_ACCESS)
+                .issuedAt(Date.from(now))
+                .notBefore(Date.from(now.plusSeconds(60)))
+                .expiration(Date.from(now.plusSeconds(600)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(filter(token)).isEqualTo(AuthErrorCodes.CODE_TOKEN_INVALID);
+        assertThat(rejectedCache.size()).isZero();
+        assertThat(verifiedCache.size()).isZero();
+    }
+
+    @Test
+    void validTokenIsCachedOnce() throws Exception {
+        String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+
+        assertThat(filter(token)).isNull();
+        SecurityContextHolder.clearContext();
+        assertThat(filter(token)).isNull();
+
+        assertThat(verifiedCache.size()).isEqualTo(1);
+        assertThat(verifiedCache.hitCount()).isEqualTo(1);
+        assertThat(rejectedCache.size()).isZero();
+    }
+
+    /** 执行一次过滤，返回请求上标记的错误码（未标记为 null） */
+    private Object filter(String token) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/me");
+        req.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        return req.getAttribute(AuthErrorCodes.REQ_ATTR_AUTH_ERROR_CODE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.authcenter.permission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link PermissionRegistry}：只在规则编译时注册，请求期查询不增长注册表。
+ */
+class PermissionRegistryTest {
+
+    @Test
+    void requestPathIgnoresUnregisteredAuthorities() {
+        PermissionRegistry registry = new PermissionRegistry();
+        PermissionSet rule = registry.register(List.of("order:read", "ROLE_ADMIN"));
+
+        List<String> held = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            held.add("tenant:" + i + ":read");
+        }
+        held.add(" order:read ");
+        PermissionSet set = registry.toSet(held);
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(set.containsAny(rule)).isTrue();
+        assertThat(set.contains(registry.idOf("order:read"))).isTrue();
+        assertThat(set.contains(registry.idOf("ROLE_ADMIN"))).isFalse();
+    }
+
+    @Test
+    void unknownOnlyAuthoritiesYieldEmptySet() {
+        PermissionRegistry registry = new PermissionRegistry();
+        registry.register(List.of("order:read"));
+
+        assertThat(registry.toSet(List.of("x", " ", "y"))).isSameAs(PermissionSet.EMPTY);
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void registerIsIdempotent() {
+        PermissionRegistry registry = new PermissionRegistry();
+        registry.register(List.of("a"));
+        registry.register(List.of("a", " a "));
+
+        assertThat(registry.idOf("a")).isZero();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.bench.MicroBench;
+import com.demo.authcenter.properties.JwtProps;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JwtUtil#parseAndValidate} 复用预建 parser，对照每次调用都走 {@code Jwts.parser()...build()} 的原实现。
+ *
+ * <p>手动运行：{@code mvn test -Dtest=JwtParserBenchmark}（见 {@link MicroBench}）。</p>
+ */
+class JwtParserBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void prebuiltParserVersusPerCallBuilder() throws Exception {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret(SECRET);
+        JwtUtil jwtUtil = new JwtUtil(props);
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+
+        assertThat(perCall(key, props, token).getId()).isEqualTo(jwtUtil.parseAndValidate(token).getId());
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        Map<String, MicroBench.Op> cases = new LinkedHashMap<>();
+        cases.put("parse: prebuilt parser (JwtUtil)", () -> jwtUtil.parseAndValidate(token));
+        cases.put("parse: Jwts.parser()...build() per call", () -> perCall(key, props, token));
+        cases.put("parser build only", () -> Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(props.getIssuer())
+                .clockSkewSeconds(props.getClockSkewSeconds())
+                .build());
+        MicroBench.compare(threads, cases);
+    }
+
+    /** 原实现：每个请求重新构建 parser */
+    private static Claims perCall(SecretKey key, JwtProps props, String token) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(props.getIssuer())
+                .clockSkewSeconds(props.getClockSkewSeconds())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.store.InMemoryRefreshTokenFamilyStore;
+import com.demo.authcenter.store.InMemoryTokenStore;
+import com.demo.authcenter.store.TokenStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LogoutService}：默认配置下 refresh 家族吊销与黑名单写入并发执行。
+ */
+class LogoutServiceTest {
+
+    @Test
+    void familyRevokeAndBlacklistRunConcurrentlyByDefault() {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret("0123456789abcdef0123456789abcdef");
+        props.setRefreshEnabled(true);
+        JwtUtil jwtUtil = new JwtUtil(props);
+
+        // 两边各自等待对方开始：顺序执行时任一方都会等满超时
+        CountDownLatch blacklistStarted = new CountDownLatch(1);
+        CountDownLatch revokeStarted = new CountDownLatch(1);
+        try (InMemoryTokenStore delegate = new InMemoryTokenStore(1000)) {
+            TokenStore tokenStore = new TokenStore() {
+                @Override
+                public void blacklist(String jti, Instant expiresAt) {
+                    blacklistStarted.countDown();
+                    await(revokeStarted);
+                    delegate.blacklist(jti, expiresAt);
+                }
+
+                @Override
+                public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+                    return delegate.blacklistIfAbsent(jti, expiresAt);
+                }
+
+                @Override
+                public boolean isBlacklisted(String jti) {
+                    return delegate.isBlacklisted(jti);
+                }
+            };
+            InMemoryRefreshTokenFamilyStore familyStore = new InMemoryRefreshTokenFamilyStore() {
+                @Override
+                public void revoke(String familyId, Instant expiresAt) {
+                    revokeStarted.countDown();
+                    await(blacklistStarted);
+                    super.revoke(familyId, expiresAt);
+                }
+            };
+
+            LogoutService logout = new LogoutService(jwtUtil, tokenStore, null, familyStore, null);
+            String access = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+            String refresh = jwtUtil.generateRefreshToken(7L);
+
+            long start = System.nanoTime();
+            logout.logout(access, refresh);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(elapsedMillis).isLessThan(2_000);
+            assertThat(delegate.isBlacklisted(jwtUtil.getJti(jwtUtil.parseAndValidate(access)))).isTrue();
+            assertThat(familyStore.isRevoked(jwtUtil.getFamilyId(jwtUtil.parseAndValidate(refresh)))).isTrue();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
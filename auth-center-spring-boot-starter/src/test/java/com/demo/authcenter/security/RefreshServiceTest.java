@@ -0,0 +1,93 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.properties.JwtProps;
+import com.demo.authcenter.security.dto.JwtTokenPair;
+import com.demo.authcenter.spi.AuthUser;
+import com.demo.authcenter.spi.AuthUserService;
+import com.demo.authcenter.store.InMemoryRefreshTokenFamilyStore;
+import com.demo.authcenter.store.InMemoryTokenStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link RefreshService}：启用家族追踪时默认的宽限窗口。
+ */
+class RefreshServiceTest {
+
+    private JwtProps props;
+    private JwtUtil jwtUtil;
+    private InMemoryTokenStore tokenStore;
+    private InMemoryRefreshTokenFamilyStore familyStore;
+
+    private final AuthUserService users = new AuthUserService() {
+        @Override
+        public AuthUser loadByUsername(String username) {
+            return null;
+        }
+
+        @Override
+        public AuthUser loadByUserId(Long userId) {
+            return new AuthUser(userId, "u" + userId, List.of("USER"));
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setSecret("0123456789abcdef0123456789abcdef");
+        props.setRefreshEnabled(true);
+        jwtUtil = new JwtUtil(props);
+        tokenStore = new InMemoryTokenStore(1000);
+        familyStore = new InMemoryRefreshTokenFamilyStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenStore.close();
+        familyStore.close();
+    }
+
+    @Test
+    void duplicateRefreshWithinDefaultGraceKeepsFamily() {
+        RefreshService service = new RefreshService(jwtUtil, props, tokenStore, users, null, familyStore);
+        String refresh = jwtUtil.generateRefreshToken(7L);
+
+        JwtTokenPair first = service.rotate(refresh);
+        JwtTokenPair second = service.rotate(refresh);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(familyStore.isRevoked(jwtUtil.getFamilyId(jwtUtil.parseAndValidate(refresh)))).isFalse();
+        // 赢家拿到的新 refresh 仍可继续 rotation
+        assertThat(service.rotate(first.refreshToken())).isNotNull();
+    }
+
+    @Test
+    void explicitZeroGraceTreatsDuplicateAsReuse() {
+        props.setRefreshGraceSeconds(0L);
+        RefreshService service = new RefreshService(jwtUtil, props, tokenStore, users, null, familyStore);
+        String refresh = jwtUtil.generateRefreshToken(7L);
+
+        service.rotate(refresh);
+        assertThatThrownBy(() -> service.rotate(refresh)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(familyStore.isRevoked(jwtUtil.getFamilyId(jwtUtil.parseAndValidate(refresh)))).isTrue();
+    }
+
+    @Test
+    void withoutFamilyTrackingGraceDefaultsToOff() {
+        RefreshService service = new RefreshService(jwtUtil, props, tokenStore, users, null, null);
+        String refresh = jwtUtil.generateRefreshToken(7L);
+
+        service.rotate(refresh);
+        assertThatThrownBy(() -> service.rotate(refresh))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already used");
+    }
+}
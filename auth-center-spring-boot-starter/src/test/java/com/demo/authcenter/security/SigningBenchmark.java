@@ -0,0 +1,85 @@
+package com.demo.authcenter.security;
+
+import com.demo.authcenter.bench.MicroBench;
+import com.demo.authcenter.properties.JwtProps;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 各签名算法经 {@link JwtUtil} 的签发 / 验签吞吐：HS256、RS256（2048）、ES256（P-256）、EdDSA（Ed25519）。
+ *
+ * <p>手动运行：{@code mvn test -Dtest=SigningBenchmark}（见 {@link MicroBench}）。</p>
+ */
+class SigningBenchmark {
+
+    @Test
+    void signAndVerifyPerAlgorithm() throws Exception {
+        Map<String, JwtUtil> utils = new LinkedHashMap<>();
+        utils.put("HS256", jwtUtil(hmacKey()));
+        utils.put("RS256", jwtUtil(asymmetricKey("RS256", rsa())));
+        utils.put("ES256", jwtUtil(asymmetricKey("ES256", ec())));
+        utils.put("EdDSA", jwtUtil(asymmetricKey("EdDSA", KeyPairGenerator.getInstance("Ed25519").generateKeyPair())));
+
+        Map<String, MicroBench.Op> cases = new LinkedHashMap<>();
+        utils.forEach((alg, jwtUtil) -> {
+            String token = jwtUtil.generateAccessToken(7L, "alice", List.of("USER"));
+            assertThat(jwtUtil.parseAndValidate(token).getSubject()).isEqualTo("7");
+            System.out.printf("%s token length: %d%n", alg, token.length());
+            cases.put(alg + " sign", () -> jwtUtil.generateAccessToken(7L, "alice", List.of("USER")));
+            cases.put(alg + " verify", () -> jwtUtil.parseAndValidate(token));
+        });
+        MicroBench.compare(Runtime.getRuntime().availableProcessors(), cases);
+    }
+
+    private static JwtUtil jwtUtil(JwtProps.SigningKey key) {
+        JwtProps props = new JwtProps();
+        props.setIssuer("auth-center-test");
+        props.setAudience(List.of("test"));
+        props.setKeys(List.of(key));
+        props.setActiveKeyId(key.getId());
+        return new JwtUtil(props);
+    }
+
+    private static JwtProps.SigningKey hmacKey() {
+        JwtProps.SigningKey key = new JwtProps.SigningKey();
+        key.setId("hs");
+        key.setSecret("0123456789abcdef0123456789abcdef");
+        return key;
+    }
+
+    private static JwtProps.SigningKey asymmetricKey(String algorithm, KeyPair pair) {
+        JwtProps.SigningKey key = new JwtProps.SigningKey();
+        key.setId(algorithm.toLowerCase());
+        key.setAlgorithm(algorithm);
+        key.setPrivateKey(pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        key.setPublicKey(pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        return key;
+    }
+
+    private static KeyPair rsa() throws Exception {
+        KeyPairGenerator g = KeyPairGenerator.getInstance("RSA");
+        g.initialize(2048);
+        return g.generateKeyPair();
+    }
+
+    private static KeyPair ec() throws Exception {
+        KeyPairGenerator g = KeyPairGenerator.getInstance("EC");
+        g.initialize(new ECGenParameterSpec("secp256r1"));
+        return g.generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.authcenter.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TokenDigest}：不同的（含非 ASCII 字符的畸形）token 得到不同的摘要。
+ */
+class TokenDigestTest {
+
+    @Test
+    void nonAsciiTokensDoNotCollide() {
+        assertThat(TokenDigest.of("eyJ.é.x")).isNotEqualTo(TokenDigest.of("eyJ.ü.x"));
+        assertThat(TokenDigest.of("eyJ.é.x")).isNotEqualTo(TokenDigest.of("eyJ.?.x"));
+    }
+
+    @Test
+    void digestIsStableAndFixedLength() {
+        String token = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiI3In0.sig";
+        assertThat(TokenDigest.of(token)).isEqualTo(TokenDigest.of(token)).hasSize(43);
+    }
+}
@@ -0,0 +1,158 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AsyncTokenStore#adapt}：异步方法不阻塞调用线程；已原生实现的存储原样返回。
+ */
+class AsyncTokenStoreTest {
+
+    @Test
+    void plainStoreAsyncCallsDoNotBlockCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GatedStore store = new GatedStore(release);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            AsyncTokenStore async = AsyncTokenStore.adapt(store, executor);
+            assertThat(async).isNotSameAs(store);
+
+            CompletableFuture<Void> write = async.blacklistAsync("a", Instant.now().plusSeconds(60));
+            CompletableFuture<Boolean> read = async.isBlacklistedAsync("a");
+            assertThat(write).isNotDone();
+            assertThat(read).isNotDone();
+
+            release.countDown();
+            write.get(5, TimeUnit.SECONDS);
+            assertThat(async.isBlacklistedAsync("a").get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void storeInheritingInlineAsyncDefaultsIsWrapped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InlineAsyncStore store = new InlineAsyncStore(release);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            AsyncTokenStore async = AsyncTokenStore.adapt(store, executor);
+            assertThat(async).isNotSameAs(store);
+
+            CompletableFuture<Boolean> first = async.blacklistIfAbsentAsync("a", Instant.now().plusSeconds(60));
+            assertThat(first).isNotDone();
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+
+            // 批量方法仍走 delegate 自身的实现
+            async.blacklistAll(Map.of("b", Instant.now().plusSeconds(60), "c", Instant.now().plusSeconds(60)));
+            assertThat(store.batches).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nativeAsyncStoreAndInlineAdaptAreUnwrapped() {
+        try (RedisLikeStore store = new RedisLikeStore()) {
+            assertThat(AsyncTokenStore.adapt(store, Executors.newSingleThreadExecutor())).isSameAs(store);
+        }
+        InlineAsyncStore inline = new InlineAsyncStore(new CountDownLatch(0));
+        assertThat(AsyncTokenStore.adapt(inline, null)).isSameAs(inline);
+    }
+
+    /** 同步方法阻塞到 release */
+    private static class GatedStore implements TokenStore {
+
+        final Map<String, Instant> entries = new ConcurrentHashMap<>();
+        private final CountDownLatch release;
+
+        GatedStore(CountDownLatch release) {
+            this.release = release;
+        }
+
+        void await() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void blacklist(String jti, Instant expiresAt) {
+            await();
+            entries.put(jti, expiresAt);
+        }
+
+        @Override
+        public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+            await();
+            return entries.putIfAbsent(jti, expiresAt) == null;
+        }
+
+        @Override
+        public boolean isBlacklisted(String jti) {
+            await();
+            return entries.containsKey(jti);
+        }
+    }
+
+    /** 覆盖了批量方法、沿用内联异步默认实现的 AsyncTokenStore */
+    private static final class InlineAsyncStore extends GatedStore implements AsyncTokenStore {
+
+        int batches;
+
+        InlineAsyncStore(CountDownLatch release) {
+            super(release);
+        }
+
+        @Override
+        public void blacklistAll(Map<String, Instant> entries) {
+            batches++;
+            this.entries.putAll(entries);
+        }
+    }
+
+    /** 三个异步方法均自行实现 */
+    private static final class RedisLikeStore extends GatedStore implements AsyncTokenStore, AutoCloseable {
+
+        private final ExecutorService io = Executors.newSingleThreadExecutor();
+
+        RedisLikeStore() {
+            super(new CountDownLatch(0));
+        }
+
+        @Override
+        public CompletableFuture<Void> blacklistAsync(String jti, Instant expiresAt) {
+            return CompletableFuture.runAsync(() -> blacklist(jti, expiresAt), io);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> blacklistIfAbsentAsync(String jti, Instant expiresAt) {
+            return CompletableFuture.supplyAsync(() -> blacklistIfAbsent(jti, expiresAt), io);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> isBlacklistedAsync(String jti) {
+            return CompletableFuture.supplyAsync(() -> isBlacklisted(jti), io);
+        }
+
+        @Override
+        public void close() {
+            io.shutdownNow();
+        }
+    }
+}
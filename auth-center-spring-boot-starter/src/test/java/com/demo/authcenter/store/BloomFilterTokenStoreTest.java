@@ -0,0 +1,183 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link BloomFilterTokenStore}：Filter 判定不存在时不查远端；误判回退远端且结果正确；同步失败时全部走远端。
+ */
+class BloomFilterTokenStoreTest {
+
+    /** 不让定时同步干扰断言，测试中手动 sync() */
+    private static final Duration NO_PERIODIC_SYNC = Duration.ofHours(1);
+
+    private final RemoteStub remote = new RemoteStub();
+    private BloomFilterTokenStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void negativeFilterSkipsRemote() {
+        store = ready(new BloomFilterTokenStore(remote, 1000, 0.01, NO_PERIODIC_SYNC));
+        int before = remote.lookups.get();
+
+        assertThat(store.isBlacklisted("never-seen")).isFalse();
+        assertThat(store.areBlacklisted(List.of("x", "y"))).isEmpty();
+
+        assertThat(remote.lookups.get()).isEqualTo(before);
+        assertThat(store.savedLookupCount()).isEqualTo(3);
+    }
+
+    @Test
+    void falsePositiveFallsBackToRemoteAndIsCounted() {
+        // 极小的 Filter：很快能找到"Filter 说可能存在、远端不存在"的 jti
+        store = ready(new BloomFilterTokenStore(remote, 8, 0.3, NO_PERIODIC_SYNC));
+        Instant exp = Instant.now().plusSeconds(60);
+        for (int i = 0; i < 32; i++) {
+            store.blacklist("hit-" + i, exp);
+        }
+
+        String falsePositive = null;
+        for (int i = 0; i < 10_000 && falsePositive == null; i++) {
+            String candidate = "miss-" + i;
+            long fpBefore = store.falsePositiveCount();
+            assertThat(store.isBlacklisted(candidate)).isFalse();
+            if (store.falsePositiveCount() == fpBefore + 1) {
+                falsePositive = candidate;
+            }
+        }
+        assertThat(falsePositive).isNotNull();
+        assertThat(remote.lookups.get()).isEqualTo(store.remoteLookupCount());
+
+        // 批量查询：误判的 jti 交给远端，命中与误判分别计入
+        long fpBefore = store.falsePositiveCount();
+        assertThat(store.areBlacklisted(List.of("hit-1", falsePositive))).containsExactly("hit-1");
+        assertThat(store.falsePositiveCount()).isEqualTo(fpBefore + 1);
+    }
+
+    @Test
+    void pushedJtiIsVisibleBeforeRemoteConfirmsIt() {
+        store = ready(new BloomFilterTokenStore(remote, 1000, 0.01, NO_PERIODIC_SYNC));
+
+        store.notifyBlacklisted("pushed");
+        // 推送先于远端可见：Filter 放行到远端，远端不存在时按误判处理，不误拒
+        assertThat(store.isBlacklisted("pushed")).isFalse();
+        assertThat(store.falsePositiveCount()).isEqualTo(1);
+
+        remote.entries.put("pushed", Instant.now().plusSeconds(60));
+        assertThat(store.isBlacklisted("pushed")).isTrue();
+    }
+
+    @Test
+    void syncPicksUpWritesFromOtherNodes() {
+        store = ready(new BloomFilterTokenStore(remote, 1000, 0.01, NO_PERIODIC_SYNC));
+        remote.entries.put("other-node", Instant.now().plusSeconds(60));
+        assertThat(store.isBlacklisted("other-node")).isFalse();
+
+        store.sync();
+
+        assertThat(store.isBlacklisted("other-node")).isTrue();
+    }
+
+    @Test
+    void failedSyncFallsBackToRemote() throws Exception {
+        remote.failScan = true;
+        store = new BloomFilterTokenStore(remote, 1000, 0.01, Duration.ofMillis(20));
+        waitFor(() -> store.syncFailureCount() > 0);
+
+        assertThat(store.isReady()).isFalse();
+        remote.entries.put("a", Instant.now().plusSeconds(60));
+        assertThat(store.isBlacklisted("a")).isTrue();
+        assertThat(store.isBlacklisted("b")).isFalse();
+        assertThat(store.savedLookupCount()).isZero();
+        // 未就绪时远端未命中不算误判
+        assertThat(store.falsePositiveCount()).isZero();
+
+        remote.failScan = false;
+        waitFor(store::isReady);
+        assertThat(store.isBlacklisted("b")).isFalse();
+        assertThat(store.savedLookupCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveSyncInterval() {
+        assertThatThrownBy(() -> new BloomFilterTokenStore(remote, 1000, 0.01, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BloomFilterTokenStore ready(BloomFilterTokenStore store) {
+        store.sync();
+        assertThat(store.isReady()).isTrue();
+        return store;
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.met()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean met();
+    }
+
+    /** 远端替身：记录查询次数，可让 SCAN 失败 */
+    private static final class RemoteStub implements EnumerableTokenStore {
+
+        private final Map<String, Instant> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile boolean failScan;
+
+        @Override
+        public void blacklist(String jti, Instant expiresAt) {
+            entries.put(jti, expiresAt);
+        }
+
+        @Override
+        public boolean blacklistIfAbsent(String jti, Instant expiresAt) {
+            return entries.putIfAbsent(jti, expiresAt) == null;
+        }
+
+        @Override
+        public boolean isBlacklisted(String jti) {
+            lookups.incrementAndGet();
+            Instant exp = entries.get(jti);
+            return exp != null && exp.isAfter(Instant.now());
+        }
+
+        @Override
+        public void forEachBlacklisted(Consumer<String> action) {
+            if (failScan) {
+                throw new IllegalStateException("scan failed");
+            }
+            List<String> live = new ArrayList<>();
+            entries.forEach((jti, exp) -> {
+                if (exp.isAfter(Instant.now())) {
+                    live.add(jti);
+                }
+            });
+            live.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link CompactInMemoryTokenStore} 与 {@link LongLongHashMap}：环绕探测链上的 backward-shift 删除、扩容、非 UUID 兜底。
+ */
+class CompactInMemoryTokenStoreTest {
+
+    /** CompactInMemoryTokenStore 的初始容量 */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @Test
+    void deletingAtTableEndShiftsWrappedChain() throws Exception {
+        int mask = INITIAL_CAPACITY - 1;
+        // 三个 jti 都落在最后一个槽：探测链 1023 -> 0 -> 1 跨越数组末尾
+        List<String> last = uuidsHomedAt(mask, mask, 3);
+        String first = uuidsHomedAt(0, mask, 1).get(0);
+
+        try (CompactInMemoryTokenStore store = new CompactInMemoryTokenStore(10_000)) {
+            Instant live = Instant.now().plusSeconds(600);
+            store.blacklist(last.get(0), Instant.now().plusMillis(100));
+            store.blacklist(last.get(1), live);
+            store.blacklist(last.get(2), live);
+            store.blacklist(first, live);
+            Thread.sleep(150);
+
+            assertThat(store.purgeExpired()).isEqualTo(1);
+
+            assertThat(store.isBlacklisted(last.get(0))).isFalse();
+            assertThat(store.isBlacklisted(last.get(1))).isTrue();
+            assertThat(store.isBlacklisted(last.get(2))).isTrue();
+            assertThat(store.isBlacklisted(first)).isTrue();
+            assertThat(store.size()).isEqualTo(3);
+
+            // 删除后链仍连续：blacklistIfAbsent 找到已有条目而不是插入重复项
+            assertThat(store.blacklistIfAbsent(last.get(2), live)).isFalse();
+            assertThat(store.size()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void resizeKeepsLiveEntriesAndDropsExpired() throws Exception {
+        try (CompactInMemoryTokenStore store = new CompactInMemoryTokenStore(100_000)) {
+            List<String> expiring = uuids(500);
+            expiring.forEach(jti -> store.blacklist(jti, Instant.now().plusMillis(100)));
+            Thread.sleep(150);
+
+            // 多次翻倍扩容；扩容顺带丢弃已过期条目
+            List<String> live = uuids(5_000);
+            Instant exp = Instant.now().plusSeconds(600);
+            live.forEach(jti -> store.blacklist(jti, exp));
+
+            assertThat(live).allMatch(store::isBlacklisted);
+            assertThat(expiring).noneMatch(store::isBlacklisted);
+            assertThat(store.size()).isEqualTo(5_000);
+        }
+    }
+
+    @Test
+    void purgeMatchesReferenceModel() throws Exception {
+        Random random = new Random(42);
+        Map<String, Boolean> expected = new HashMap<>();
+        try (CompactInMemoryTokenStore store = new CompactInMemoryTokenStore(100_000)) {
+            // 负载约 0.7：探测链长，且大概率跨越数组末尾
+            for (String jti : uuids(700)) {
+                boolean expires = random.nextInt(3) == 0;
+                store.blacklist(jti, expires ? Instant.now().plusMillis(100) : Instant.now().plusSeconds(600));
+                expected.put(jti, !expires);
+            }
+            Thread.sleep(150);
+            store.purgeExpired();
+
+            expected.forEach((jti, alive) -> assertThat(store.isBlacklisted(jti)).as(jti).isEqualTo(alive));
+            assertThat(store.size()).isEqualTo((int) expected.values().stream().filter(b -> b).count());
+        }
+    }
+
+    @Test
+    void nonUuidJtisUseFallbackWithSharedCapacity() throws Exception {
+        String upper = UUID.randomUUID().toString().toUpperCase();
+        try (CompactInMemoryTokenStore store = new CompactInMemoryTokenStore(3)) {
+            Instant exp = Instant.now().plusSeconds(600);
+            assertThat(store.blacklistIfAbsent("legacy-1", exp)).isTrue();
+            assertThat(store.blacklistIfAbsent("legacy-1", exp)).isFalse();
+            // 大写 UUID 不是规范格式：按原字符串精确匹配
+            store.blacklist(upper, exp);
+            assertThat(store.isBlacklisted(upper)).isTrue();
+            assertThat(store.isBlacklisted(upper.toLowerCase())).isFalse();
+
+            store.blacklist(UUID.randomUUID().toString(), exp);
+            assertThat(store.size()).isEqualTo(3);
+            // 兜底 Map 与原始表共用 maxEntries
+            assertThatThrownBy(() -> store.blacklist("legacy-2", exp)).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> store.blacklist(UUID.randomUUID().toString(), exp))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        try (CompactInMemoryTokenStore store = new CompactInMemoryTokenStore(10)) {
+            store.blacklist("short", Instant.now().plusMillis(100));
+            Thread.sleep(150);
+            assertThat(store.isBlacklisted("short")).isFalse();
+            // 已过期的兜底条目可被接管
+            assertThat(store.blacklistIfAbsent("short", Instant.now().plusSeconds(600))).isTrue();
+            assertThat(store.isBlacklisted("short")).isTrue();
+        }
+    }
+
+    @Test
+    void longMapRemoveAcrossWraparound() {
+        int mask = 15;
+        LongLongHashMap map = new LongLongHashMap(4);
+        long[] keys = keysHomedAt(mask, mask, 3);
+        long zeroHomed = keysHomedAt(0, mask, 1)[0];
+        for (long key : keys) {
+            map.put(key, key + 1);
+        }
+        map.put(zeroHomed, 7);
+
+        map.remove(keys[0]);
+
+        assertThat(map.get(keys[0], -1)).isEqualTo(-1);
+        assertThat(map.get(keys[1], -1)).isEqualTo(keys[1] + 1);
+        assertThat(map.get(keys[2], -1)).isEqualTo(keys[2] + 1);
+        assertThat(map.get(zeroHomed, -1)).isEqualTo(7);
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    void longMapMatchesReferenceModelThroughResizes() {
+        Random random = new Random(7);
+        LongLongHashMap map = new LongLongHashMap(1);
+        Map<Long, Long> reference = new HashMap<>();
+        for (int op = 0; op < 50_000; op++) {
+            // 包含 key 0 与少量热点 key：表在 16 与更大容量之间反复增删
+            long key = random.nextInt(64);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                reference.remove(key);
+            } else {
+                long value = random.nextLong();
+                map.put(key, value);
+                reference.put(key, value);
+            }
+            if (op % 97 == 0) {
+                for (long k = 0; k < 64; k++) {
+                    assertThat(map.get(k, Long.MIN_VALUE)).isEqualTo(reference.getOrDefault(k, Long.MIN_VALUE));
+                }
+                assertThat(map.size()).isEqualTo(reference.size());
+            }
+        }
+    }
+
+    private static List<String> uuids(int n) {
+        List<String> jtis = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            jtis.add(UUID.randomUUID().toString());
+        }
+        return jtis;
+    }
+
+    private static List<String> uuidsHomedAt(int slot, int mask, int n) {
+        List<String> jtis = new ArrayList<>(n);
+        while (jtis.size() < n) {
+            UUID uuid = UUID.randomUUID();
+            if (CompactInMemoryTokenStore.index(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), mask) == slot) {
+                jtis.add(uuid.toString());
+            }
+        }
+        return jtis;
+    }
+
+    private static long[] keysHomedAt(int slot, int mask, int n) {
+        long[] keys = new long[n];
+        int found = 0;
+        for (long key = 1; found < n; key++) {
+            if (LongLongHashMap.index(key, mask) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,276 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JdbcTokenStore} / {@link JdbcRefreshTokenFamilyStore} / {@link JdbcSchema}（嵌入式 H2）：
+ * 建表幂等、组提交、blacklistIfAbsent 并发、过期清理。
+ */
+class JdbcTokenStoreTest {
+
+    private static final int THREADS = 16;
+
+    private EmbeddedDatabase database;
+    private CommitCountingDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private JdbcTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        dataSource = new CommitCountingDataSource(database);
+        JdbcSchema.initialize(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        store = new JdbcTokenStore(jdbc, 500, 3600, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        database.shutdown();
+    }
+
+    @Test
+    void schemaInitializationIsIdempotent() {
+        JdbcSchema.initialize(dataSource);
+        JdbcSchema.initialize(dataSource);
+
+        Integer indexes = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_AUTH_CENTER_%'",
+                Integer.class);
+        assertThat(indexes).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM auth_center_blacklist", Integer.class)).isZero();
+    }
+
+    @Test
+    void blacklistAllIsGroupCommitted() {
+        Instant exp = Instant.now().plusSeconds(60);
+        Map<String, Instant> entries = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            entries.put("jti-" + i, exp);
+        }
+        int commitsBefore = dataSource.commits.get();
+
+        store.blacklistAll(entries);
+
+        assertThat(rowCount()).isEqualTo(200);
+        assertThat(store.pendingCount()).isZero();
+        // 200 条写入合并为少数几个批次，而不是每条一次提交
+        assertThat(dataSource.commits.get() - commitsBefore).isLessThan(20);
+        assertThat(store.areBlacklisted(entries.keySet())).hasSize(200);
+    }
+
+    @Test
+    void concurrentBlacklistsShareCommits() throws Exception {
+        Instant exp = Instant.now().plusSeconds(60);
+        int commitsBefore = dataSource.commits.get();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20; i++) {
+                        store.blacklist("t" + thread + "-" + i, exp);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(rowCount()).isEqualTo(THREADS * 20);
+        assertThat(dataSource.commits.get() - commitsBefore).isLessThan(THREADS * 20);
+    }
+
+    @Test
+    void reBlacklistingExistingRowsExtendsExpiry() {
+        Instant exp = Instant.now().plusSeconds(60);
+        store.blacklist("a", exp);
+        // 与已有行冲突：批量 INSERT 回滚，改为逐行 upsert
+        store.blacklistAll(Map.of("a", exp.plusSeconds(60), "b", exp));
+
+        assertThat(rowCount()).isEqualTo(2);
+        assertThat(jdbc.queryForObject("SELECT expires_at FROM auth_center_blacklist WHERE jti = 'a'", Long.class))
+                .isEqualTo(exp.plusSeconds(60).toEpochMilli());
+    }
+
+    @Test
+    void blacklistIfAbsentSucceedsExactlyOnceUnderContention() throws Exception {
+        Instant exp = Instant.now().plusSeconds(60);
+        for (int round = 0; round < 20; round++) {
+            String jti = "race-" + round;
+            assertThat(race(() -> store.blacklistIfAbsent(jti, exp))).isEqualTo(1);
+            assertThat(store.isBlacklisted(jti)).isTrue();
+        }
+    }
+
+    @Test
+    void blacklistIfAbsentTakesOverExpiredRowOnce() throws Exception {
+        jdbc.update("INSERT INTO auth_center_blacklist (jti, expires_at) VALUES (?, ?)",
+                "stale", System.currentTimeMillis() - 1000);
+        assertThat(store.isBlacklisted("stale")).isFalse();
+
+        Instant exp = Instant.now().plusSeconds(60);
+        assertThat(race(() -> store.blacklistIfAbsent("stale", exp))).isEqualTo(1);
+        assertThat(store.isBlacklisted("stale")).isTrue();
+    }
+
+    @Test
+    void blacklistIfAbsentSeesQueuedWrite() {
+        Instant exp = Instant.now().plusSeconds(60);
+        store.blacklistAsync("queued", exp);
+
+        assertThat(store.blacklistIfAbsent("queued", exp)).isFalse();
+        assertThat(store.isBlacklisted("queued")).isTrue();
+    }
+
+    @Test
+    void purgeDeletesOnlyExpiredRowsInChunks() {
+        long past = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 30; i++) {
+            jdbc.update("INSERT INTO auth_center_blacklist (jti, expires_at) VALUES (?, ?)", "old-" + i, past - i);
+        }
+        store.blacklist("live", Instant.now().plusSeconds(60));
+
+        // 块大小 7：30 行分 5 块删除
+        assertThat(store.purgeExpired()).isEqualTo(30);
+        assertThat(rowCount()).isEqualTo(1);
+        assertThat(store.purgeExpired()).isZero();
+        assertThat(store.isBlacklisted("live")).isTrue();
+    }
+
+    @Test
+    void areBlacklistedSpansInChunks() {
+        Instant exp = Instant.now().plusSeconds(60);
+        Map<String, Instant> entries = new HashMap<>();
+        List<String> query = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            if (i % 2 == 0) {
+                entries.put("j" + i, exp);
+            }
+            query.add("j" + i);
+        }
+        store.blacklistAll(entries);
+
+        assertThat(store.areBlacklisted(query)).containsExactlyInAnyOrderElementsOf(entries.keySet());
+    }
+
+    @Test
+    void familyStoreDetectsReuseAndPurges() throws Exception {
+        JdbcRefreshTokenFamilyStore families = new JdbcRefreshTokenFamilyStore(jdbc, 3600, 7);
+        try {
+            Instant exp = Instant.now().plusSeconds(60);
+            assertThat(families.advance("f1", "r0", "r1", exp)).isEqualTo(RefreshTokenFamilyStore.Result.ROTATED);
+            assertThat(families.advance("f1", "r1", "r2", exp)).isEqualTo(RefreshTokenFamilyStore.Result.ROTATED);
+            assertThat(families.advance("f1", "r1", "r3", exp)).isEqualTo(RefreshTokenFamilyStore.Result.REUSED);
+            assertThat(families.isRevoked("f1")).isTrue();
+            assertThat(families.advance("f1", "r2", "r4", exp)).isEqualTo(RefreshTokenFamilyStore.Result.REVOKED);
+
+            // 并发首次 rotation（INSERT 主键冲突）：只有一个成功
+            AtomicInteger next = new AtomicInteger();
+            assertThat(race(() -> families.advance("f2", "s0", "s" + next.incrementAndGet(), exp)
+                    == RefreshTokenFamilyStore.Result.ROTATED)).isEqualTo(1);
+
+            jdbc.update("UPDATE auth_center_refresh_family SET expires_at = ? WHERE family_id = 'f1'",
+                    System.currentTimeMillis() - 1000);
+            assertThat(families.purgeExpired()).isEqualTo(1);
+            assertThat(families.isRevoked("f1")).isFalse();
+        } finally {
+            families.close();
+        }
+    }
+
+    /**
+     * 所有线程同时执行一次 action，返回结果为 true 的次数。
+     */
+    private static int race(Action action) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return action.run();
+                }));
+            }
+            start.countDown();
+            int wins = 0;
+            for (Future<Boolean> f : futures) {
+                if (f.get(30, TimeUnit.SECONDS)) wins++;
+            }
+            return wins;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int rowCount() {
+        Integer n = jdbc.queryForObject("SELECT COUNT(*) FROM auth_center_blacklist", Integer.class);
+        return n == null ? 0 : n;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        boolean run() throws Exception;
+    }
+
+    /** 统计显式 commit 次数（组提交：写线程每批一次） */
+    private static final class CommitCountingDataSource extends DelegatingDataSource {
+
+        final AtomicInteger commits = new AtomicInteger();
+
+        CommitCountingDataSource(EmbeddedDatabase target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("commit")) {
+                            commits.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.demo.authcenter.store;
+
+import com.demo.authcenter.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link MappedFileTokenStore} / {@link MappedLog}：重启重放、撕裂尾部恢复、压缩。
+ */
+class MappedFileTokenStoreTest {
+
+    /** 文件头：magic + version */
+    private static final int HEADER_SIZE = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenReplaysUuidAndStringRecords() {
+        Path file = dir.resolve("blacklist.log");
+        Instant exp = Instant.now().plusSeconds(600);
+        String uuid = JwtUtil.newJti();
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            store.blacklist(uuid, exp);
+            store.blacklist("legacy-jti-é", exp);
+            assertThat(store.blacklistIfAbsent(uuid, exp)).isFalse();
+        }
+
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted(uuid)).isTrue();
+            assertThat(store.isBlacklisted("legacy-jti-é")).isTrue();
+            assertThat(store.isBlacklisted(JwtUtil.newJti())).isFalse();
+            assertThat(store.logRecords()).isEqualTo(2);
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void expiredRecordsAreSkippedOnReplay() throws Exception {
+        Path file = dir.resolve("blacklist.log");
+        String uuid = JwtUtil.newJti();
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            store.blacklist(uuid, Instant.now().plusMillis(200));
+            store.blacklist("short", Instant.now().plusMillis(200));
+            store.blacklist("long", Instant.now().plusSeconds(600));
+        }
+        Thread.sleep(300);
+
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted(uuid)).isFalse();
+            assertThat(store.isBlacklisted("short")).isFalse();
+            assertThat(store.isBlacklisted("long")).isTrue();
+            assertThat(store.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void corruptTailIsDroppedAndOverwritten() throws IOException {
+        Path file = dir.resolve("blacklist.log");
+        Instant exp = Instant.now().plusSeconds(600);
+        List<String> jtis = uuids(3);
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            jtis.forEach(jti -> store.blacklist(jti, exp));
+        }
+        // 第三条记录的 CRC 被破坏（写入到一半时崩溃）
+        flipByte(file, HEADER_SIZE + 3L * MappedLog.UUID_RECORD_SIZE - 1);
+
+        String next = JwtUtil.newJti();
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted(jtis.get(0))).isTrue();
+            assertThat(store.isBlacklisted(jtis.get(1))).isTrue();
+            assertThat(store.isBlacklisted(jtis.get(2))).isFalse();
+            assertThat(store.logRecords()).isEqualTo(2);
+            // 新记录从撕裂位置覆盖写入
+            store.blacklist(next, exp);
+        }
+
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted(next)).isTrue();
+            assertThat(store.isBlacklisted(jtis.get(2))).isFalse();
+            assertThat(store.logRecords()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void partiallyWrittenStringRecordIsZeroedBeforeReuse() throws IOException {
+        Path file = dir.resolve("blacklist.log");
+        Instant exp = Instant.now().plusSeconds(600);
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            store.blacklist("first", exp);
+            store.blacklist("a-much-longer-second-jti-that-will-be-torn", exp);
+        }
+        // 第二条只写入了类型与长度头，其余字节丢失
+        long second = HEADER_SIZE + (3 + "first".length() + 8 + 4);
+        zero(file, second + 3, 40);
+
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted("first")).isTrue();
+            assertThat(store.isBlacklisted("a-much-longer-second-jti-that-will-be-torn")).isFalse();
+            // 较短的新记录覆盖撕裂位置：残片已清零，不会与之拼接出额外记录
+            store.blacklist("x", exp);
+        }
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.isBlacklisted("x")).isTrue();
+            assertThat(store.logRecords()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void compactionKeepsLiveEntriesAndAppendsAfterwards() throws Exception {
+        Path file = dir.resolve("blacklist.log");
+        Instant exp = Instant.now().plusSeconds(600);
+        List<String> jtis = uuids(100);
+        String next = JwtUtil.newJti();
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            jtis.forEach(jti -> store.blacklist(jti, exp));
+            jtis.forEach(jti -> store.blacklist(jti, exp.plusSeconds(1)));
+            store.blacklist("short-lived", Instant.now().plusMillis(100));
+            assertThat(store.logRecords()).isEqualTo(201);
+            Thread.sleep(200);
+
+            store.compact();
+
+            assertThat(store.logRecords()).isEqualTo(100);
+            assertThat(Files.exists(file.resolveSibling(file.getFileName() + ".compact"))).isFalse();
+            // 压缩后继续在新文件上追加
+            store.blacklist(next, exp);
+            assertThat(store.logRecords()).isEqualTo(101);
+        }
+
+        try (MappedFileTokenStore store = new MappedFileTokenStore(file, 1000, false)) {
+            assertThat(store.logRecords()).isEqualTo(101);
+            assertThat(jtis).allMatch(store::isBlacklisted);
+            assertThat(store.isBlacklisted(next)).isTrue();
+            assertThat(store.isBlacklisted("short-lived")).isFalse();
+        }
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        Path file = dir.resolve("not-a-log");
+        Files.write(file, "hello world".getBytes());
+
+        assertThatThrownBy(() -> new MappedFileTokenStore(file, 1000, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("bad header");
+    }
+
+    private static List<String> uuids(int n) {
+        List<String> jtis = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            jtis.add(JwtUtil.newJti());
+        }
+        return jtis;
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, offset);
+            b.put(0, (byte) ~b.get(0));
+            b.rewind();
+            ch.write(b, offset);
+        }
+    }
+
+    private static void zero(Path file, long offset, int len) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(len), offset);
+        }
+    }
+}
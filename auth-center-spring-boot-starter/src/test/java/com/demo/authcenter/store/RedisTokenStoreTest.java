@@ -0,0 +1,198 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Answers;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RedisTokenStore} 下发的命令（mock RedisConnection）：批量写 / 批量查走单次 pipeline，SCAN 按转义后的前缀匹配。
+ */
+class RedisTokenStoreTest {
+
+    private static final String PREFIX = "auth*:bl:";
+
+    private RedisConnection connection;
+    private RedisStringCommands stringCommands;
+    private RedisKeyCommands keyCommands;
+    private RedisTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        // default 方法（connection.set / exists / scan 等）走真实实现，转发到 stringCommands() / keyCommands()
+        Answer<Object> defaults = invocation -> invocation.getMethod().isDefault()
+                ? invocation.callRealMethod()
+                : Answers.RETURNS_DEFAULTS.answer(invocation);
+        connection = mock(RedisConnection.class, defaults);
+        stringCommands = mock(RedisStringCommands.class);
+        keyCommands = mock(RedisKeyCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        when(factory.getConnection()).thenReturn(connection);
+        StringRedisTemplate redis = new StringRedisTemplate(factory);
+        redis.afterPropertiesSet();
+        store = new RedisTokenStore(redis, PREFIX, Runnable::run);
+    }
+
+    @Test
+    void blacklistAllWritesLiveEntriesInOnePipeline() {
+        Instant exp = Instant.now().plusSeconds(60);
+        Map<String, Instant> entries = new LinkedHashMap<>();
+        entries.put("a", exp);
+        entries.put("b", exp);
+        entries.put("expired", Instant.now().minusSeconds(1));
+        entries.put(" ", exp);
+        when(connection.closePipeline()).thenReturn(List.of(true, true));
+
+        store.blacklistAll(entries);
+
+        verify(connection, times(1)).openPipeline();
+        verify(connection, times(1)).closePipeline();
+        ArgumentCaptor<byte[]> keys = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Expiration> ttl = ArgumentCaptor.forClass(Expiration.class);
+        verify(stringCommands, times(2)).set(keys.capture(), eq(raw("1")), ttl.capture(), eq(SetOption.upsert()));
+        assertThat(keys.getAllValues()).map(RedisTokenStoreTest::str).containsExactly(PREFIX + "a", PREFIX + "b");
+        assertThat(ttl.getAllValues()).allSatisfy(e -> {
+            assertThat(e.getExpirationTimeInMilliseconds()).isBetween(1L, 60_000L);
+            assertThat(e.getTimeUnit().toMillis(1)).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void singleEntryBlacklistSkipsPipeline() {
+        store.blacklistAll(Map.of("a", Instant.now().plusSeconds(60)));
+
+        verify(connection, never()).openPipeline();
+        verify(stringCommands).set(eq(raw(PREFIX + "a")), eq(raw("1")), any(Expiration.class), eq(SetOption.upsert()));
+    }
+
+    @Test
+    void areBlacklistedMapsPipelineResultsByPosition() {
+        when(connection.closePipeline()).thenReturn(List.of(true, false, true));
+
+        assertThat(store.areBlacklisted(Arrays.asList("a", null, "b", "", "c"))).containsExactlyInAnyOrder("a", "c");
+
+        verify(connection, times(1)).openPipeline();
+        verify(connection, times(1)).closePipeline();
+        ArgumentCaptor<byte[]> keys = ArgumentCaptor.forClass(byte[].class);
+        verify(keyCommands, times(3)).exists(keys.capture());
+        assertThat(keys.getAllValues()).map(RedisTokenStoreTest::str)
+                .containsExactly(PREFIX + "a", PREFIX + "b", PREFIX + "c");
+    }
+
+    @Test
+    void areBlacklistedWithoutValidJtiDoesNotTouchRedis() {
+        assertThat(store.areBlacklisted(Arrays.asList(null, " "))).isEmpty();
+        verify(connection, never()).openPipeline();
+    }
+
+    @Test
+    void blacklistIfAbsentUsesSetNxWithTtl() {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class), eq(SetOption.ifAbsent())))
+                .thenReturn(true, false);
+
+        assertThat(store.blacklistIfAbsent("a", Instant.now().plusSeconds(60))).isTrue();
+        assertThat(store.blacklistIfAbsent("a", Instant.now().plusSeconds(60))).isFalse();
+        assertThat(store.blacklistIfAbsent("b", Instant.now().minusSeconds(1))).isFalse();
+
+        verify(stringCommands, times(2))
+                .set(eq(raw(PREFIX + "a")), eq(raw("1")), any(Expiration.class), eq(SetOption.ifAbsent()));
+    }
+
+    @Test
+    void forEachBlacklistedScansEscapedPrefixAndStripsIt() {
+        CursorStub cursor = new CursorStub(List.of(raw(PREFIX + "a"), raw(PREFIX + "b")));
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        List<String> seen = new ArrayList<>();
+        store.forEachBlacklisted(seen::add);
+
+        assertThat(seen).containsExactly("a", "b");
+        assertThat(cursor.closed).isTrue();
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(keyCommands).scan(options.capture());
+        assertThat(options.getValue().getPattern()).isEqualTo("auth\\*:bl:*");
+        assertThat(options.getValue().getCount()).isEqualTo(1000L);
+    }
+
+    private static byte[] raw(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String str(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** 单批次返回全部 key 的 SCAN 游标 */
+    private static final class CursorStub implements Cursor<byte[]> {
+
+        private final Iterator<byte[]> it;
+        private long position;
+        private boolean closed;
+
+        CursorStub(List<byte[]> keys) {
+            this.it = keys.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            position++;
+            return it.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public long getCursorId() {
+            return 0;
+        }
+
+        @Override
+        public long getPosition() {
+            return position;
+        }
+    }
+}
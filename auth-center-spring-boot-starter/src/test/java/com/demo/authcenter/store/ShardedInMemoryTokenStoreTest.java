@@ -0,0 +1,141 @@
+package com.demo.authcenter.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link ShardedInMemoryTokenStore}：全局容量与并发 rotation 语义。
+ */
+class ShardedInMemoryTokenStoreTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void capacityIsGlobalNotPerShard() {
+        // 64 段、总量 64：按段均分时每段只有 1 个名额，随机 jti 很快撞到同一段
+        try (ShardedInMemoryTokenStore store = new ShardedInMemoryTokenStore(64, 64)) {
+            Instant exp = Instant.now().plusSeconds(60);
+            for (int i = 0; i < 64; i++) {
+                store.blacklist("jti-" + i, exp);
+            }
+            assertThat(store.size()).isEqualTo(64);
+
+            // 覆盖已有条目不占用新名额
+            store.blacklist("jti-0", exp.plusSeconds(1));
+            assertThat(store.size()).isEqualTo(64);
+
+            assertThatThrownBy(() -> store.blacklist("jti-64", exp))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(store.size()).isEqualTo(64);
+        }
+    }
+
+    @Test
+    void expiredEntriesReleaseCapacity() throws InterruptedException {
+        try (ShardedInMemoryTokenStore store = new ShardedInMemoryTokenStore(4, 16)) {
+            Instant soon = Instant.now().plusMillis(50);
+            for (int i = 0; i < 16; i++) {
+                store.blacklist("short-" + i, soon);
+            }
+            Thread.sleep(150);
+
+            Instant later = Instant.now().plusSeconds(60);
+            for (int i = 0; i < 16; i++) {
+                store.blacklist("long-" + i, later);
+            }
+            assertThat(store.size()).isEqualTo(16);
+            assertThat(store.isBlacklisted("long-15")).isTrue();
+            assertThat(store.isBlacklisted("short-0")).isFalse();
+        }
+    }
+
+    @Test
+    void concurrentRotationSucceedsExactlyOncePerJti() throws Exception {
+        int jtis = 20_000;
+        try (ShardedInMemoryTokenStore store = new ShardedInMemoryTokenStore(16, jtis)) {
+            Instant exp = Instant.now().plusSeconds(60);
+            AtomicInteger wins = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < jtis; i++) {
+                            if (store.blacklistIfAbsent("rt-" + i, exp)) {
+                                wins.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> f : futures) {
+                    f.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertThat(wins.get()).isEqualTo(jtis);
+            assertThat(store.size()).isEqualTo(jtis);
+            assertThatThrownBy(() -> store.blacklist("one-more", exp))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void concurrentWritersNeverExceedCapacity() throws Exception {
+        int capacity = 1_000;
+        try (ShardedInMemoryTokenStore store = new ShardedInMemoryTokenStore(16, capacity)) {
+            Instant exp = Instant.now().plusSeconds(60);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int id = t;
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < capacity; i++) {
+                            try {
+                                store.blacklist("w" + id + "-" + i, exp);
+                                accepted.incrementAndGet();
+                            } catch (IllegalStateException e) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> f : futures) {
+                    f.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertThat(accepted.get()).isEqualTo(capacity);
+            assertThat(rejected.get()).isEqualTo(THREADS * capacity - capacity);
+            assertThat(store.size()).isEqualTo(capacity);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.authcenter.store;
+
+import com.demo.authcenter.bench.MicroBench;
+import com.demo.authcenter.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 内存 TokenStore 在高并发 refresh rotation 下的争用对照：{@link InMemoryTokenStore}（单个 ConcurrentHashMap）
+ * vs {@link ShardedInMemoryTokenStore}（分段锁 + 粗粒度时钟），附 {@link CompactInMemoryTokenStore}。
+ *
+ * <p>每次操作模拟一次 refresh：在热点 jti 池上 {@code blacklistIfAbsent}（TTL 很短，频繁撞上已过期的旧值走替换），
+ * 再对随机 jti 做一次 {@code isBlacklisted}。线程数默认 64 与 128，可用 {@code -Dbench.threads} 指定。</p>
+ *
+ * <p>手动运行：{@code mvn test -Dtest=TokenStoreContentionBenchmark}（见 {@link MicroBench}）。</p>
+ */
+class TokenStoreContentionBenchmark {
+
+    private static final int HOT_JTIS = 1 << 12;
+    private static final int MAX_ENTRIES = 1_000_000;
+
+    @Test
+    void refreshHerd() throws Exception {
+        String[] jtis = new String[HOT_JTIS];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = JwtUtil.newJti();
+        }
+        Integer threads = Integer.getInteger("bench.threads");
+        for (int n : threads == null ? new int[]{64, 128} : new int[]{threads}) {
+            try (InMemoryTokenStore map = new InMemoryTokenStore(MAX_ENTRIES);
+                 ShardedInMemoryTokenStore sharded = new ShardedInMemoryTokenStore(64, MAX_ENTRIES);
+                 CompactInMemoryTokenStore compact = new CompactInMemoryTokenStore(MAX_ENTRIES)) {
+                Map<String, MicroBench.Op> cases = new LinkedHashMap<>();
+                cases.put("refresh herd: InMemoryTokenStore", () -> refresh(map, jtis));
+                cases.put("refresh herd: ShardedInMemoryTokenStore(64)", () -> refresh(sharded, jtis));
+                cases.put("refresh herd: CompactInMemoryTokenStore", () -> refresh(compact, jtis));
+                MicroBench.compare(n, cases);
+            }
+        }
+    }
+
+    private static Object refresh(TokenStore store, String[] jtis) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        // 1~20ms 的 TTL：同一 jti 反复出现时大多已过期，覆盖"过期后替换"分支
+        Instant exp = Instant.ofEpochMilli(System.currentTimeMillis() + 1 + rnd.nextInt(20));
+        boolean won = store.blacklistIfAbsent(jtis[rnd.nextInt(jtis.length)], exp);
+        boolean hit = store.isBlacklisted(jtis[rnd.nextInt(jtis.length)]);
+        return won ^ hit ? Boolean.TRUE : Boolean.FALSE;
+    }
+}
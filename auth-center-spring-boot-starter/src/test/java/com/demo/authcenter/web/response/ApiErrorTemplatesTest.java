@@ -0,0 +1,200 @@
+package com.demo.authcenter.web.response;
+
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ApiErrorTemplates} 与 Jackson 输出的逐字节兼容性（含 servlet / reactive 两个写出器）。
+ *
+ * <p>基准：模板与 {@code writeValueAsBytes} 一致；servlet 写出器回退路径经 Writer 输出，
+ * 对应 {@code writeValueAsString} 的 UTF-8 编码（两者仅在增补字符上不同：字节输出转义为代理对，Writer 输出原样）。</p>
+ */
+class ApiErrorTemplatesTest {
+
+    private static final int[] CODES = {
+            AuthErrorCodes.CODE_TOKEN_MISSING,
+            AuthErrorCodes.CODE_TOKEN_EXPIRED,
+            AuthErrorCodes.CODE_TOKEN_INVALID,
+            AuthErrorCodes.CODE_TOKEN_BLACKLISTED,
+            AuthErrorCodes.CODE_FORBIDDEN
+    };
+
+    /** 与 Spring Boot 自动配置的 ObjectMapper 一致：JavaTimeModule + 关闭 WRITE_DATES_AS_TIMESTAMPS */
+    private final ObjectMapper objectMapper = bootLike().build();
+
+    static Stream<String> paths() {
+        StringBuilder controls = new StringBuilder("/c/");
+        for (char c = 0; c < 0x20; c++) {
+            controls.append(c);
+        }
+        return Stream.of(
+                "/api/me",
+                "",
+                controls.toString(),
+                "/q/\"quoted\"/back\\slash/\u007f",
+                "/éß/中文/АБ",
+                "/sep/\u2028\u2029/\ufeff",
+                "/emoji/\ud83d\ude00/x",
+                "/cjk-ext-b/𠀀"
+        );
+    }
+
+    static Stream<OffsetDateTime> timestamps() {
+        return Stream.of(
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789, ZoneOffset.ofHours(8)),
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 1, ZoneOffset.ofHoursMinutes(5, 30)),
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000, ZoneOffset.ofHours(-8)),
+                OffsetDateTime.of(2024, 6, 30, 12, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.ofHours(14)),
+                OffsetDateTime.of(2024, 2, 29, 0, 0, 7, 0, ZoneOffset.ofHoursMinutes(-9, -30))
+        );
+    }
+
+    static Stream<Arguments> cases() {
+        List<Arguments> cases = new ArrayList<>();
+        paths().forEach(path -> timestamps().forEach(ts -> {
+            for (int code : CODES) {
+                cases.add(Arguments.of(code, path, ts));
+            }
+        }));
+        return cases.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cases")
+    void renderMatchesJacksonBytes(int code, String path, OffsetDateTime ts) throws Exception {
+        ApiErrorTemplates templates = ApiErrorTemplates.probe(objectMapper);
+        assertThat(templates).isNotNull();
+
+        ApiError body = new ApiError(ts, code, AuthErrorCodes.defaultMessage(code), path);
+        byte[] rendered = templates.render(body);
+        if (hasSurrogate(path)) {
+            // 增补字符交回 Jackson
+            assertThat(rendered).isNull();
+        } else {
+            assertThat(rendered).isEqualTo(objectMapper.writeValueAsBytes(body));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cases")
+    void servletWriterMatchesJackson(int code, String path, OffsetDateTime ts) throws Exception {
+        ApiError body = new ApiError(ts, code, AuthErrorCodes.defaultMessage(code), path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JsonResponseWriter(objectMapper).write(response, 401, body);
+
+        assertThat(response.getContentAsByteArray())
+                .isEqualTo(objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getContentType()).isEqualTo("application/json;charset=UTF-8");
+    }
+
+    @ParameterizedTest
+    @MethodSource("cases")
+    void reactiveWriterMatchesJackson(int code, String path, OffsetDateTime ts) throws Exception {
+        ApiError body = new ApiError(ts, code, AuthErrorCodes.defaultMessage(code), path);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+        new ReactiveJsonResponseWriter(objectMapper).write(exchange, HttpStatus.UNAUTHORIZED, body).block();
+
+        assertThat(bodyBytes(exchange)).isEqualTo(objectMapper.writeValueAsBytes(body));
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void writeErrorMatchesJackson(String path) throws Exception {
+        for (int code : CODES) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            new JsonResponseWriter(objectMapper).writeError(response, 401, code, path);
+            byte[] servlet = response.getContentAsByteArray();
+            assertThat(servlet).isEqualTo(
+                    objectMapper.writeValueAsString(sameTimestamp(servlet, code, path)).getBytes(StandardCharsets.UTF_8));
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+            new ReactiveJsonResponseWriter(objectMapper).writeError(exchange, HttpStatus.UNAUTHORIZED, code, path).block();
+            byte[] reactive = bodyBytes(exchange);
+            assertThat(reactive).isEqualTo(objectMapper.writeValueAsBytes(sameTimestamp(reactive, code, path)));
+        }
+    }
+
+    @Test
+    void loneSurrogateFallsBackToJackson() {
+        ApiErrorTemplates templates = ApiErrorTemplates.probe(objectMapper);
+        int code = AuthErrorCodes.CODE_TOKEN_INVALID;
+        assertThat(templates.render(code, AuthErrorCodes.defaultMessage(code), "/x\ud83d", OffsetDateTime.now()))
+                .isNull();
+    }
+
+    @Test
+    void customizedMapperDisablesTemplatesAndWritersStillMatchJackson() throws Exception {
+        ObjectMapper indenting = bootLike().indentOutput(true).build();
+        assertThat(ApiErrorTemplates.probe(indenting)).isNull();
+
+        ObjectMapper epochMillis = Jackson2ObjectMapperBuilder.json().build();
+        assertThat(ApiErrorTemplates.probe(epochMillis)).isNull();
+
+        ApiError body = new ApiError(OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 6, ZoneOffset.ofHours(8)),
+                AuthErrorCodes.CODE_FORBIDDEN, AuthErrorCodes.defaultMessage(AuthErrorCodes.CODE_FORBIDDEN), "/中");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new JsonResponseWriter(indenting).write(response, 403, body);
+        assertThat(response.getContentAsByteArray())
+                .isEqualTo(indenting.writeValueAsString(body).getBytes(StandardCharsets.UTF_8));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+        new ReactiveJsonResponseWriter(indenting).write(exchange, HttpStatus.FORBIDDEN, body).block();
+        assertThat(bodyBytes(exchange)).isEqualTo(indenting.writeValueAsBytes(body));
+    }
+
+    @Test
+    void nonDefaultMessageFallsBackToJackson() {
+        ApiErrorTemplates templates = ApiErrorTemplates.probe(objectMapper);
+        assertThat(templates.render(AuthErrorCodes.CODE_FORBIDDEN, "custom", "/x", OffsetDateTime.now())).isNull();
+        assertThat(templates.render(AuthErrorCodes.CODE_FORBIDDEN,
+                AuthErrorCodes.defaultMessage(AuthErrorCodes.CODE_FORBIDDEN), null, OffsetDateTime.now())).isNull();
+        assertThat(templates.render(42, "x", "/x", OffsetDateTime.now())).isNull();
+    }
+
+    private static Jackson2ObjectMapperBuilder bootLike() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /** writeError 内部取当前时间：按输出中的时间戳重建 ApiError 作为基准 */
+    private ApiError sameTimestamp(byte[] json, int code, String path) throws Exception {
+        String ts = objectMapper.readTree(json).get("timestamp").asText();
+        return new ApiError(OffsetDateTime.parse(ts), code, AuthErrorCodes.defaultMessage(code), path);
+    }
+
+    private static byte[] bodyBytes(MockServerWebExchange exchange) {
+        DataBuffer buffer = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+        assertThat(buffer).isNotNull();
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static boolean hasSurrogate(String s) {
+        return s.chars().anyMatch(c -> Character.isSurrogate((char) c));
+    }
+}
@@ -0,0 +1,114 @@
+package com.demo.authcenter.web.response;
+
+import com.demo.authcenter.bench.MicroBench;
+import com.demo.authcenter.exception.AuthErrorCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 401 响应体：预编码模板（{@link ApiErrorTemplates}）vs Jackson，分别对比纯渲染与经 servlet 写出器的整段输出。
+ *
+ * <p>servlet 两组使用 {@link BufferedResponse}：MockHttpServletResponse 的输出流逐字节写入并 flush，
+ * 会让数组写出慢一个数量级，与容器（Tomcat 整块拷贝进缓冲区）不符。</p>
+ *
+ * <p>手动运行：{@code mvn test -Dtest=ErrorResponseBenchmark}（见 {@link MicroBench}）。</p>
+ */
+class ErrorResponseBenchmark {
+
+    private static final int CODE = AuthErrorCodes.CODE_TOKEN_EXPIRED;
+    private static final String MESSAGE = AuthErrorCodes.defaultMessage(CODE);
+    private static final String PATH = "/api/orders/42";
+
+    @Test
+    void templatesVersusJackson() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ApiErrorTemplates templates = ApiErrorTemplates.probe(objectMapper);
+        assertThat(templates).isNotNull();
+        JsonResponseWriter writer = new JsonResponseWriter(objectMapper);
+
+        Map<String, MicroBench.Op> cases = new LinkedHashMap<>();
+        cases.put("render: templates", () -> templates.render(CODE, MESSAGE, PATH, OffsetDateTime.now()));
+        cases.put("render: ObjectMapper.writeValueAsBytes", () -> objectMapper.writeValueAsBytes(
+                new ApiError(OffsetDateTime.now(), CODE, MESSAGE, PATH)));
+        cases.put("servlet: JsonResponseWriter.writeError", () -> {
+            BufferedResponse response = new BufferedResponse();
+            writer.writeError(response, 401, CODE, PATH);
+            return response;
+        });
+        cases.put("servlet: ObjectMapper.writeValue(Writer)", () -> {
+            BufferedResponse response = new BufferedResponse();
+            jacksonWrite(objectMapper, response);
+            return response;
+        });
+        MicroBench.compare(1, cases);
+    }
+
+    /** 模板化之前的写出方式 */
+    private static void jacksonWrite(ObjectMapper objectMapper, BufferedResponse response) throws Exception {
+        response.setStatus(401);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType("application/json;charset=UTF-8");
+        objectMapper.writeValue(response.getWriter(), new ApiError(OffsetDateTime.now(), CODE, MESSAGE, PATH));
+    }
+
+    /** 输出流 / Writer 整块写入内存缓冲区的响应，其余行为委托 MockHttpServletResponse */
+    private static final class BufferedResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private PrintWriter writer;
+
+        BufferedResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+            };
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+    }
+}